@@ -97,6 +97,7 @@ export const DailyPlanGenerator: React.FC = () => {
                             label="Number of Days"
                             type="number"
                             min="1"
+                            max="56"
                             placeholder="e.g., 7"
                             value={days}
                             onChange={(e) => setDays(e.target.value)}
@@ -108,6 +109,7 @@ export const DailyPlanGenerator: React.FC = () => {
                             label="Daily Hours"
                             type="number"
                             min="1"
+                            max="16"
                             placeholder="e.g., 2"
                             value={dailyHours}
                             onChange={(e) => setDailyHours(e.target.value)}
@@ -6,6 +6,7 @@ import type {
     DailyPlanResponse,
     QuizRequest,
     QuizResponse,
+    QuizAttemptResponse,
     HintRequest,
     HintResponse,
 } from '../types/api';
@@ -26,6 +27,12 @@ export const learningService = {
         return response.data;
     },
 
+    // Graded on the server against the stored answer key
+    submitQuizAttempt: async (quizId: string, answers: (number | null)[]): Promise<QuizAttemptResponse> => {
+        const response = await apiClient.post<QuizAttemptResponse>(`/quiz/${quizId}/attempts`, { answers });
+        return response.data;
+    },
+
     getHint: async (data: HintRequest): Promise<HintResponse> => {
         const response = await apiClient.post<HintResponse>('/intuition/hint', data);
         return response.data;
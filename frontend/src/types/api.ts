@@ -59,16 +59,34 @@ export interface QuizRequest {
     questionCount: number;
 }
 
+// Answers are not part of the quiz, they come back with the graded attempt
 export interface QuizQuestion {
     question: string;
     options: string[];
-    correctAnswerIndex: number;
 }
 
 export interface QuizResponse {
+    id: string;
     quiz: QuizQuestion[];
 }
 
+export interface QuizAttemptRequest {
+    answers: (number | null)[];
+}
+
+export interface QuizAnswerResult {
+    selected: number | null;
+    correctAnswerIndex: number;
+    correct: boolean;
+}
+
+export interface QuizAttemptResponse {
+    score: number;
+    total: number;
+    counted: boolean; // false for a retake: graded, not added to the stats
+    results: QuizAnswerResult[];
+}
+
 // Hint DTOs
 export interface HintRequest {
     problem: string;
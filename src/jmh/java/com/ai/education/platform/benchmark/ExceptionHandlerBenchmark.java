@@ -0,0 +1,72 @@
+package com.ai.education.platform.benchmark;
+
+import com.ai.education.platform.exception.GlobalExceptionHandler;
+import com.ai.education.platform.learning.quiz.dto.QuizRequest;
+import com.ai.education.platform.llm.LlmBusyException;
+import com.ai.education.platform.llm.LlmFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+//Error mapping in GlobalExceptionHandler (exception instances are pre-built, only the mapping is measured)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExceptionHandlerBenchmark {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    private IllegalStateException conflict;
+    private IllegalArgumentException badInput;
+    private MethodArgumentNotValidException validation;
+    private LlmBusyException busy;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        conflict = new IllegalStateException("Email already Registered");
+        badInput = new IllegalArgumentException("Failed to parse quiz response");
+        busy = new LlmBusyException(LlmFeature.QUIZ, Duration.ofSeconds(2));
+
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(
+                new QuizRequest("", null, 0), "quizRequest");
+        bindingResult.rejectValue("topic", "NotBlank", "Topic is required");
+        bindingResult.rejectValue("level", "NotNull", "Level is required");
+        bindingResult.rejectValue("questionCount", "Min", "Minimum 1 question required");
+        MethodParameter parameter = new MethodParameter(
+                ExceptionHandlerBenchmark.class.getDeclaredMethod("target", QuizRequest.class), 0);
+        validation = new MethodArgumentNotValidException(parameter, bindingResult);
+    }
+
+    @SuppressWarnings("unused")
+    private void target(QuizRequest request) {
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, String>> illegalState() {
+        return handler.handleIllegalState(conflict);
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, String>> badRequest() {
+        return handler.handleBadRequest(badInput);
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, String>> validation() {
+        return handler.handleValidation(validation);
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, String>> llmBusy() {
+        return handler.handleLlmBusy(busy);
+    }
+}
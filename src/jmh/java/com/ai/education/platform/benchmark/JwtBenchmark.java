@@ -0,0 +1,63 @@
+package com.ai.education.platform.benchmark;
+
+import com.ai.education.platform.auth.security.JwtService;
+import com.ai.education.platform.auth.security.JwtUserPrincipal;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Token issuing and the per-request verification done by JwtAuthenticationFilter:
+ *  threeParsePath -> the old filter (validateToken + extractUserId + extractEmail, three HMAC verifications)
+ *  singleParse    -> one verification, what a cache miss in authenticate() costs
+ *  authenticate   -> the current filter path for a token seen before (cache hit)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private JwtService jwtService;
+    private UUID userId;
+    private String token;
+
+    @Setup
+    public void setup() {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        jwtService = new JwtService(Base64.getEncoder().encodeToString(secret), 86_400_000L, 10_000);
+        userId = UUID.randomUUID();
+        token = jwtService.generateAccessToken(userId, "student@example.com");
+        jwtService.authenticate(token); //warm the verified-token cache
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return jwtService.generateAccessToken(userId, "student@example.com");
+    }
+
+    @Benchmark
+    public JwtUserPrincipal threeParsePath() {
+        jwtService.validateToken(token);
+        UUID id = jwtService.extractUserId(token);
+        String email = jwtService.extractEmail(token);
+        return new JwtUserPrincipal(id, email);
+    }
+
+    @Benchmark
+    public Claims singleParse() {
+        return jwtService.extractAllClaims(token);
+    }
+
+    @Benchmark
+    public JwtUserPrincipal authenticate() {
+        return jwtService.authenticate(token);
+    }
+}
@@ -0,0 +1,176 @@
+package com.ai.education.platform.benchmark;
+
+import com.ai.education.platform.learning.common.NearDuplicateIndex;
+import com.ai.education.platform.learning.common.TextNormalizer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Near-duplicate goal lookups (roadmap / daily plan caches) against an index of `entries` goals:
+ *  findParaphrase -> a reworded goal that is in the index ("java backend" stored, "Learn Java Backend development" asked)
+ *  findNearMiss   -> same areas, a subject that is not indexed ("cobol microservices" vs "php microservices")
+ *  findUnrelated  -> a goal with no near-duplicate
+ * Secondary results (Lookups counters): served = matched the paraphrase's own source goal, exactServed = what an exact
+ * (normalized) key would have served, wrong = matched some other goal, falsePositive = near miss / unrelated matched.
+ * Setup fails the run if any request of the workloads is matched to the wrong goal.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NearDuplicateIndexBenchmark {
+
+    private static final String[] SUBJECTS = {
+            "java", "python", "go", "rust", "kotlin", "typescript", "javascript", "c++", "c#", "swift",
+            "react", "angular", "vue", "spring boot", "django", "flask", "node.js", "kubernetes", "docker", "terraform",
+            "aws", "azure", "gcp", "sql", "postgres", "mongodb", "redis", "kafka", "spark", "pandas",
+            "pytorch", "tensorflow", "linux", "bash", "git", "graphql", "flutter", "android", "ios", "unity",
+            "solidity", "haskell", "scala", "elixir", "ruby", "rails", "php", "laravel", "excel", "tableau"
+    };
+
+    private static final String[] AREAS = {
+            "backend", "frontend", "full stack", "data analysis", "machine learning", "testing", "security",
+            "performance", "microservices", "system design", "devops", "mobile apps", "game development",
+            "data engineering", "cloud architecture", "api design", "concurrency", "databases", "automation", "interviews"
+    };
+
+    private static final String[] SUFFIXES = {
+            "", "projects", "best practices", "fundamentals", "in production", "at scale", "for startups",
+            "for enterprise", "with open source", "certification"
+    };
+
+    //how people phrase the same goal
+    //not among SUBJECTS, a match for these is always wrong
+    private static final String[] OTHER_SUBJECTS = {
+            "cobol", "fortran", "erlang", "perl", "matlab", "julia", "clojure", "dart", "lua", "ocaml"
+    };
+
+    private static final String[] PHRASINGS = {
+            "%s", "Learn %s", "learn %s development", "%s dev roadmap", "Become a %s developer",
+            "how to learn %s", "%s Roadmap", "I want to master %s", "  %s  ", "%s!"
+    };
+
+    @Param({"1000", "10000"})
+    public int entries;
+
+    private NearDuplicateIndex<String, String> index;
+    private Set<String> exactKeys;
+    private List<Paraphrase> paraphrases;
+    private List<String> nearMisses;
+    private List<String> unrelated;
+    private int next;
+
+    private record Paraphrase(String source, String text) {
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Lookups {
+        public long served;
+        public long exactServed;
+        public long wrong;
+        public long falsePositive;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            served = 0;
+            exactServed = 0;
+            wrong = 0;
+            falsePositive = 0;
+        }
+    }
+
+    @Setup
+    public void setup() {
+        index = new NearDuplicateIndex<>(entries, 0.8);
+        List<String> goals = new ArrayList<>();
+        outer:
+        for (String suffix : SUFFIXES) {
+            for (String area : AREAS) {
+                for (String subject : SUBJECTS) {
+                    if (goals.size() == entries) {
+                        break outer;
+                    }
+                    goals.add((subject + " " + area + " " + suffix).strip());
+                }
+            }
+        }
+
+        exactKeys = new HashSet<>();
+        for (String goal : goals) {
+            index.add("BEGINNER", goal, goal);
+            exactKeys.add(TextNormalizer.normalize(goal));
+        }
+
+        Random random = new Random(42);
+        paraphrases = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            String goal = goals.get(random.nextInt(goals.size()));
+            paraphrases.add(new Paraphrase(goal, PHRASINGS[random.nextInt(PHRASINGS.length)].formatted(goal)));
+        }
+        nearMisses = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            nearMisses.add((OTHER_SUBJECTS[random.nextInt(OTHER_SUBJECTS.length)] + " "
+                    + AREAS[random.nextInt(AREAS.length)] + " " + SUFFIXES[random.nextInt(SUFFIXES.length)]).strip());
+        }
+        unrelated = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            unrelated.add("quantum chemistry " + AREAS[random.nextInt(AREAS.length)] + " lab " + i);
+        }
+
+        //timings of an index that serves the wrong roadmap are meaningless
+        long wrong = paraphrases.stream()
+                .filter(p -> index.find("BEGINNER", p.text()).filter(m -> !m.value().equals(p.source())).isPresent())
+                .count();
+        long falsePositives = nearMisses.stream().filter(goal -> index.find("BEGINNER", goal).isPresent()).count()
+                + unrelated.stream().filter(goal -> index.find("BEGINNER", goal).isPresent()).count();
+        if (wrong > 0 || falsePositives > 0) {
+            throw new IllegalStateException("[" + entries + " goals] " + wrong + " paraphrases matched another goal, "
+                    + falsePositives + " near misses / unrelated goals matched");
+        }
+    }
+
+    @Benchmark
+    public Object findParaphrase(Lookups lookups) {
+        Paraphrase paraphrase = paraphrases.get(next++ % paraphrases.size());
+        Optional<NearDuplicateIndex.Match<String>> match = index.find("BEGINNER", paraphrase.text());
+        if (match.isPresent()) {
+            if (match.get().value().equals(paraphrase.source())) {
+                lookups.served++;
+            } else {
+                lookups.wrong++;
+            }
+        }
+        if (exactKeys.contains(TextNormalizer.normalize(paraphrase.text()))) {
+            lookups.exactServed++;
+        }
+        return match;
+    }
+
+    @Benchmark
+    public Object findNearMiss(Lookups lookups) {
+        Optional<NearDuplicateIndex.Match<String>> match = index.find("BEGINNER", nearMisses.get(next++ % nearMisses.size()));
+        if (match.isPresent()) {
+            lookups.falsePositive++;
+        }
+        return match;
+    }
+
+    @Benchmark
+    public Object findUnrelated(Lookups lookups) {
+        Optional<NearDuplicateIndex.Match<String>> match = index.find("BEGINNER", unrelated.get(next++ % unrelated.size()));
+        if (match.isPresent()) {
+            lookups.falsePositive++;
+        }
+        return match;
+    }
+}
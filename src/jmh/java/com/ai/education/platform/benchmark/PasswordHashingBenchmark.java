@@ -0,0 +1,57 @@
+package com.ai.education.platform.benchmark;
+
+import com.ai.education.platform.auth.security.BCryptCost;
+import com.ai.education.platform.auth.security.PasswordHasher;
+import com.ai.education.platform.auth.security.PasswordHashingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Login password check under a storm of 32 concurrent logins (cost 10):
+ *  directMatches -> the old path, BCrypt on every request thread, all cores busy hashing
+ *  pooledMatches -> PasswordHasher, hashing capped at half the cores, the rest left for other traffic
+ * Compare ops/s (login throughput) and how close pooled gets to direct while using fewer cores.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(32)
+@State(Scope.Benchmark)
+public class PasswordHashingBenchmark {
+
+    private static final String PASSWORD = "correct horse battery staple";
+
+    private BCryptPasswordEncoder encoder;
+    private PasswordHasher hasher;
+    private String hash;
+
+    @Setup
+    public void setup() {
+        encoder = new BCryptPasswordEncoder(10);
+        PasswordHashingProperties properties = new PasswordHashingProperties(
+                0, 1024, Duration.ofSeconds(30), 10, null, 0, 0);
+        hasher = new PasswordHasher(encoder, BCryptCost.from(properties), properties, new SimpleMeterRegistry());
+        hash = encoder.encode(PASSWORD);
+    }
+
+    @TearDown
+    public void tearDown() {
+        hasher.shutdown();
+    }
+
+    @Benchmark
+    public boolean directMatches() {
+        return encoder.matches(PASSWORD, hash);
+    }
+
+    @Benchmark
+    public boolean pooledMatches() {
+        return hasher.matches(PASSWORD, hash);
+    }
+}
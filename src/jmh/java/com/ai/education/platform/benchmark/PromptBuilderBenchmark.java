@@ -0,0 +1,51 @@
+package com.ai.education.platform.benchmark;
+
+import com.ai.education.platform.learning.dailyplan.goal.service.DailyPlanPromptBuilder;
+import com.ai.education.platform.learning.enums.HintDomain;
+import com.ai.education.platform.learning.enums.LearningLevel;
+import com.ai.education.platform.learning.intuition.service.HintPromptBuilder;
+import com.ai.education.platform.learning.quiz.service.QuizPromptBuilder;
+import com.ai.education.platform.learning.roadmap.service.RoadmapPromptBuilder;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+//Text block + String.formatted rendering cost of the four prompt builders
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PromptBuilderBenchmark {
+
+    private final RoadmapPromptBuilder roadmapPromptBuilder = new RoadmapPromptBuilder();
+    private final DailyPlanPromptBuilder dailyPlanPromptBuilder = new DailyPlanPromptBuilder();
+    private final QuizPromptBuilder quizPromptBuilder = new QuizPromptBuilder();
+    private final HintPromptBuilder hintPromptBuilder = new HintPromptBuilder();
+
+    @Benchmark
+    public String roadmap() {
+        return roadmapPromptBuilder.buildPrompt("Become a Java backend developer", LearningLevel.BEGINNER);
+    }
+
+    @Benchmark
+    public String dailyPlan() {
+        return dailyPlanPromptBuilder.build("Learn data structures and algorithms", LearningLevel.INTERMEDIATE, 30, 2);
+    }
+
+    @Benchmark
+    public String quiz() {
+        return quizPromptBuilder.build("Binary Search Trees", LearningLevel.INTERMEDIATE, 10);
+    }
+
+    @Benchmark
+    public String hint() {
+        return hintPromptBuilder.build(
+                "Find the longest substring without repeating characters",
+                HintDomain.ALGORITHMS,
+                "I tried checking every substring with two nested loops but it is too slow",
+                2
+        );
+    }
+}
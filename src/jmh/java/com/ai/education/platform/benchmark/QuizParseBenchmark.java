@@ -0,0 +1,68 @@
+package com.ai.education.platform.benchmark;
+
+import com.ai.education.platform.config.JacksonConfig;
+import com.ai.education.platform.learning.quiz.dto.QuizResponse;
+import com.ai.education.platform.learning.quiz.service.QuizResponseParser;
+import com.ai.education.platform.learning.quiz.service.QuizSalvage;
+import com.ai.education.platform.llm.LlmMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Parsing a realistic 10 question LLM answer:
+ *  strictReadValue -> objectMapper.readValue(aiResponse, QuizResponse.class), the original QuizService path
+ *  salvage         -> QuizResponseParser (per question parse + validation), clean and ```json fenced input
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QuizParseBenchmark {
+
+    private ObjectMapper objectMapper;
+    private QuizResponseParser responseParser;
+    private String cleanResponse;
+    private String fencedResponse;
+
+    @Setup
+    public void setup() {
+        objectMapper = new JacksonConfig().objectMapper();
+        responseParser = new QuizResponseParser(objectMapper, new LlmMetrics(new SimpleMeterRegistry()));
+        cleanResponse = quizJson(10);
+        fencedResponse = "```json\n" + cleanResponse + "\n```";
+    }
+
+    static String quizJson(int questions) {
+        StringBuilder json = new StringBuilder("{\n  \"quiz\": [\n");
+        for (int i = 0; i < questions; i++) {
+            json.append("""
+                        {
+                          "question": "In a binary search tree with %d nodes, which traversal visits the keys in ascending order?",
+                          "options": ["Pre-order traversal", "In-order traversal", "Post-order traversal", "Level-order traversal"],
+                          "correctAnswerIndex": 1
+                        }""".formatted(i + 5));
+            json.append(i < questions - 1 ? ",\n" : "\n");
+        }
+        return json.append("  ]\n}").toString();
+    }
+
+    @Benchmark
+    public QuizResponse strictReadValue() throws Exception {
+        return objectMapper.readValue(cleanResponse, QuizResponse.class);
+    }
+
+    @Benchmark
+    public QuizSalvage salvageClean() {
+        return responseParser.salvage(cleanResponse);
+    }
+
+    @Benchmark
+    public QuizSalvage salvageFenced() {
+        return responseParser.salvage(fencedResponse);
+    }
+}
@@ -0,0 +1,77 @@
+package com.ai.education.platform.benchmark;
+
+import com.ai.education.platform.learning.common.Gzip;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Cost of storing / reading a roadmap body in roadmap_history: gzip compress on write, decompress on the detail endpoint.
+ * Storage per roadmap is reported by compress() as secondary results: rawBytes / gzipBytes per roadmaps written.
+ * List-query latency at 10M rows is measured against postgres with src/jmh/sql/roadmap_history_10m.sql.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RoadmapHistoryBenchmark {
+
+    private String roadmap;
+    private int rawSize;
+    private byte[] compressed;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Storage {
+        public long roadmaps;
+        public long rawBytes;
+        public long gzipBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            roadmaps = 0;
+            rawBytes = 0;
+            gzipBytes = 0;
+        }
+    }
+
+    @Setup
+    public void setup() {
+        StringBuilder markdown = new StringBuilder("# Java Backend Developer Roadmap\n\n");
+        String[] topics = {"Core Java", "Collections", "Concurrency", "JDBC", "Spring Boot", "Spring Data JPA",
+                "REST APIs", "Spring Security", "Testing", "Docker", "Messaging", "Observability"};
+        for (int i = 0; i < topics.length; i++) {
+            markdown.append("## Phase ").append(i + 1).append(": ").append(topics[i]).append("\n\n")
+                    .append("**Duration:** 2 weeks\n\n")
+                    .append("### What to learn\n")
+                    .append("- Fundamentals of ").append(topics[i]).append(" and why they matter in backend systems\n")
+                    .append("- Common patterns and pitfalls when working with ").append(topics[i]).append("\n")
+                    .append("- How ").append(topics[i]).append(" fits together with the previous phases\n\n")
+                    .append("### Practice\n")
+                    .append("- Build a small project that uses ").append(topics[i]).append("\n")
+                    .append("- Write tests for it and review your mistakes\n\n")
+                    .append("### Resources\n")
+                    .append("- Official documentation\n- A hands-on tutorial\n\n");
+        }
+        roadmap = markdown.toString();
+        rawSize = roadmap.getBytes(StandardCharsets.UTF_8).length;
+        compressed = Gzip.compress(roadmap);
+    }
+
+    @Benchmark
+    public byte[] compress(Storage storage) {
+        byte[] stored = Gzip.compress(roadmap);
+        storage.roadmaps++;
+        storage.rawBytes += rawSize;
+        storage.gzipBytes += stored.length;
+        return stored;
+    }
+
+    @Benchmark
+    public String decompress() {
+        return Gzip.decompress(compressed);
+    }
+}
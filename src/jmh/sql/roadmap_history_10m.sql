@@ -0,0 +1,43 @@
+-- Roadmap history at 10M rows: storage per roadmap and keyset list-query latency.
+-- Run against a scratch database after the app created the table (ddl-auto), e.g.
+--   psql -d ai_learning_bench -f src/jmh/sql/roadmap_history_10m.sql
+
+-- random bytes like real gzip output (a repeated pattern would be shrunk again by TOAST and understate storage)
+create extension if not exists pgcrypto;
+
+-- 10M rows over 100k users (~100 roadmaps each), bodies 2 KB gzip like real ones (gen_random_bytes caps at 1024)
+insert into roadmap_history (id, user_id, goal, level, content_size, content, created_at)
+select gen_random_uuid(),
+       ('00000000-0000-0000-0000-' || lpad(to_hex(g % 100000), 12, '0'))::uuid,
+       'Goal ' || (g % 5000),
+       (array['BEGINNER', 'INTERMEDIATE', 'ADVANCED'])[1 + g % 3],
+       9000,
+       gen_random_bytes(1024) || gen_random_bytes(1024),
+       now() - (g || ' seconds')::interval
+from generate_series(1, 10000000) as g;
+
+analyze roadmap_history;
+
+-- storage per roadmap (heap + toast + index), divide by 10M
+select pg_size_pretty(pg_total_relation_size('roadmap_history'))                  as total,
+       pg_total_relation_size('roadmap_history') / greatest(count(*), 1)          as bytes_per_row,
+       pg_size_pretty(pg_relation_size('idx_roadmap_history_user_created'))       as list_index
+from roadmap_history;
+
+-- first page (what GET /roadmap/history runs), must be an index scan backward on idx_roadmap_history_user_created
+explain (analyze, buffers)
+select id, goal, level, content_size, created_at
+from roadmap_history
+where user_id = '00000000-0000-0000-0000-000000000042'
+order by created_at desc, id desc
+limit 21;
+
+-- a later page, same plan, cost independent of how deep the page is
+explain (analyze, buffers)
+select id, goal, level, content_size, created_at
+from roadmap_history
+where user_id = '00000000-0000-0000-0000-000000000042'
+  and created_at <= now() - interval '5000000 seconds'
+  and (created_at < now() - interval '5000000 seconds' or id < 'ffffffff-ffff-ffff-ffff-ffffffffffff')
+order by created_at desc, id desc
+limit 21;
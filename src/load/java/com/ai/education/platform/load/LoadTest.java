@@ -0,0 +1,361 @@
+package com.ai.education.platform.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * End-to-end load against a running instance, normally started with the "offline" profile so no model is paid for:
+ *   mvn spring-boot:run -Dspring-boot.run.profiles=offline
+ *   ./mvnw -Pload -DskipTests verify -Dload.users=100 -Dload.duration=2m
+ *
+ * Closed model: every virtual user registers once, then loops pick endpoint by weight (load.mix) -> request -> think time.
+ * Inputs are skewed like real traffic, a few popular goals / topics / problems get most of the requests so the
+ * caches see hits, the rest is spread over the long tail.
+ * Only requests that finish after the warmup are counted. Per endpoint: throughput, p50/p90/p99/max latency and
+ * status codes, printed as a table and written as JSON to load.result.
+ */
+public class LoadTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private static final String[] GOALS = {
+            "Become a Java backend developer", "Learn Python for data analysis", "Prepare for system design interviews",
+            "Learn React and TypeScript", "Understand machine learning basics", "Learn Kubernetes for deployments",
+            "Master SQL and database design", "Learn Rust systems programming", "Get started with cloud computing on AWS",
+            "Learn data structures and algorithms", "Build mobile apps with Flutter", "Learn cybersecurity fundamentals"
+    };
+
+    private static final String[] TOPICS = {
+            "Java collections", "Python decorators", "SQL joins", "HTTP and REST", "Binary search trees",
+            "Operating system processes", "TCP vs UDP", "Git branching", "Dynamic programming", "Docker images",
+            "JavaScript closures", "Database indexing", "Linear regression", "Graph traversal"
+    };
+
+    private static final String[] PROBLEMS = {
+            "Find two numbers in an array that add up to a target",
+            "Detect a cycle in a linked list",
+            "Design a URL shortener that handles 10k writes per second",
+            "Find the longest substring without repeating characters",
+            "Prove that the square root of 2 is irrational",
+            "Merge overlapping intervals",
+            "Design a rate limiter for a public API",
+            "Count the number of islands in a grid"
+    };
+
+    private static final String[] LEVELS = {"BEGINNER", "INTERMEDIATE", "ADVANCED"};
+    private static final String[] DOMAINS = {"DATA_STRUCTURES", "ALGORITHMS", "SYSTEM_DESIGN", "MATH"};
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    private final String baseUrl;
+    private final Duration requestTimeout;
+    private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+
+    private volatile boolean measuring;
+    private volatile boolean running = true;
+
+    LoadTest(String baseUrl, Duration requestTimeout) {
+        this.baseUrl = baseUrl;
+        this.requestTimeout = requestTimeout;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        String baseUrl = options.getOrDefault("base-url", "http://localhost:8080");
+        int users = Integer.parseInt(options.getOrDefault("users", "50"));
+        Duration warmup = duration(options.getOrDefault("warmup", "10s"));
+        Duration duration = duration(options.getOrDefault("duration", "60s"));
+        Duration thinkTime = duration(options.getOrDefault("think-time", "500ms"));
+        Duration requestTimeout = duration(options.getOrDefault("request-timeout", "3m"));
+        Mix mix = Mix.parse(options.getOrDefault("mix", "login=5,roadmap=15,daily-plan=10,quiz=30,hint=40"));
+        Path result = Path.of(options.getOrDefault("result", "target/load-result.json"));
+
+        System.out.printf("Load test against %s: %d users, %s warmup + %s measured, think time %s, mix %s%n",
+                baseUrl, users, warmup, duration, thinkTime, mix);
+
+        LoadTest test = new LoadTest(baseUrl, requestTimeout);
+        test.run(users, warmup, duration, thinkTime, mix);
+        test.report(duration, result);
+    }
+
+    void run(int users, Duration warmup, Duration duration, Duration thinkTime, Mix mix) throws InterruptedException {
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < users; i++) {
+                String email = "load-" + runId + "-" + i + "@example.com";
+                executor.submit(() -> user(email, thinkTime, mix));
+            }
+
+            Thread.sleep(warmup);
+            measuring = true;
+            Thread.sleep(duration);
+            measuring = false;
+            running = false;
+            executor.shutdownNow(); //in flight requests are interrupted, they finished after the window anyway
+        }
+    }
+
+    private void user(String email, Duration thinkTime, Mix mix) {
+        String password = "load-test-password";
+        String token;
+        try {
+            token = auth("/auth/register", email, password, "register");
+        } catch (Exception e) {
+            System.err.println("Register failed for " + email + ": " + e.getMessage());
+            return;
+        }
+
+        Random random = ThreadLocalRandom.current();
+        while (running) {
+            String endpoint = mix.pick(random);
+            try {
+                switch (endpoint) {
+                    case "login" -> auth("/auth/login", email, password, "login");
+                    case "roadmap" -> post(endpoint, "/roadmap", token, Map.of(
+                            "goal", skewed(GOALS, random),
+                            "level", LEVELS[random.nextInt(LEVELS.length)]));
+                    case "daily-plan" -> post(endpoint, "/daily-plan", token, Map.of(
+                            "goal", skewed(GOALS, random),
+                            "level", LEVELS[random.nextInt(LEVELS.length)],
+                            "days", random.nextInt(10) < 8 ? 7 : 30, //mostly a week, some long (segmented) plans
+                            "dailyHours", 1 + random.nextInt(3)));
+                    case "quiz" -> post(endpoint, "/quiz", token, Map.of(
+                            "topic", skewed(TOPICS, random),
+                            "level", LEVELS[random.nextInt(LEVELS.length)],
+                            "questionCount", random.nextBoolean() ? 5 : 10));
+                    case "hint" -> post(endpoint, "/intuition/hint", token, Map.of(
+                            "problem", skewed(PROBLEMS, random),
+                            "domain", DOMAINS[random.nextInt(DOMAINS.length)],
+                            "whatUserTried", "I tried a brute force approach but it is too slow",
+                            "hintLevel", hintLevel(random)));
+                    default -> throw new IllegalArgumentException("Unknown endpoint in mix: " + endpoint);
+                }
+                Thread.sleep(thinkTime);
+            } catch (InterruptedException e) {
+                return;
+            } catch (IOException e) {
+                if (running) {
+                    record(endpoint, -1, 0);
+                }
+            }
+        }
+    }
+
+    private String auth(String path, String email, String password, String endpoint) throws IOException, InterruptedException {
+        Map<String, String> body = path.endsWith("register")
+                ? Map.of("email", email, "password", password, "name", "Load Test")
+                : Map.of("email", email, "password", password);
+
+        HttpResponse<String> response = send(endpoint, path, null, body);
+        if (response.statusCode() != 200) {
+            throw new IOException(path + " returned " + response.statusCode() + ": " + response.body());
+        }
+        JsonNode json = JSON.readTree(response.body());
+        return json.get("accessToken").asText();
+    }
+
+    private void post(String endpoint, String path, String token, Map<String, Object> body) throws IOException, InterruptedException {
+        send(endpoint, path, token, body);
+    }
+
+    private HttpResponse<String> send(String endpoint, String path, String token, Object body) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(requestTimeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(JSON.writeValueAsString(body)));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+
+        long start = System.nanoTime();
+        HttpResponse<String> response = http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        record(endpoint, response.statusCode(), System.nanoTime() - start);
+        return response;
+    }
+
+    private void record(String endpoint, int status, long nanos) {
+        if (measuring) {
+            stats.computeIfAbsent(endpoint, e -> new Stats()).record(status, nanos);
+        }
+    }
+
+    void report(Duration duration, Path result) throws IOException {
+        double seconds = duration.toMillis() / 1000.0;
+        Map<String, Object> json = new LinkedHashMap<>();
+
+        System.out.printf("%n%-12s %9s %9s %9s %9s %9s %9s  %s%n",
+                "endpoint", "requests", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms", "status codes");
+        stats.entrySet().stream().sorted(Map.Entry.comparingByKey()).forEach(entry -> {
+            Stats s = entry.getValue();
+            long[] latencies = s.sortedLatencies();
+            Map<Integer, Long> statuses = s.statuses();
+
+            System.out.printf("%-12s %9d %9.1f %9.1f %9.1f %9.1f %9.1f  %s%n",
+                    entry.getKey(), latencies.length, latencies.length / seconds,
+                    millis(latencies, 0.50), millis(latencies, 0.90), millis(latencies, 0.99), millis(latencies, 1.0),
+                    statuses);
+
+            Map<String, Object> endpoint = new LinkedHashMap<>();
+            endpoint.put("requests", latencies.length);
+            endpoint.put("throughput", latencies.length / seconds);
+            endpoint.put("p50Ms", millis(latencies, 0.50));
+            endpoint.put("p90Ms", millis(latencies, 0.90));
+            endpoint.put("p99Ms", millis(latencies, 0.99));
+            endpoint.put("maxMs", millis(latencies, 1.0));
+            endpoint.put("statuses", statuses); //-1 = connection error / client timeout
+            json.put(entry.getKey(), endpoint);
+        });
+
+        if (result.getParent() != null) {
+            Files.createDirectories(result.getParent());
+        }
+        JSON.writerWithDefaultPrettyPrinter().writeValue(result.toFile(), json);
+        System.out.println("\nResults written to " + result.toAbsolutePath());
+    }
+
+    //70% of the requests go to the first quarter of the inputs
+    private static String skewed(String[] values, Random random) {
+        int hot = Math.max(1, values.length / 4);
+        return random.nextInt(10) < 7 ? values[random.nextInt(hot)] : values[random.nextInt(values.length)];
+    }
+
+    //most learners stop after the first or second hint
+    private static int hintLevel(Random random) {
+        int roll = random.nextInt(10);
+        return roll < 6 ? 1 : roll < 9 ? 2 : 3;
+    }
+
+    private static double millis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    //--key=value
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            String[] parts = arg.replaceFirst("^--", "").split("=", 2);
+            if (parts.length == 2 && !parts[1].isBlank()) {
+                options.put(parts[0], parts[1]);
+            }
+        }
+        return options;
+    }
+
+    //"500ms", "30s", "2m"
+    private static Duration duration(String value) {
+        String v = value.strip().toLowerCase();
+        if (v.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(v.substring(0, v.length() - 2)));
+        }
+        if (v.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(v.substring(0, v.length() - 1)));
+        }
+        if (v.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(v.substring(0, v.length() - 1)));
+        }
+        return Duration.ofMillis(Long.parseLong(v));
+    }
+
+    record Mix(List<String> endpoints, int[] cumulativeWeights) {
+
+        //"login=5,roadmap=15,..."
+        static Mix parse(String spec) {
+            List<String> endpoints = new ArrayList<>();
+            List<Integer> cumulative = new ArrayList<>();
+            int total = 0;
+            for (String part : spec.split(",")) {
+                String[] kv = part.strip().split("=");
+                int weight = Integer.parseInt(kv[1].strip());
+                if (weight > 0) {
+                    total += weight;
+                    endpoints.add(kv[0].strip());
+                    cumulative.add(total);
+                }
+            }
+            if (endpoints.isEmpty()) {
+                throw new IllegalArgumentException("Empty load mix: " + spec);
+            }
+            return new Mix(endpoints, cumulative.stream().mapToInt(Integer::intValue).toArray());
+        }
+
+        String pick(Random random) {
+            int roll = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            for (int i = 0; i < cumulativeWeights.length; i++) {
+                if (roll < cumulativeWeights[i]) {
+                    return endpoints.get(i);
+                }
+            }
+            return endpoints.getLast();
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder out = new StringBuilder();
+            int previous = 0;
+            for (int i = 0; i < endpoints.size(); i++) {
+                out.append(i == 0 ? "" : ",").append(endpoints.get(i)).append('=').append(cumulativeWeights[i] - previous);
+                previous = cumulativeWeights[i];
+            }
+            return out.toString();
+        }
+    }
+
+    static final class Stats {
+
+        private long[] latencies = new long[1024];
+        private int size;
+        private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+        synchronized void record(int status, long nanos) {
+            statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+            if (status < 0) {
+                return; //no response, no latency
+            }
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = nanos;
+        }
+
+        synchronized long[] sortedLatencies() {
+            long[] copy = Arrays.copyOf(latencies, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+
+        Map<Integer, Long> statuses() {
+            Map<Integer, Long> counts = new TreeMap<>();
+            statuses.forEach((status, count) -> counts.put(status, count.sum()));
+            return counts;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.ai.education.platform.auth.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+/*
+ * The BCrypt cost in use. pinned = set in config, otherwise calibrated on startup:
+ * cost n takes ~2x as long as n-1, so it steps up from min-strength while the next cost is expected to fit target-latency.
+ */
+@Slf4j
+public record BCryptCost(
+        int strength,
+        boolean pinned
+) {
+
+    private static final String SAMPLE = "calibration-password";
+
+    public static BCryptCost from(PasswordHashingProperties properties) {
+        if (properties.strength() != null) {
+            return new BCryptCost(properties.strength(), true);
+        }
+        return new BCryptCost(calibrate(properties), false);
+    }
+
+    //"$2a$12$..." -> 12, -1 for anything that is not a BCrypt hash
+    public static int strengthOf(String hash) {
+        if (hash == null || hash.length() < 7 || hash.charAt(0) != '$' || hash.charAt(6) != '$') {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(hash.substring(4, 6));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /*
+     * Pinned: any other cost is rehashed (lets an operator lower the cost too).
+     * Calibrated: only weaker hashes are upgraded, so nodes calibrating one step apart don't rehash each other's hashes forever.
+     */
+    public boolean needsRehash(String hash) {
+        int stored = strengthOf(hash);
+        return pinned ? stored != strength : stored < strength;
+    }
+
+    private static int calibrate(PasswordHashingProperties properties) {
+        long target = properties.targetLatency().toNanos();
+        int strength = properties.minStrength();
+        time(strength); //warm up
+        long elapsed = time(strength);
+
+        while (strength < properties.maxStrength() && elapsed * 2 <= target) {
+            strength++;
+            elapsed = time(strength);
+        }
+
+        log.info("BCrypt cost calibrated to {} ({} ms per hash, target {} ms)",
+                strength, Duration.ofNanos(elapsed).toMillis(), properties.targetLatency().toMillis());
+        return strength;
+    }
+
+    private static long time(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        long start = System.nanoTime();
+        encoder.encode(SAMPLE);
+        return System.nanoTime() - start;
+    }
+}
@@ -14,7 +14,6 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Collections;
-import java.util.UUID;
 
 @Component
 @RequiredArgsConstructor
@@ -43,15 +42,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {  //this filt
         String token = authHeader.substring(7);
 
         try {
-            //3:Validate Token (signature + expiry)
-            jwtService.validateToken(token);
-
-            //4: Extract user identity from token
-            UUID userId = jwtService.extractUserId(token);
-            String email = jwtService.extractEmail(token);
+            //3 + 4: Validate Token (signature + expiry) and extract user identity in one pass (cache lookup for a token seen before)
+            JwtUserPrincipal principal = jwtService.authenticate(token);
 
             //5: Build Authentication Object
-            JwtUserPrincipal principal = new JwtUserPrincipal(userId, email);
 
             UsernamePasswordAuthenticationToken authentication =
                     new UsernamePasswordAuthenticationToken(
@@ -1,32 +1,48 @@
 package com.ai.education.platform.auth.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
-import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
 import java.sql.Date;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.UUID;
 
 @Service
-@RequiredArgsConstructor
 public class JwtService {  //for Generate JWT token , JWT Validate (signature + expiry), extract userId, email)
 
-    @Value("${jwt.secret}")
-    private String secretKey;
-
-    @Value("${jwt.expiration}") //token Validity Duration
-    private Long jwtExpiration;
-
-    //convert SecretKey to CryptoGraphic key (converting normal String to Secret Key)
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(
-                Decoders.BASE64.decode(secretKey));
+    private final SecretKey signingKey;  //decoded once, the secret never changes at runtime
+    private final JwtParser parser;      //thread safe, reused for every token
+
+    private final Long jwtExpiration; //token Validity Duration
+
+    //tokens that already passed signature + expiry checks, an entry lives until the token's own exp
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    public JwtService(
+            @Value("${jwt.secret}") String secretKey,
+            @Value("${jwt.expiration}") Long jwtExpiration,
+            @Value("${jwt.cache.max-size:10000}") long cacheMaxSize
+    ) {
+        //convert SecretKey to CryptoGraphic key (converting normal String to Secret Key)
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        this.jwtExpiration = jwtExpiration;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new UntilTokenExpiry())
+                .build();
     }
 
     //Generate JWT Access Token
@@ -38,27 +54,23 @@ public class JwtService {  //for Generate JWT token , JWT Validate (signature +
                 .claim("userId", userId.toString())
                 .issuedAt(Date.from(now))
                 .expiration(Date.from(now.plusMillis(jwtExpiration)))  //current time + expiry time
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
+    //Verify token (signature + expiry) and extract the principal in one parse, cached until the token expires
+    public JwtUserPrincipal authenticate(String token) {   //If token is invalid/expired → JJWT throws exception (never cached) → We handle it in filter
+        return verifiedTokens.get(token, this::verify).principal();
+    }
+
     //Validate Jwt Token (signature + expiry)
     public void validateToken(String token) {               //If token is invalid/expired → JJWT throws exception automatically→ We handle it in filter
-
-        Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token);
+        parser.parseSignedClaims(token);
     }
 
-    // ---  we can create a separate Record class(jwtUserPrincipal ) to save all principal (extracted (userId, email) from jwt )
     //extract Claims
     public Claims extractAllClaims(String token) {
-
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
+        return parser.parseSignedClaims(token)
                 .getPayload(); //will get All the Claims
     }
 
@@ -74,4 +86,33 @@ public class JwtService {  //for Generate JWT token , JWT Validate (signature +
         return extractAllClaims(token).getSubject();
     }
 
+    private VerifiedToken verify(String token) {
+        Claims claims = extractAllClaims(token);
+        JwtUserPrincipal principal = new JwtUserPrincipal(
+                UUID.fromString(claims.get("userId", String.class)),
+                claims.getSubject()
+        );
+        return new VerifiedToken(principal, claims.getExpiration().toInstant());
+    }
+
+    private record VerifiedToken(JwtUserPrincipal principal, Instant expiresAt) {
+    }
+
+    private static final class UntilTokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String token, VerifiedToken verified, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), verified.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, VerifiedToken verified, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String token, VerifiedToken verified, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
@@ -0,0 +1,9 @@
+package com.ai.education.platform.auth.security;
+
+//Password hashing queue is full (or the hash took longer than max-wait) -> fast 503 instead of piling up logins
+public class PasswordHashingBusyException extends RuntimeException {
+
+    public PasswordHashingBusyException() {
+        super("Too many sign-in requests right now, please retry shortly");
+    }
+}
@@ -0,0 +1,47 @@
+package com.ai.education.platform.auth.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/*
+ * auth.password.*
+ *  threads          -> hashing threads, 0 = half the cores (the rest stay free for other traffic)
+ *  queue-capacity   -> hashes waiting for a thread, beyond that requests are shed with 503
+ *  max-wait         -> how long a request waits for its hash before giving up with 503
+ *  strength         -> pinned BCrypt cost, leave empty to calibrate against target-latency on startup
+ *  target-latency   -> calibration picks the highest cost whose hash stays within this
+ *  min/max-strength -> bounds of the calibrated cost
+ */
+@ConfigurationProperties(prefix = "auth.password")
+public record PasswordHashingProperties(
+        int threads,
+        int queueCapacity,
+        Duration maxWait,
+        Integer strength,
+        Duration targetLatency,
+        int minStrength,
+        int maxStrength
+) {
+
+    public PasswordHashingProperties {
+        if (threads <= 0) {
+            threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        }
+        if (queueCapacity <= 0) {
+            queueCapacity = 64;
+        }
+        if (maxWait == null) {
+            maxWait = Duration.ofSeconds(2);
+        }
+        if (targetLatency == null) {
+            targetLatency = Duration.ofMillis(250);
+        }
+        if (minStrength <= 0) {
+            minStrength = 10;
+        }
+        if (maxStrength < minStrength) {
+            maxStrength = Math.max(minStrength, 14);
+        }
+    }
+}
@@ -4,12 +4,14 @@ import com.ai.education.platform.auth.dto.AuthResponse;
 import com.ai.education.platform.auth.dto.LoginRequest;
 import com.ai.education.platform.auth.dto.RegisterRequest;
 import com.ai.education.platform.auth.security.JwtService;
+import com.ai.education.platform.auth.security.PasswordHasher;
 import com.ai.education.platform.user.entity.User;
 import com.ai.education.platform.user.repository.UserRepository;
+import com.ai.education.platform.user.service.RegisteredEmailFilter;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
@@ -20,13 +22,14 @@ import java.time.LocalDateTime;
 public class AuthService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final JwtService jwtService;
+    private final RegisteredEmailFilter registeredEmailFilter;
 
 
     public AuthResponse register(@Valid RegisterRequest request) {
         //check if email is already exists
-        if(userRepository.existsByEmail(request.email())){
+        if(registeredEmailFilter.isRegistered(request.email())){
             throw new IllegalStateException("Email already Registered");
         }
 
@@ -34,10 +37,16 @@ public class AuthService {
                 .email(request.email())
                 .name(request.name())
                 .createdAt(LocalDateTime.now())
-                .password(passwordEncoder.encode(request.password()))
+                .password(passwordHasher.encode(request.password()))
                 .build();
 
-        userRepository.save(user);
+        try {
+            userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            //unique email constraint: registered concurrently or on a node whose filter hadn't seen it yet
+            throw new IllegalStateException("Email already Registered");
+        }
+        registeredEmailFilter.add(user.getEmail());
 
         String token = jwtService.generateAccessToken(user.getId(), user.getEmail());
 
@@ -49,10 +58,17 @@ public class AuthService {
        User user = userRepository.findByEmail(request.email())
                .orElseThrow(() -> new BadCredentialsException("Invalid email or password"));
 
-       if( !passwordEncoder.matches(request.password(), user.getPassword()) ){
+       if( !passwordHasher.matches(request.password(), user.getPassword()) ){
            throw new BadCredentialsException("Invalid email or  password");
        }
 
+       //stored hash has an old BCrypt cost -> rehash in the background, the login doesn't wait for it
+       if (passwordHasher.needsRehash(user.getPassword())) {
+           String oldHash = user.getPassword();
+           passwordHasher.rehashAsync(request.password(),
+                   newHash -> userRepository.updatePasswordIfUnchanged(user.getId(), oldHash, newHash));
+       }
+
        String token = jwtService.generateAccessToken(user.getId(), user.getEmail());
 
         return new AuthResponse(token);
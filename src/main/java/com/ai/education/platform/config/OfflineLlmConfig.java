@@ -0,0 +1,19 @@
+package com.ai.education.platform.config;
+
+import com.ai.education.platform.llm.offline.OfflineChatModel;
+import com.ai.education.platform.llm.offline.OfflineLlmProperties;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+//profile "offline": the OpenAI chat model is switched off in application-offline.yaml, ChatClient is built on this one
+@Configuration
+@Profile("offline")
+public class OfflineLlmConfig {
+
+    @Bean
+    public ChatModel offlineChatModel(OfflineLlmProperties properties) {
+        return new OfflineChatModel(properties);
+    }
+}
@@ -1,5 +1,7 @@
 package com.ai.education.platform.config;
 
+import com.ai.education.platform.auth.security.BCryptCost;
+import com.ai.education.platform.auth.security.PasswordHashingProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -9,7 +11,13 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 public class PasswordConfig {
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BCryptCost bcryptCost(PasswordHashingProperties properties) {
+        return BCryptCost.from(properties);
+    }
+
+    //use PasswordHasher on request paths, it runs the encoder on the bounded hashing pool
+    @Bean
+    public PasswordEncoder passwordEncoder(BCryptCost cost) {
+        return new BCryptPasswordEncoder(cost.strength());
     }
 }
@@ -0,0 +1,12 @@
+package com.ai.education.platform.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+//@Scheduled background jobs (quiz bank refill, ...) and @Async fire-and-forget work, both on virtual threads
+@Configuration
+@EnableScheduling
+@EnableAsync
+public class SchedulingConfig {
+}
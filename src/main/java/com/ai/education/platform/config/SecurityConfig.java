@@ -2,7 +2,9 @@ package com.ai.education.platform.config;
 
 
 import com.ai.education.platform.auth.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.Customizer;
@@ -20,6 +22,9 @@ public class SecurityConfig { //this class Defines Security Policy of our Entire
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -32,6 +37,7 @@ public class SecurityConfig { //this class Defines Security Policy of our Entire
                 )
                 //3:Define Public & protected endpoints
                 .authorizeHttpRequests(auth -> auth
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll() // SSE streams complete on an async dispatch, the original request was already authenticated (stateless, nothing to reload the JWT from)
                         .requestMatchers("/auth/**").permitAll()  // Login/Register must be public so users can obtain a JWT; authentication is required only after token is issued
                         .requestMatchers(
                                 "/swagger",
@@ -40,6 +46,7 @@ public class SecurityConfig { //this class Defines Security Policy of our Entire
                                 "/swagger-ui/**",
                                 "/v3/api-docs/**"
                         ).permitAll()
+                        .requestMatchers(request -> request.getLocalPort() == managementPort).permitAll() // actuator port (health probes, Prometheus scrape), not reachable from outside the cluster; per feature traffic stays off the public port
                         .anyRequest().authenticated()  //everything else requires authentication
                 )
                 //4: disable default login forms
@@ -1,9 +1,17 @@
 package com.ai.education.platform.exception;
 
+import com.ai.education.platform.auth.security.PasswordHashingBusyException;
+import com.ai.education.platform.learning.dailyplan.goal.service.DailyPlanTooLongException;
+import com.ai.education.platform.llm.LlmBusyException;
+import com.ai.education.platform.llm.LlmUnavailableException;
+import com.ai.education.platform.ratelimit.RateLimitExceededException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.web.ErrorResponse;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -16,6 +24,7 @@ import java.util.Map;
 
 
 @RestControllerAdvice
+@Slf4j
 public class GlobalExceptionHandler {
 
     // ---------- AUTH / BUSINESS ----------
@@ -30,6 +39,45 @@ public class GlobalExceptionHandler {
         return error(HttpStatus.UNAUTHORIZED, "Invalid email or password");
     }
 
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<Map<String, String>> handlePasswordHashingBusy(PasswordHashingBusyException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of("error", ex.getMessage()));
+    }
+
+    // ---------- LLM CAPACITY ----------
+
+    @ExceptionHandler(LlmBusyException.class)
+    public ResponseEntity<Map<String, String>> handleLlmBusy(LlmBusyException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfter().toSeconds())))
+                .body(Map.of("error", ex.getMessage()));
+    }
+
+    @ExceptionHandler(LlmUnavailableException.class)
+    public ResponseEntity<Map<String, String>> handleLlmUnavailable(LlmUnavailableException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfter().toSeconds())))
+                .body(Map.of("error", ex.getMessage()));
+    }
+
+    // ---------- LONG RUNNING WORK ----------
+
+    @ExceptionHandler(DailyPlanTooLongException.class)
+    public ResponseEntity<Map<String, String>> handleDailyPlanTooLong(DailyPlanTooLongException ex) {
+        return error(HttpStatus.UNPROCESSABLE_CONTENT, ex.getMessage());
+    }
+
+    // ---------- RATE LIMIT ----------
+
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<Map<String, String>> handleRateLimit(RateLimitExceededException ex) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfter().toSeconds() + 1)))
+                .body(Map.of("error", ex.getMessage()));
+    }
+
     // ---------- VALIDATION ----------
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
@@ -56,12 +104,19 @@ public class GlobalExceptionHandler {
 
     // ---------- FALLBACK ----------
 
+    //internal details (upstream errors, SQL, stack traces) go to the log, never to the client
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, String>> handleGeneric(Exception ex) {
-        ex.printStackTrace(); //  TEMP for debugging
-        return ResponseEntity
-                .status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body(Map.of("error", ex.getMessage()));
+        if (ex instanceof ErrorResponse errorResponse && errorResponse.getStatusCode().is4xxClientError()) {
+            //Spring MVC's own 4xx (unknown path, wrong method, ...) keep their status
+            return ResponseEntity.status(errorResponse.getStatusCode())
+                    .body(Map.of("error", errorResponse.getBody().getTitle() != null
+                            ? errorResponse.getBody().getTitle()
+                            : "Request failed"));
+        }
+
+        log.error("Unhandled exception", ex);
+        return error(HttpStatus.INTERNAL_SERVER_ERROR, "Something went wrong, please try again");
     }
 
 
@@ -0,0 +1,88 @@
+package com.ai.education.platform.job.controller;
+
+import com.ai.education.platform.auth.security.JwtUserPrincipal;
+import com.ai.education.platform.job.dto.JobResponse;
+import com.ai.education.platform.job.dto.JobSubmittedResponse;
+import com.ai.education.platform.job.entity.GenerationJob;
+import com.ai.education.platform.job.enums.JobType;
+import com.ai.education.platform.job.service.JobNotifier;
+import com.ai.education.platform.job.service.JobService;
+import com.ai.education.platform.learning.dailyplan.goal.dto.DailyPlanRequest;
+import com.ai.education.platform.learning.quiz.dto.QuizRequest;
+import com.ai.education.platform.learning.roadmap.dto.RoadmapRequest;
+import com.ai.education.platform.llm.LlmFeature;
+import com.ai.education.platform.ratelimit.RateLimited;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.net.URI;
+import java.util.UUID;
+
+//Async variants of the generation endpoints: submit -> 202 + job id, then poll GET /jobs/{id} or listen on /jobs/{id}/events
+@RestController
+@RequiredArgsConstructor
+public class JobController {
+
+    private final JobService jobService;
+    private final JobNotifier jobNotifier;
+
+    @PostMapping("/roadmap/jobs")
+    @RateLimited(LlmFeature.ROADMAP)
+    public ResponseEntity<JobSubmittedResponse> submitRoadmap(
+            @AuthenticationPrincipal JwtUserPrincipal principal,
+            @RequestBody @Valid RoadmapRequest request,
+            @RequestParam(required = false) Integer priority){
+        return accepted(jobService.submit(principal.userId(), JobType.ROADMAP, request, priority));
+    }
+
+    @PostMapping("/daily-plan/jobs")
+    @RateLimited(LlmFeature.DAILY_PLAN)
+    public ResponseEntity<JobSubmittedResponse> submitDailyPlan(
+            @AuthenticationPrincipal JwtUserPrincipal principal,
+            @RequestBody @Valid DailyPlanRequest request,
+            @RequestParam(required = false) Integer priority){
+        return accepted(jobService.submit(principal.userId(), JobType.DAILY_PLAN, request, priority));
+    }
+
+    @PostMapping("/quiz/jobs")
+    @RateLimited(LlmFeature.QUIZ)
+    public ResponseEntity<JobSubmittedResponse> submitQuiz(
+            @AuthenticationPrincipal JwtUserPrincipal principal,
+            @RequestBody @Valid QuizRequest request,
+            @RequestParam(required = false) Integer priority){
+        return accepted(jobService.submit(principal.userId(), JobType.QUIZ, request, priority));
+    }
+
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<JobResponse> get(@AuthenticationPrincipal JwtUserPrincipal principal, @PathVariable UUID id){
+        return jobService.find(principal.userId(), id)
+                .map(JobResponse::from)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    //one `finished` event carrying the same body as GET /jobs/{id}, then the stream closes
+    @GetMapping(value = "/jobs/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> events(@AuthenticationPrincipal JwtUserPrincipal principal, @PathVariable UUID id){
+        return jobService.find(principal.userId(), id)
+                .map(jobNotifier::subscribe)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    private ResponseEntity<JobSubmittedResponse> accepted(GenerationJob job) {
+        return ResponseEntity.accepted()
+                .location(URI.create("/jobs/" + job.getId()))
+                .body(new JobSubmittedResponse(job.getId(), job.getStatus()));
+    }
+}
@@ -0,0 +1,32 @@
+package com.ai.education.platform.job.dto;
+
+import com.ai.education.platform.job.entity.GenerationJob;
+import com.ai.education.platform.job.enums.JobStatus;
+import com.ai.education.platform.job.enums.JobType;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record JobResponse(
+        UUID id,
+        JobType type,
+        JobStatus status,
+        @JsonRawValue String result, //already JSON (RoadmapResponse / DailyPlanResponse / QuizView)
+        String error,
+        LocalDateTime createdAt,
+        LocalDateTime finishedAt
+) {
+
+    public static JobResponse from(GenerationJob job) {
+        return new JobResponse(
+                job.getId(),
+                job.getType(),
+                job.getStatus(),
+                job.getResult(),
+                job.getError(),
+                job.getCreatedAt(),
+                job.getFinishedAt()
+        );
+    }
+}
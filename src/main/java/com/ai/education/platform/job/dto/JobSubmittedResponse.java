@@ -0,0 +1,11 @@
+package com.ai.education.platform.job.dto;
+
+import com.ai.education.platform.job.enums.JobStatus;
+
+import java.util.UUID;
+
+public record JobSubmittedResponse(
+        UUID jobId,
+        JobStatus status
+) {
+}
@@ -0,0 +1,72 @@
+package com.ai.education.platform.job.entity;
+
+import com.ai.education.platform.job.enums.JobStatus;
+import com.ai.education.platform.job.enums.JobType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+//A queued generation request, the table is the queue: workers on any node claim rows with FOR UPDATE SKIP LOCKED
+@Entity
+@Table(name = "generation_jobs",
+        indexes = {
+                @Index(name = "idx_generation_jobs_queue", columnList = "status, priority, createdAt"),
+                @Index(name = "idx_generation_jobs_user", columnList = "userId")
+        }
+)
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class GenerationJob {
+
+    @Id
+    @GeneratedValue
+    private UUID id;
+
+    @Column(nullable = false)
+    private UUID userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private JobType type;
+
+    //higher runs first
+    @Column(nullable = false)
+    private int priority;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private JobStatus status;
+
+    //the original request (RoadmapRequest / DailyPlanRequest / QuizRequest) as JSON
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    //the response the synchronous endpoint would have returned, as JSON
+    @Column(columnDefinition = "TEXT")
+    private String result;
+
+    @Column(columnDefinition = "TEXT")
+    private String error;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    //node currently running the job and until when its claim is valid, an expired lease means the node died
+    private String lockedBy;
+    private LocalDateTime leaseUntil;
+
+    //a retried job is not claimed before this (exponential backoff), null = right away
+    private LocalDateTime availableAt;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,7 @@
+package com.ai.education.platform.job.enums;
+
+public enum JobType {
+    ROADMAP,
+    DAILY_PLAN,
+    QUIZ
+}
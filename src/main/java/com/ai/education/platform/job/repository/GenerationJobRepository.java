@@ -0,0 +1,63 @@
+package com.ai.education.platform.job.repository;
+
+import com.ai.education.platform.job.entity.GenerationJob;
+import com.ai.education.platform.job.enums.JobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface GenerationJobRepository extends JpaRepository<GenerationJob, UUID> {
+
+    //highest priority, oldest first, rows locked by another node's open transaction are skipped instead of waited on,
+    //retries still backing off are skipped too
+    @Query(value = """
+            select * from generation_jobs
+            where status = 'PENDING' and (available_at is null or available_at <= :now)
+            order by priority desc, created_at
+            limit 1
+            for update skip locked
+            """, nativeQuery = true)
+    Optional<GenerationJob> lockNextPending(LocalDateTime now);
+
+    Optional<GenerationJob> findByIdAndUserId(UUID id, UUID userId);
+
+    List<GenerationJob> findByIdInAndStatusIn(Collection<UUID> ids, Collection<JobStatus> statuses);
+
+    //heartbeat of a running job, 0 = this node no longer owns it (lease expired and requeued / reclaimed)
+    @Modifying
+    @Query("""
+            update GenerationJob j
+            set j.leaseUntil = :leaseUntil
+            where j.id = :id and j.lockedBy = :nodeId
+              and j.status = com.ai.education.platform.job.enums.JobStatus.RUNNING
+            """)
+    int renewLease(UUID id, String nodeId, LocalDateTime leaseUntil);
+
+    //jobs of a node that died mid-run go back to the queue (or fail once they used up their attempts)
+    @Modifying
+    @Query("""
+            update GenerationJob j
+            set j.status = com.ai.education.platform.job.enums.JobStatus.PENDING, j.lockedBy = null, j.leaseUntil = null
+            where j.status = com.ai.education.platform.job.enums.JobStatus.RUNNING
+              and j.leaseUntil < :now and j.attempts < :maxAttempts
+            """)
+    int requeueExpired(LocalDateTime now, int maxAttempts);
+
+    @Modifying
+    @Query("""
+            update GenerationJob j
+            set j.status = com.ai.education.platform.job.enums.JobStatus.FAILED, j.lockedBy = null, j.leaseUntil = null,
+                j.error = 'Job did not finish after repeated attempts', j.finishedAt = :now
+            where j.status = com.ai.education.platform.job.enums.JobStatus.RUNNING
+              and j.leaseUntil < :now and j.attempts >= :maxAttempts
+            """)
+    int failExpired(LocalDateTime now, int maxAttempts);
+}
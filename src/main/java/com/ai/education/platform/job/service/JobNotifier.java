@@ -0,0 +1,81 @@
+package com.ai.education.platform.job.service;
+
+import com.ai.education.platform.job.dto.JobResponse;
+import com.ai.education.platform.job.entity.GenerationJob;
+import com.ai.education.platform.job.enums.JobStatus;
+import com.ai.education.platform.job.repository.GenerationJobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * SSE completion notifications for GET /jobs/{id}/events.
+ * Jobs finished on this node notify right away, a periodic sweep over the db catches jobs finished by other nodes.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class JobNotifier {
+
+    private static final List<JobStatus> FINISHED = List.of(JobStatus.SUCCEEDED, JobStatus.FAILED);
+
+    private final GenerationJobRepository jobRepository;
+    private final JobProperties properties;
+
+    private final Map<UUID, Set<SseEmitter>> listeners = new ConcurrentHashMap<>();
+
+    public SseEmitter subscribe(GenerationJob job) {
+        SseEmitter emitter = new SseEmitter(properties.lease().toMillis());
+        if (job.getStatus().isFinished()) {
+            send(emitter, job);
+            return emitter;
+        }
+
+        listeners.computeIfAbsent(job.getId(), id -> ConcurrentHashMap.newKeySet()).add(emitter);
+        Runnable unregister = () -> listeners.computeIfPresent(job.getId(), (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+        emitter.onCompletion(unregister);
+        emitter.onTimeout(unregister);
+        emitter.onError(ex -> unregister.run());
+        return emitter;
+    }
+
+    public void finished(GenerationJob job) {
+        Set<SseEmitter> emitters = listeners.remove(job.getId());
+        if (emitters != null) {
+            emitters.forEach(emitter -> send(emitter, job));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jobs.poll-interval:1s}")
+    public void sweep() {
+        if (listeners.isEmpty()) {
+            return;
+        }
+        jobRepository.findByIdInAndStatusIn(Set.copyOf(listeners.keySet()), FINISHED)
+                .forEach(this::finished);
+    }
+
+    private void send(SseEmitter emitter, GenerationJob job) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .name("finished")
+                    .id(job.getId().toString())
+                    .data(JobResponse.from(job)));
+            emitter.complete();
+        } catch (IOException | IllegalStateException ex) {
+            log.debug("Job {} listener already gone: {}", job.getId(), ex.getMessage());
+        }
+    }
+}
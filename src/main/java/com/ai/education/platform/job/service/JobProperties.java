@@ -0,0 +1,49 @@
+package com.ai.education.platform.job.service;
+
+import com.ai.education.platform.job.enums.JobType;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/*
+ * jobs.*
+ *  workers            -> jobs run at the same time on this node
+ *  poll-interval      -> how often idle workers look for queued jobs
+ *  lease              -> a claimed job whose lease isn't renewed within this is considered abandoned (node died) and requeued
+ *  heartbeat-interval -> how often the node running a job renews its lease, well below lease
+ *  max-attempts       -> claims before a failing / abandoned job is marked FAILED
+ *  retry-backoff      -> wait before the first retry of a failed attempt, doubled per further attempt
+ *  max-retry-backoff  -> upper bound of that wait
+ *  priorities         -> default priority per job type (higher first), overridable per request
+ */
+@ConfigurationProperties(prefix = "jobs")
+public record JobProperties(
+        int workers,
+        Duration pollInterval,
+        Duration lease,
+        Duration heartbeatInterval,
+        int maxAttempts,
+        Duration retryBackoff,
+        Duration maxRetryBackoff,
+        Map<JobType, Integer> priorities
+) {
+
+    public JobProperties {
+        heartbeatInterval = heartbeatInterval == null ? Duration.ofMinutes(1) : heartbeatInterval;
+        retryBackoff = retryBackoff == null ? Duration.ofSeconds(30) : retryBackoff;
+        maxRetryBackoff = maxRetryBackoff == null ? Duration.ofMinutes(10) : maxRetryBackoff;
+        priorities = priorities == null ? new EnumMap<>(JobType.class) : new EnumMap<>(priorities);
+    }
+
+    //retry-backoff x 2^(attempts - 1), at most max-retry-backoff
+    public Duration retryBackoffFor(int attempts) {
+        Duration backoff = retryBackoff.multipliedBy(1L << Math.max(0, Math.min(attempts - 1, 20)));
+        return backoff.compareTo(maxRetryBackoff) > 0 ? maxRetryBackoff : backoff;
+    }
+
+    public int priorityFor(JobType type) {
+        return priorities.getOrDefault(type, 0);
+    }
+}
@@ -0,0 +1,41 @@
+package com.ai.education.platform.job.service;
+
+import com.ai.education.platform.job.entity.GenerationJob;
+import com.ai.education.platform.learning.dailyplan.goal.dto.DailyPlanRequest;
+import com.ai.education.platform.learning.dailyplan.goal.dto.DailyPlanResponse;
+import com.ai.education.platform.learning.dailyplan.goal.service.DailyPlanService;
+import com.ai.education.platform.learning.quiz.dto.QuizRequest;
+import com.ai.education.platform.learning.quiz.service.QuizService;
+import com.ai.education.platform.learning.roadmap.dto.RoadmapRequest;
+import com.ai.education.platform.learning.roadmap.dto.RoadmapResponse;
+import com.ai.education.platform.learning.roadmap.service.RoadmapService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+//Runs a job payload through the same service the synchronous endpoint uses, returns that endpoint's response as JSON
+@Component
+@RequiredArgsConstructor
+public class JobRunner {
+
+    private final RoadmapService roadmapService;
+    private final DailyPlanService dailyPlanService;
+    private final QuizService quizService;
+    private final ObjectMapper objectMapper;
+
+    public String run(GenerationJob job) throws JsonProcessingException {
+        Object response = switch (job.getType()) {
+            case ROADMAP -> {
+                RoadmapRequest request = objectMapper.readValue(job.getPayload(), RoadmapRequest.class);
+                yield new RoadmapResponse(roadmapService.generateRoadmap(job.getUserId(), request.goal(), request.level()));
+            }
+            case DAILY_PLAN -> {
+                DailyPlanRequest request = objectMapper.readValue(job.getPayload(), DailyPlanRequest.class);
+                yield new DailyPlanResponse(dailyPlanService.generatePlan(job.getUserId(), request));
+            }
+            case QUIZ -> quizService.generateQuiz(job.getUserId(), objectMapper.readValue(job.getPayload(), QuizRequest.class));
+        };
+        return objectMapper.writeValueAsString(response);
+    }
+}
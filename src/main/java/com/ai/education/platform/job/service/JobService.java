@@ -0,0 +1,135 @@
+package com.ai.education.platform.job.service;
+
+import com.ai.education.platform.job.entity.GenerationJob;
+import com.ai.education.platform.job.enums.JobStatus;
+import com.ai.education.platform.job.enums.JobType;
+import com.ai.education.platform.job.repository.GenerationJobRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+//State transitions of generation jobs, every method is one short transaction (never held across an LLM call)
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class JobService {
+
+    private static final int MIN_PRIORITY = 0;
+    private static final int MAX_PRIORITY = 9;
+
+    private final GenerationJobRepository jobRepository;
+    private final JobProperties properties;
+    private final ObjectMapper objectMapper;
+
+    @Transactional
+    public GenerationJob submit(UUID userId, JobType type, Object request, Integer priority) {
+        int effectivePriority = priority == null
+                ? properties.priorityFor(type)
+                : Math.max(MIN_PRIORITY, Math.min(MAX_PRIORITY, priority));
+
+        GenerationJob job = GenerationJob.builder()
+                .userId(userId)
+                .type(type)
+                .priority(effectivePriority)
+                .status(JobStatus.PENDING)
+                .payload(toJson(request))
+                .attempts(0)
+                .createdAt(LocalDateTime.now())
+                .build();
+
+        return jobRepository.save(job);
+    }
+
+    public Optional<GenerationJob> find(UUID userId, UUID jobId) {
+        return jobRepository.findByIdAndUserId(jobId, userId); //users only ever see their own jobs
+    }
+
+    //the row lock from SKIP LOCKED is held only until this transaction commits the RUNNING state
+    @Transactional
+    public Optional<GenerationJob> claimNext(String nodeId) {
+        LocalDateTime now = LocalDateTime.now();
+        return jobRepository.lockNextPending(now).map(job -> {
+            job.setStatus(JobStatus.RUNNING);
+            job.setLockedBy(nodeId);
+            job.setLeaseUntil(now.plus(properties.lease()));
+            job.setAttempts(job.getAttempts() + 1);
+            job.setStartedAt(now);
+            return job;
+        });
+    }
+
+    //false once the job is no longer ours, its result would be dropped anyway
+    @Transactional
+    public boolean renewLease(UUID jobId, String nodeId) {
+        return jobRepository.renewLease(jobId, nodeId, LocalDateTime.now().plus(properties.lease())) > 0;
+    }
+
+    //a successful retry clears the error of the failed attempts
+    @Transactional
+    public Optional<GenerationJob> complete(UUID jobId, String nodeId, String resultJson) {
+        return ownedRunningJob(jobId, nodeId).map(job -> {
+            job.setStatus(JobStatus.SUCCEEDED);
+            job.setResult(resultJson);
+            job.setError(null);
+            release(job);
+            return job;
+        });
+    }
+
+    //failed attempts go back to the queue until max-attempts is reached, each one waiting twice as long as the last
+    //so a failing provider isn't hit again right away by every retry
+    @Transactional
+    public Optional<GenerationJob> retryOrFail(UUID jobId, String nodeId, String error) {
+        return ownedRunningJob(jobId, nodeId).map(job -> {
+            job.setError(error);
+            if (job.getAttempts() < properties.maxAttempts()) {
+                job.setStatus(JobStatus.PENDING);
+                job.setLockedBy(null);
+                job.setLeaseUntil(null);
+                job.setAvailableAt(LocalDateTime.now().plus(properties.retryBackoffFor(job.getAttempts())));
+            } else {
+                job.setStatus(JobStatus.FAILED);
+                release(job);
+            }
+            return job;
+        });
+    }
+
+    @Transactional
+    public void recoverAbandoned() {
+        LocalDateTime now = LocalDateTime.now();
+        int requeued = jobRepository.requeueExpired(now, properties.maxAttempts());
+        int failed = jobRepository.failExpired(now, properties.maxAttempts());
+        if (requeued + failed > 0) {
+            log.warn("Recovered abandoned generation jobs: {} requeued, {} failed", requeued, failed);
+        }
+    }
+
+    //a job whose lease expired may already be running elsewhere, then this node's result is dropped
+    private Optional<GenerationJob> ownedRunningJob(UUID jobId, String nodeId) {
+        return jobRepository.findById(jobId)
+                .filter(job -> job.getStatus() == JobStatus.RUNNING && nodeId.equals(job.getLockedBy()));
+    }
+
+    private void release(GenerationJob job) {
+        job.setLockedBy(null);
+        job.setLeaseUntil(null);
+        job.setAvailableAt(null);
+        job.setFinishedAt(LocalDateTime.now());
+    }
+
+    private String toJson(Object request) {
+        try {
+            return objectMapper.writeValueAsString(request);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize job request", e);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.ai.education.platform.job.service;
+
+import com.ai.education.platform.job.entity.GenerationJob;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+
+/*
+ * Bounded worker pool of this node: at most jobs.workers jobs run at once.
+ * Idle workers claim the next job by priority from the shared table, several nodes can poll the same queue.
+ * While a job runs its lease is renewed every heartbeat-interval, so a long job (a 365 day plan) is not taken for
+ * abandoned and run a second time elsewhere. A job whose lease was lost anyway is interrupted, its result would be dropped.
+ */
+@Component
+@Slf4j
+public class JobWorker {
+
+    private final JobService jobService;
+    private final JobRunner jobRunner;
+    private final JobNotifier jobNotifier;
+
+    private final String nodeId;
+    private final Semaphore freeWorkers;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<UUID, Future<?>> running = new ConcurrentHashMap<>();
+
+    public JobWorker(JobService jobService, JobRunner jobRunner, JobNotifier jobNotifier, JobProperties properties) {
+        this.jobService = jobService;
+        this.jobRunner = jobRunner;
+        this.jobNotifier = jobNotifier;
+        this.freeWorkers = new Semaphore(properties.workers());
+        this.nodeId = hostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @Scheduled(fixedDelayString = "${jobs.poll-interval:1s}")
+    public void poll() {
+        while (freeWorkers.tryAcquire()) {
+            Optional<GenerationJob> job;
+            try {
+                job = jobService.claimNext(nodeId);
+            } catch (RuntimeException ex) {
+                freeWorkers.release();
+                log.warn("Claiming a generation job failed: {}", ex.getMessage());
+                return;
+            }
+
+            if (job.isEmpty()) {
+                freeWorkers.release();
+                return;
+            }
+
+            UUID jobId = job.get().getId();
+            //registered before it starts, so its own finally always removes it after
+            FutureTask<Void> task = new FutureTask<>(() -> {
+                try {
+                    run(job.get());
+                } finally {
+                    running.remove(jobId);
+                    freeWorkers.release();
+                }
+            }, null);
+            running.put(jobId, task);
+            executor.execute(task);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jobs.heartbeat-interval:1m}")
+    public void renewLeases() {
+        running.forEach((jobId, task) -> {
+            try {
+                if (!jobService.renewLease(jobId, nodeId)) {
+                    log.warn("Lost the lease of generation job {}, stopping it", jobId);
+                    task.cancel(true);
+                }
+            } catch (RuntimeException ex) {
+                log.warn("Renewing the lease of generation job {} failed: {}", jobId, ex.getMessage());
+            }
+        });
+    }
+
+    //jobs whose node died (lease expired) are requeued, this is what makes jobs survive a restart
+    @Scheduled(fixedDelayString = "${jobs.recovery-interval:30s}")
+    public void recover() {
+        jobService.recoverAbandoned();
+    }
+
+    private void run(GenerationJob job) {
+        Optional<GenerationJob> finished;
+        try {
+            String result = jobRunner.run(job);
+            finished = jobService.complete(job.getId(), nodeId, result);
+        } catch (Exception ex) {
+            log.warn("Generation job {} ({}) attempt {} failed: {}", job.getId(), job.getType(), job.getAttempts(), ex.getMessage());
+            finished = jobService.retryOrFail(job.getId(), nodeId, "Generation failed, please try again");
+        }
+        finished.filter(j -> j.getStatus().isFinished()).ifPresent(jobNotifier::finished);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow(); //interrupted jobs keep their lease and are requeued by the next node
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "node";
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.ai.education.platform.learning.batch.controller;
+
+import com.ai.education.platform.auth.security.JwtUserPrincipal;
+import com.ai.education.platform.learning.batch.dto.BatchItemResult;
+import com.ai.education.platform.learning.batch.dto.BatchSummary;
+import com.ai.education.platform.learning.batch.dto.HintBatchRequest;
+import com.ai.education.platform.learning.batch.dto.QuizBatchRequest;
+import com.ai.education.platform.learning.batch.dto.RoadmapBatchRequest;
+import com.ai.education.platform.learning.batch.service.BatchExecutor;
+import com.ai.education.platform.learning.intuition.service.HintService;
+import com.ai.education.platform.learning.quiz.service.QuizService;
+import com.ai.education.platform.learning.roadmap.dto.RoadmapResponse;
+import com.ai.education.platform.learning.roadmap.service.RoadmapService;
+import com.ai.education.platform.llm.LlmFeature;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * Batch variants of the generation endpoints, streamed as SSE in completion order:
+ *   event: item  id: <index>  data: {BatchItemResult}   (one per item)
+ *   event: done             data: {BatchSummary}
+ * Not @RateLimited, every item is charged on its own inside the batch.
+ */
+@RestController
+@RequiredArgsConstructor
+public class BatchController {
+
+    private final BatchExecutor batchExecutor;
+    private final QuizService quizService;
+    private final RoadmapService roadmapService;
+    private final HintService hintService;
+
+    @PostMapping(value = "/quiz/batch", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Object>> quizBatch(
+            @AuthenticationPrincipal JwtUserPrincipal principal,
+            @RequestBody @Valid QuizBatchRequest request){
+        return toEvents(batchExecutor.execute(principal.userId(), LlmFeature.QUIZ, request.items(),
+                item -> quizService.generateQuiz(principal.userId(), item)));
+    }
+
+    @PostMapping(value = "/roadmap/batch", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Object>> roadmapBatch(
+            @AuthenticationPrincipal JwtUserPrincipal principal,
+            @RequestBody @Valid RoadmapBatchRequest request){
+        return toEvents(batchExecutor.execute(principal.userId(), LlmFeature.ROADMAP, request.items(),
+                item -> new RoadmapResponse(roadmapService.generateRoadmap(principal.userId(), item.goal(), item.level()))));
+    }
+
+    @PostMapping(value = "/intuition/hint/batch", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Object>> hintBatch(
+            @AuthenticationPrincipal JwtUserPrincipal principal,
+            @RequestBody @Valid HintBatchRequest request){
+        return toEvents(batchExecutor.execute(principal.userId(), LlmFeature.HINT, request.items(),
+                hintService::generateHint));
+    }
+
+    private Flux<ServerSentEvent<Object>> toEvents(Flux<? extends BatchItemResult<?>> results) {
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        return results
+                .map(result -> {
+                    (result.success() ? succeeded : failed).incrementAndGet();
+                    return ServerSentEvent.<Object>builder(result)
+                            .id(String.valueOf(result.index()))
+                            .event("item")
+                            .build();
+                })
+                .concatWith(Flux.defer(() -> Flux.just(ServerSentEvent.<Object>builder(
+                                new BatchSummary(succeeded.get() + failed.get(), succeeded.get(), failed.get()))
+                        .event("done")
+                        .build())));
+    }
+}
@@ -0,0 +1,22 @@
+package com.ai.education.platform.learning.batch.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+//Outcome of one batch item, index is its position in the request's items list
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchItemResult<T>(
+        int index,
+        boolean success,
+        T result,
+        String error,
+        Long retryAfterSeconds //only for busy / rate limited items, they can be resubmitted later
+) {
+
+    public static <T> BatchItemResult<T> success(int index, T result) {
+        return new BatchItemResult<>(index, true, result, null, null);
+    }
+
+    public static <T> BatchItemResult<T> failure(int index, String error, Long retryAfterSeconds) {
+        return new BatchItemResult<>(index, false, null, error, retryAfterSeconds);
+    }
+}
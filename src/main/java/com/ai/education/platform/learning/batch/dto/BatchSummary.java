@@ -0,0 +1,8 @@
+package com.ai.education.platform.learning.batch.dto;
+
+public record BatchSummary(
+        int total,
+        int succeeded,
+        int failed
+) {
+}
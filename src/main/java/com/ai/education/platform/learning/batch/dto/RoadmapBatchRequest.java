@@ -0,0 +1,15 @@
+package com.ai.education.platform.learning.batch.dto;
+
+import com.ai.education.platform.learning.roadmap.dto.RoadmapRequest;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record RoadmapBatchRequest(
+        @NotEmpty(message = "At least one item is required")
+        @Size(max = 50, message = "Maximum 50 items per batch")
+        List<@Valid RoadmapRequest> items
+) {
+}
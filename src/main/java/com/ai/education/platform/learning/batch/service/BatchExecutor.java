@@ -0,0 +1,78 @@
+package com.ai.education.platform.learning.batch.service;
+
+import com.ai.education.platform.learning.batch.dto.BatchItemResult;
+import com.ai.education.platform.llm.BulkheadProperties;
+import com.ai.education.platform.llm.LlmBusyException;
+import com.ai.education.platform.llm.LlmFeature;
+import com.ai.education.platform.ratelimit.RateLimitExceededException;
+import com.ai.education.platform.ratelimit.UserRateLimiter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/*
+ * Runs the items of a batch concurrently (at most batch.parallelism at a time per batch) and emits
+ * every item's result as soon as it completes, so the order is completion order, not request order.
+ * Each item is charged against the user's rate limit and fails on its own, one bad item never fails the batch.
+ * Items block on virtual threads, so the only app-wide cap is the feature's LLM bulkhead (not a thread pool),
+ * and a batch never runs more items at once than the bulkhead admits (the rest would only queue there and time out).
+ */
+@Service
+@Slf4j
+public class BatchExecutor {
+
+    private final UserRateLimiter rateLimiter;
+    private final BulkheadProperties bulkhead;
+    private final int parallelism;
+    private final Scheduler workers = Schedulers.fromExecutorService(Executors.newVirtualThreadPerTaskExecutor(), "batch-items");
+
+    public BatchExecutor(
+            UserRateLimiter rateLimiter,
+            BulkheadProperties bulkhead,
+            @Value("${batch.parallelism:4}") int parallelism
+    ) {
+        this.rateLimiter = rateLimiter;
+        this.bulkhead = bulkhead;
+        this.parallelism = parallelism;
+    }
+
+    public <T, R> Flux<BatchItemResult<R>> execute(UUID userId, LlmFeature feature, List<T> items, Function<T, R> task) {
+        return Flux.range(0, items.size())
+                .flatMap(index -> Mono.fromCallable(() -> {
+                                    rateLimiter.acquire(userId, feature);
+                                    return task.apply(items.get(index));
+                                })
+                                .subscribeOn(workers)
+                                .map(result -> BatchItemResult.success(index, result))
+                                .onErrorResume(ex -> Mono.just(failure(feature, index, ex))),
+                        Math.max(1, Math.min(parallelism, bulkhead.limitFor(feature).maxConcurrent())));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.dispose();
+    }
+
+    private <R> BatchItemResult<R> failure(LlmFeature feature, int index, Throwable ex) {
+        return switch (ex) {
+            case RateLimitExceededException limited ->
+                    BatchItemResult.failure(index, limited.getMessage(), limited.getRetryAfter().toSeconds() + 1);
+            case LlmBusyException busy ->
+                    BatchItemResult.failure(index, busy.getMessage(), Math.max(1, busy.getRetryAfter().toSeconds()));
+            default -> {
+                log.warn("Batch {} item {} failed: {}", feature.tag(), index, ex.getMessage());
+                yield BatchItemResult.failure(index, "Generation failed", null);
+            }
+        };
+    }
+}
@@ -0,0 +1,312 @@
+package com.ai.education.platform.learning.common;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+ * In-process near-duplicate lookup for free text goals / topics, MinHash + LSH banding, no embeddings or network:
+ *  1: text -> normalized words, filler words ("learn", "roadmap", "dev", ...) dropped, sorted -> character 3-grams
+ *  2: 3-grams -> MinHash signature of HASHES ints, the share of equal slots estimates the Jaccard similarity
+ *  3: the signature is cut into BANDS bands of ROWS, entries sharing a band (in the same partition) are candidates,
+ *     candidates are checked against the threshold with the full signature
+ *  4: a candidate above the threshold must also have a counterpart for every content word, the same word or a
+ *     misspelling of it (3-gram similarity >= WORD_MATCH), both ways: long shared words ("microservices projects")
+ *     would otherwise outweigh a short different one ("php" vs "cobol")
+ * So "learn java backend", "Learn Java Backend development" and "java backend dev roadmap" are the same entry,
+ * "java backend" and "python backend" are not.
+ * Memory is bounded by maxEntries (oldest entry evicted first, ~2 KB each incl. the band buckets and words), a lookup hashes a few
+ * dozen 3-grams and compares a handful of candidates -> a few microseconds.
+ */
+public final class NearDuplicateIndex<P, V> {
+
+    private static final int HASHES = 64;
+    private static final int BANDS = 16;
+    private static final int ROWS = HASHES / BANDS; //16 x 4 -> candidates from ~0.5 similarity, ~100% recall at 0.8
+    private static final int SHINGLE = 3;
+    private static final int MAX_BUCKET = 16; //keeps lookups bounded when many similar texts collide, oldest drops out
+    private static final double WORD_MATCH = 0.5; //"kubernets" ~ "kubernetes" (0.58), "java" !~ "javascript"
+
+    private static final long[] SEEDS = new SplittableRandom(0x5EEDL).longs(HASHES).toArray();
+
+    //words that say what the user wants, not what about, "java backend developer roadmap" is about "java backend"
+    private static final Set<String> FILLER = Set.of(
+            "a", "an", "the", "to", "for", "of", "in", "on", "and", "with", "how", "i", "want", "my", "me",
+            "learn", "learning", "study", "master", "mastering", "become", "becoming", "get", "started", "start",
+            "roadmap", "plan", "path", "guide", "course", "tutorial", "basics", "complete",
+            "dev", "development", "developer", "engineer", "engineering"
+    );
+
+    private final int maxEntries;
+    private final double threshold;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<BandKey, List<Entry<P, V>>> buckets = new HashMap<>();
+    private final Map<V, Entry<P, V>> entries = new HashMap<>();
+    private final ArrayDeque<Entry<P, V>> insertionOrder = new ArrayDeque<>();
+
+    public NearDuplicateIndex(int maxEntries, double threshold) {
+        if (maxEntries <= 0 || threshold <= 0 || threshold > 1) {
+            throw new IllegalArgumentException("maxEntries must be > 0 and threshold in (0, 1]");
+        }
+        this.maxEntries = maxEntries;
+        this.threshold = threshold;
+    }
+
+    //most similar entry of the partition at or above the threshold
+    public Optional<Match<V>> find(P partition, String text) {
+        String[] words = words(text);
+        if (words.length == 0) {
+            return Optional.empty();
+        }
+        int[] signature = signature(words);
+
+        lock.readLock().lock();
+        try {
+            Entry<P, V> best = null;
+            double bestSimilarity = 0;
+            Set<Entry<P, V>> seen = new HashSet<>();
+
+            for (int band = 0; band < BANDS; band++) {
+                List<Entry<P, V>> bucket = buckets.get(new BandKey(partition, band, bandHash(signature, band)));
+                if (bucket == null) {
+                    continue;
+                }
+                for (Entry<P, V> candidate : bucket) {
+                    if (seen.add(candidate)) {
+                        double similarity = similarity(signature, candidate.signature());
+                        if (similarity > bestSimilarity && similarity >= threshold
+                                && sameWords(words, candidate.words()) && sameWords(candidate.words(), words)) {
+                            best = candidate;
+                            bestSimilarity = similarity;
+                        }
+                    }
+                }
+            }
+            return best != null
+                    ? Optional.of(new Match<>(best.value(), bestSimilarity))
+                    : Optional.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    //re-adding a value replaces its old entry, texts made only of filler words are not indexed
+    public void add(P partition, String text, V value) {
+        String[] words = words(text);
+        if (words.length == 0) {
+            return;
+        }
+        int[] signature = signature(words);
+
+        lock.writeLock().lock();
+        try {
+            unlink(entries.remove(value));
+
+            Entry<P, V> entry = new Entry<>(partition, words, signature, value);
+            entries.put(value, entry);
+            insertionOrder.addLast(entry);
+            for (int band = 0; band < BANDS; band++) {
+                List<Entry<P, V>> bucket = buckets.computeIfAbsent(
+                        new BandKey(partition, band, bandHash(signature, band)), k -> new ArrayList<>(2));
+                if (bucket.size() == MAX_BUCKET) {
+                    bucket.removeFirst();
+                }
+                bucket.add(entry);
+            }
+
+            while (entries.size() > maxEntries) {
+                Entry<P, V> oldest = insertionOrder.pollFirst();
+                if (entries.get(oldest.value()) == oldest) {
+                    entries.remove(oldest.value());
+                    unlink(oldest);
+                }
+            }
+            //replaced entries stay in the deque until they come up, don't let them pile up
+            if (insertionOrder.size() > 2 * maxEntries) {
+                insertionOrder.removeIf(e -> entries.get(e.value()) != e);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(V value) {
+        lock.writeLock().lock();
+        try {
+            unlink(entries.remove(value));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            buckets.clear();
+            entries.clear();
+            insertionOrder.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void unlink(Entry<P, V> entry) {
+        if (entry == null) {
+            return;
+        }
+        for (int band = 0; band < BANDS; band++) {
+            BandKey key = new BandKey(entry.partition(), band, bandHash(entry.signature(), band));
+            List<Entry<P, V>> bucket = buckets.get(key);
+            if (bucket != null) {
+                bucket.remove(entry);
+                if (bucket.isEmpty()) {
+                    buckets.remove(key);
+                }
+            }
+        }
+    }
+
+    static int[] signature(String[] words) {
+        int[] signature = new int[HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (String shingle : shingles(words)) {
+            long hash = shingle.hashCode();
+            for (int i = 0; i < HASHES; i++) {
+                int h = (int) mix(hash ^ SEEDS[i]);
+                if (h < signature[i]) {
+                    signature[i] = h;
+                }
+            }
+        }
+        return signature;
+    }
+
+    //sorted content words, so word order and filler don't matter
+    static String[] words(String text) {
+        Set<String> words = new TreeSet<>();
+        for (String word : TextNormalizer.normalize(text).split("[^\\p{L}\\p{N}+#]+")) {
+            if (!word.isEmpty() && !FILLER.contains(word)) {
+                words.add(word);
+            }
+        }
+        return words.toArray(String[]::new);
+    }
+
+    //3-grams per word so "react" != "reactive" entirely
+    static Set<String> shingles(String... words) {
+        Set<String> shingles = new LinkedHashSet<>();
+        for (String word : words) {
+            String padded = " " + word + " ";
+            for (int i = 0; i + SHINGLE <= padded.length(); i++) {
+                shingles.add(padded.substring(i, i + SHINGLE));
+            }
+        }
+        return shingles;
+    }
+
+    //every word of a has a counterpart in b (only runs for the few candidates above the threshold)
+    private static boolean sameWords(String[] a, String[] b) {
+        for (String word : a) {
+            boolean matched = false;
+            for (int i = 0; i < b.length && !matched; i++) {
+                matched = word.equals(b[i]) || wordSimilarity(word, b[i]) >= WORD_MATCH;
+            }
+            if (!matched) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static double wordSimilarity(String a, String b) {
+        Set<String> shinglesA = shingles(a);
+        Set<String> shinglesB = shingles(b);
+        int union = shinglesA.size() + shinglesB.size();
+        shinglesA.retainAll(shinglesB);
+        union -= shinglesA.size();
+        return union == 0 ? 0 : (double) shinglesA.size() / union;
+    }
+
+    private static double similarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < HASHES; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / HASHES;
+    }
+
+    private static long bandHash(int[] signature, int band) {
+        long hash = 1;
+        for (int row = band * ROWS; row < (band + 1) * ROWS; row++) {
+            hash = hash * 31 + signature[row];
+        }
+        return mix(hash);
+    }
+
+    //splitmix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    public record Match<V>(V value, double similarity) {
+    }
+
+    private record BandKey(Object partition, int band, long hash) {
+    }
+
+    //identity equality on purpose, the same value can only have one live entry
+    private static final class Entry<P, V> {
+        private final P partition;
+        private final String[] words;
+        private final int[] signature;
+        private final V value;
+
+        Entry(P partition, String[] words, int[] signature, V value) {
+            this.partition = partition;
+            this.words = words;
+            this.signature = signature;
+            this.value = value;
+        }
+
+        P partition() {
+            return partition;
+        }
+
+        String[] words() {
+            return words;
+        }
+
+        int[] signature() {
+            return signature;
+        }
+
+        V value() {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.ai.education.platform.learning.common;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/*
+ * Serves stored generated markdown (roadmap / plan history) straight from its gzip column:
+ *  - strong ETag = sha-256 of the markdown, the gzip representation gets a "-gz" suffix (other bytes, other tag)
+ *  - If-None-Match with either tag -> 304, the body is never read
+ *  - Accept-Encoding with gzip -> the stored bytes as they are + Content-Encoding: gzip, nothing is compressed per request
+ *  - otherwise the body is decompressed for the response
+ * Bodies are revalidated on every visit (no-cache), which is a 304 of a few hundred bytes when nothing changed.
+ */
+public final class StoredMarkdown {
+
+    public static final MediaType MARKDOWN = new MediaType("text", "markdown", StandardCharsets.UTF_8);
+
+    private static final String GZIP = "gzip";
+
+    private StoredMarkdown() {
+    }
+
+    //hex sha-256 of the markdown, stored next to the body when it's written
+    public static String hash(String markdown) {
+        return Sha256.hex(markdown);
+    }
+
+    public static ResponseEntity<byte[]> respond(
+            String contentHash,
+            String ifNoneMatch,
+            String acceptEncoding,
+            Supplier<Optional<byte[]>> gzipBody
+    ) {
+        boolean gzip = acceptsGzip(acceptEncoding);
+        String etag = "\"" + contentHash + (gzip ? "-gz" : "") + "\"";
+
+        if (matches(ifNoneMatch, contentHash)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        Optional<byte[]> body = gzipBody.get();
+        if (body.isEmpty()) {
+            return ResponseEntity.notFound().build(); //deleted between the hash lookup and this read
+        }
+        byte[] stored = body.get();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MARKDOWN)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, GZIP).body(stored);
+        }
+        return response.body(Gzip.decompress(stored).getBytes(StandardCharsets.UTF_8));
+    }
+
+    //"gzip, deflate, br" / "gzip;q=0.8" / "*" -> true, "gzip;q=0" / "identity" / missing -> false
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        boolean wildcard = false;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].strip().toLowerCase(Locale.ROOT);
+            boolean allowed = parts.length < 2 || !isZeroQuality(parts[1]);
+            if (name.equals(GZIP) || name.equals("x-gzip")) {
+                return allowed;
+            }
+            if (name.equals("*")) {
+                wildcard = allowed;
+            }
+        }
+        return wildcard;
+    }
+
+    //weak comparison, as If-None-Match requires: W/"x" matches "x", and both representations share the hash
+    static boolean matches(String ifNoneMatch, String contentHash) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            String value = tag.strip();
+            if (value.equals("*")) {
+                return true;
+            }
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            value = value.replace("\"", "");
+            if (value.equals(contentHash) || value.equals(contentHash + "-gz")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isZeroQuality(String parameter) {
+        String p = parameter.strip().toLowerCase(Locale.ROOT);
+        if (!p.startsWith("q=")) {
+            return false;
+        }
+        try {
+            return Double.parseDouble(p.substring(2)) == 0;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.ai.education.platform.learning.common;
+
+import java.util.Locale;
+
+public final class TextNormalizer {
+
+    private TextNormalizer() {
+    }
+
+    //"  Java Backend! " and "java   backend" -> "java backend", used for cache / bank keys of free text goals & topics
+    public static String normalize(String text) {
+        return text.strip()
+                .toLowerCase(Locale.ROOT)
+                .replaceAll("\\s+", " ")
+                .replaceAll("[.!?]+$", "");
+    }
+}
@@ -1,14 +1,34 @@
 package com.ai.education.platform.learning.dailyplan.goal.controller;
 
+import com.ai.education.platform.auth.security.JwtUserPrincipal;
+import com.ai.education.platform.learning.common.StoredMarkdown;
+import com.ai.education.platform.learning.dailyplan.goal.dto.DailyPlanHistoryPage;
 import com.ai.education.platform.learning.dailyplan.goal.dto.DailyPlanRequest;
 import com.ai.education.platform.learning.dailyplan.goal.dto.DailyPlanResponse;
+import com.ai.education.platform.learning.dailyplan.goal.service.DailyPlanHistoryService;
 import com.ai.education.platform.learning.dailyplan.goal.service.DailyPlanService;
+import com.ai.education.platform.learning.stream.SseStreams;
+import com.ai.education.platform.learning.stream.StreamChunk;
+import com.ai.education.platform.llm.LlmFeature;
+import com.ai.education.platform.ratelimit.RateLimited;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/daily-plan")
@@ -16,14 +36,53 @@ import org.springframework.web.bind.annotation.RestController;
 public class DailyPlanController {
 
     private final DailyPlanService service;
+    private final DailyPlanHistoryService historyService;
 
+    //at most daily-plan.max-interactive-days here and on /stream (422 beyond), longer plans go through /daily-plan/jobs
     @PostMapping
+    @RateLimited(LlmFeature.DAILY_PLAN)
     public DailyPlanResponse generate(
+            @AuthenticationPrincipal JwtUserPrincipal principal,
             @Valid @RequestBody DailyPlanRequest request
     ) {
+        service.requireInteractiveLength(request);
         return new DailyPlanResponse(
-                service.generatePlan(request)
+                service.generatePlan(principal.userId(), request)
         );
     }
 
+    @PostMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @RateLimited(LlmFeature.DAILY_PLAN)
+    public Flux<ServerSentEvent<StreamChunk>> stream(
+            @AuthenticationPrincipal JwtUserPrincipal principal,
+            @Valid @RequestBody DailyPlanRequest request
+    ) {
+        service.requireInteractiveLength(request);
+        return SseStreams.markdown(service.streamPlan(principal.userId(), request), "daily-plan");
+    }
+
+    //newest first, pass the returned nextCursor to get the next page
+    @GetMapping("/history")
+    public DailyPlanHistoryPage history(
+            @AuthenticationPrincipal JwtUserPrincipal principal,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return historyService.page(principal.userId(), cursor, size);
+    }
+
+    //raw markdown with a strong ETag, If-None-Match -> 304, Accept-Encoding: gzip -> stored gzip bytes as they are
+    @GetMapping("/history/{id}/content")
+    public ResponseEntity<byte[]> historyContent(
+            @AuthenticationPrincipal JwtUserPrincipal principal,
+            @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        return historyService.contentHash(principal.userId(), id)
+                .map(hash -> StoredMarkdown.respond(hash, ifNoneMatch, acceptEncoding,
+                        () -> historyService.compressedContent(principal.userId(), id)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
 }
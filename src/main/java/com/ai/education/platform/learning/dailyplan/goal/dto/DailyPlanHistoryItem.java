@@ -0,0 +1,18 @@
+package com.ai.education.platform.learning.dailyplan.goal.dto;
+
+import com.ai.education.platform.learning.enums.LearningLevel;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+//One row of the history list, no body (that's GET /daily-plan/history/{id}/content)
+public record DailyPlanHistoryItem(
+        UUID id,
+        String goal,
+        LearningLevel level,
+        int days,
+        int dailyHours,
+        int contentSize,
+        LocalDateTime createdAt
+) {
+}
@@ -0,0 +1,10 @@
+package com.ai.education.platform.learning.dailyplan.goal.dto;
+
+import java.util.List;
+
+//nextCursor is null on the last page, otherwise pass it as ?cursor= to get the next (older) page
+public record DailyPlanHistoryPage(
+        List<DailyPlanHistoryItem> items,
+        String nextCursor
+) {
+}
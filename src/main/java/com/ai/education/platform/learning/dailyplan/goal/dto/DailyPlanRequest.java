@@ -1,6 +1,7 @@
 package com.ai.education.platform.learning.dailyplan.goal.dto;
 
 import com.ai.education.platform.learning.enums.LearningLevel;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -8,8 +9,8 @@ import jakarta.validation.constraints.NotNull;
 public record DailyPlanRequest(
         @NotBlank String goal,
         @NotNull LearningLevel level,
-        @Min(1) int days,
-        @Min(1) int dailyHours
+        @Min(1) @Max(365) int days,
+        @Min(1) @Max(16) int dailyHours
 
         ) {
 }
@@ -0,0 +1,59 @@
+package com.ai.education.platform.learning.dailyplan.goal.entity;
+
+import com.ai.education.platform.learning.enums.LearningLevel;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+//Every plan a user generated (also cache hits), body stored gzip compressed like roadmap_history
+@Entity
+@Table(name = "daily_plan_history",
+        indexes = {
+                @Index(name = "idx_daily_plan_history_user_created", columnList = "userId, createdAt, id")
+        }
+)
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class DailyPlanHistory {
+
+    @Id
+    @GeneratedValue
+    private UUID id;
+
+    @Column(nullable = false)
+    private UUID userId;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String goal;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private LearningLevel level;
+
+    @Column(nullable = false)
+    private int days;
+
+    @Column(nullable = false)
+    private int dailyHours;
+
+    @Column(nullable = false)
+    private int contentSize;
+
+    //sha-256 of the markdown, strong ETag of /daily-plan/history/{id}/content
+    @Column(nullable = false, length = 64)
+    private String contentHash;
+
+    //gzip of the markdown (see Gzip), served as stored to clients accepting gzip.
+    //Always fetched with the entity, which is why DailyPlanHistoryRepository reads everything through projections
+    @Column(nullable = false, columnDefinition = "bytea")
+    private byte[] content;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,44 @@
+package com.ai.education.platform.learning.dailyplan.goal.repository;
+
+import com.ai.education.platform.learning.dailyplan.goal.dto.DailyPlanHistoryItem;
+import com.ai.education.platform.learning.dailyplan.goal.entity.DailyPlanHistory;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface DailyPlanHistoryRepository extends JpaRepository<DailyPlanHistory, UUID> {
+
+    @Query("""
+            select new com.ai.education.platform.learning.dailyplan.goal.dto.DailyPlanHistoryItem(
+                p.id, p.goal, p.level, p.days, p.dailyHours, p.contentSize, p.createdAt)
+            from DailyPlanHistory p
+            where p.userId = :userId
+            order by p.createdAt desc, p.id desc
+            """)
+    List<DailyPlanHistoryItem> findFirstPage(UUID userId, Limit limit);
+
+    //same keyset as RoadmapHistoryRepository.findPageAfter, createdAt <= is the index range
+    @Query("""
+            select new com.ai.education.platform.learning.dailyplan.goal.dto.DailyPlanHistoryItem(
+                p.id, p.goal, p.level, p.days, p.dailyHours, p.contentSize, p.createdAt)
+            from DailyPlanHistory p
+            where p.userId = :userId
+              and p.createdAt <= :createdAt
+              and (p.createdAt < :createdAt or p.id < :id)
+            order by p.createdAt desc, p.id desc
+            """)
+    List<DailyPlanHistoryItem> findPageAfter(UUID userId, LocalDateTime createdAt, UUID id, Limit limit);
+
+    @Query("select p.contentHash from DailyPlanHistory p where p.id = :id and p.userId = :userId")
+    Optional<String> findContentHash(UUID id, UUID userId);
+
+    @Query("select p.content from DailyPlanHistory p where p.id = :id and p.userId = :userId")
+    Optional<byte[]> findContent(UUID id, UUID userId);
+}
@@ -0,0 +1,89 @@
+package com.ai.education.platform.learning.dailyplan.goal.service;
+
+import com.ai.education.platform.learning.common.NearDuplicateIndex;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/*
+ * In-memory cache of generated plans (Caffeine, size + TTL), exact key first, then a near-duplicate goal
+ * with the same level / days / daily hours (see NearDuplicateIndex), which is aliased under the new key.
+ */
+@Component
+@Slf4j
+public class DailyPlanCache {
+
+    private final Cache<DailyPlanCacheKey, String> memory;
+    private final NearDuplicateIndex<DailyPlanCacheKey.Shape, DailyPlanCacheKey> similarGoals;
+    private final boolean similarityEnabled;
+
+    private final Counter similarHits;
+    private final Counter similarMisses;
+
+    public DailyPlanCache(
+            MeterRegistry meterRegistry,
+            @Value("${daily-plan.cache.max-size:1000}") long maxSize,
+            @Value("${daily-plan.cache.ttl:6h}") Duration ttl,
+            @Value("${daily-plan.cache.similarity.enabled:true}") boolean similarityEnabled,
+            @Value("${daily-plan.cache.similarity.threshold:0.8}") double similarityThreshold
+    ) {
+        this.memory = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        //the index never holds more keys than the cache itself
+        this.similarGoals = new NearDuplicateIndex<>((int) Math.min(maxSize, Integer.MAX_VALUE), similarityThreshold);
+        this.similarityEnabled = similarityEnabled;
+
+        CaffeineCacheMetrics.monitor(meterRegistry, memory, "daily-plans");
+        this.similarHits = Counter.builder("daily-plan.cache.similar")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.similarMisses = Counter.builder("daily-plan.cache.similar")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    public Optional<String> get(DailyPlanCacheKey key) {
+        return Optional.ofNullable(memory.getIfPresent(key));
+    }
+
+    //only after an exact miss
+    public Optional<String> getSimilar(DailyPlanCacheKey key) {
+        if (!similarityEnabled) {
+            return Optional.empty();
+        }
+
+        Optional<NearDuplicateIndex.Match<DailyPlanCacheKey>> match = similarGoals.find(key.shape(), key.goal())
+                .filter(m -> !m.value().equals(key));
+        //asMap() so the exact-key hit & miss counters stay comparable
+        Optional<String> similar = match.map(m -> memory.asMap().get(m.value()));
+        if (similar.isEmpty()) {
+            match.ifPresent(m -> similarGoals.remove(m.value())); //evicted / expired since
+            similarMisses.increment();
+            return Optional.empty();
+        }
+
+        similarHits.increment();
+        log.debug("Plan for '{}' served from similar goal '{}' ({})", key.goal(), match.get().value().goal(), match.get().similarity());
+        memory.put(key, similar.get());
+        return similar;
+    }
+
+    public void put(DailyPlanCacheKey key, String plan) {
+        if (plan == null || plan.isBlank()) {
+            return;
+        }
+        memory.put(key, plan);
+        similarGoals.add(key.shape(), key.goal(), key);
+    }
+}
@@ -0,0 +1,23 @@
+package com.ai.education.platform.learning.dailyplan.goal.service;
+
+import com.ai.education.platform.learning.common.TextNormalizer;
+import com.ai.education.platform.learning.dailyplan.goal.dto.DailyPlanRequest;
+import com.ai.education.platform.learning.enums.LearningLevel;
+
+//Cache key for generated plans, a plan only fits requests with the same level, length and daily hours
+public record DailyPlanCacheKey(
+        String goal,
+        Shape shape
+) {
+
+    public static DailyPlanCacheKey of(DailyPlanRequest request) {
+        return new DailyPlanCacheKey(
+                TextNormalizer.normalize(request.goal()),
+                new Shape(request.level(), request.days(), request.dailyHours())
+        );
+    }
+
+    //partition of the near-duplicate index, only the goal text may differ
+    public record Shape(LearningLevel level, int days, int dailyHours) {
+    }
+}
@@ -0,0 +1,77 @@
+package com.ai.education.platform.learning.dailyplan.goal.service;
+
+import com.ai.education.platform.learning.common.Gzip;
+import com.ai.education.platform.learning.common.HistoryCursor;
+import com.ai.education.platform.learning.common.StoredMarkdown;
+import com.ai.education.platform.learning.dailyplan.goal.dto.DailyPlanHistoryItem;
+import com.ai.education.platform.learning.dailyplan.goal.dto.DailyPlanHistoryPage;
+import com.ai.education.platform.learning.dailyplan.goal.dto.DailyPlanRequest;
+import com.ai.education.platform.learning.dailyplan.goal.entity.DailyPlanHistory;
+import com.ai.education.platform.learning.dailyplan.goal.repository.DailyPlanHistoryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+//Per user plan history, same storage as the roadmap history: gzip body + content hash, keyset pages without bodies
+@Service
+@RequiredArgsConstructor
+public class DailyPlanHistoryService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final DailyPlanHistoryRepository historyRepository;
+
+    public void record(UUID userId, DailyPlanRequest request, String plan) {
+        if (userId == null || plan == null || plan.isBlank()) {
+            return;
+        }
+
+        historyRepository.save(DailyPlanHistory.builder()
+                .userId(userId)
+                .goal(request.goal())
+                .level(request.level())
+                .days(request.days())
+                .dailyHours(request.dailyHours())
+                .contentSize(plan.getBytes(StandardCharsets.UTF_8).length)
+                .contentHash(StoredMarkdown.hash(plan))
+                .content(Gzip.compress(plan))
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    //newest first, cursor = last item of the previous page
+    public DailyPlanHistoryPage page(UUID userId, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(MAX_PAGE_SIZE, size));
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<DailyPlanHistoryItem> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = historyRepository.findFirstPage(userId, limit);
+        } else {
+            HistoryCursor position = HistoryCursor.decode(cursor);
+            rows = historyRepository.findPageAfter(userId, position.createdAt(), position.id(), limit);
+        }
+
+        if (rows.size() <= pageSize) {
+            return new DailyPlanHistoryPage(rows, null);
+        }
+        List<DailyPlanHistoryItem> items = rows.subList(0, pageSize);
+        DailyPlanHistoryItem last = items.getLast();
+        return new DailyPlanHistoryPage(List.copyOf(items), new HistoryCursor(last.createdAt(), last.id()).encode());
+    }
+
+    public Optional<String> contentHash(UUID userId, UUID id) {
+        return historyRepository.findContentHash(id, userId);
+    }
+
+    //gzip bytes exactly as stored
+    public Optional<byte[]> compressedContent(UUID userId, UUID id) {
+        return historyRepository.findContent(id, userId);
+    }
+}
@@ -1,29 +1,273 @@
 package com.ai.education.platform.learning.dailyplan.goal.service;
 
 import com.ai.education.platform.learning.dailyplan.goal.dto.DailyPlanRequest;
-import lombok.RequiredArgsConstructor;
-import org.springframework.ai.chat.client.ChatClient;
+import com.ai.education.platform.llm.LlmClient;
+import com.ai.education.platform.llm.LlmCompletion;
+import com.ai.education.platform.llm.LlmFeature;
+import com.ai.education.platform.llm.LlmMetrics;
+import com.ai.education.platform.llm.LlmRequest;
+import com.ai.education.platform.llm.TokenBudget;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/*
+ * Short plans are one LLM call. Long plans (more than segment-days) are split into week sized segments:
+ *  1: one short outline call -> a one line summary per segment
+ *  2: segments are generated max-parallel-segments at a time, each prompt carries its own focus + the summary
+ *     of the previous segment
+ *  3: segments are stitched (or streamed) back in day order
+ * so wall clock time is the outline + ceil(segments / max-parallel-segments) rounds of segment calls instead of one
+ * huge completion. That still grows with the plan, so POST /daily-plan and /stream take at most max-interactive-days
+ * (2 rounds with the defaults, well inside the 2m request timeout), longer plans go through POST /daily-plan/jobs.
+ * Finished plans are cached (DailyPlanCache), a repeated or near-duplicate goal with the same shape skips the LLM.
+ */
 @Service
-@RequiredArgsConstructor
 public class DailyPlanService {
 
-    private final ChatClient chatClient;
+    private static final Pattern OUTLINE_LINE = Pattern.compile("^\\s*(\\d{1,3})[.)]\\s*(.+)$");
+    private static final String SEGMENT_SEPARATOR = "\n\n";
+
+    private final LlmClient llmClient;
     private final DailyPlanPromptBuilder promptBuilder;
+    private final DailyPlanCache planCache;
+    private final DailyPlanHistoryService historyService;
+    private final LlmMetrics metrics;
+    private final TokenBudget budget;
+    private final int segmentDays;
+    private final int maxParallelSegments;
+    private final int maxInteractiveDays;
+
+    public DailyPlanService(
+            LlmClient llmClient,
+            DailyPlanPromptBuilder promptBuilder,
+            DailyPlanCache planCache,
+            DailyPlanHistoryService historyService,
+            LlmMetrics metrics,
+            TokenBudget budget,
+            @Value("${daily-plan.segment-days:7}") int segmentDays,
+            @Value("${daily-plan.max-parallel-segments:4}") int maxParallelSegments,
+            @Value("${daily-plan.max-interactive-days:56}") int maxInteractiveDays
+    ) {
+        this.llmClient = llmClient;
+        this.promptBuilder = promptBuilder;
+        this.planCache = planCache;
+        this.historyService = historyService;
+        this.metrics = metrics;
+        this.budget = budget;
+        this.segmentDays = segmentDays;
+        this.maxParallelSegments = maxParallelSegments;
+        this.maxInteractiveDays = maxInteractiveDays;
+    }
+
+    //for the request / response and SSE endpoints, the jobs API takes plans of any valid length
+    public void requireInteractiveLength(DailyPlanRequest request) {
+        if (request.days() > maxInteractiveDays) {
+            throw new DailyPlanTooLongException(maxInteractiveDays);
+        }
+    }
 
     public String generatePlan(DailyPlanRequest request){
 
+        DailyPlanCacheKey key = DailyPlanCacheKey.of(request);
+        return planCache.get(key).or(() -> planCache.getSimilar(key)).orElseGet(() -> {
+            LlmCompletion plan = generate(request);
+            //a plan (or segment) cut off at its token budget is served to this caller only, never cached
+            if (!plan.truncated()) {
+                planCache.put(key, plan.text());
+            }
+            return plan.text();
+        });
+    }
+
+    //same as above, plus the plan lands in the user's history
+    public String generatePlan(UUID userId, DailyPlanRequest request){
+        String plan = generatePlan(request);
+        historyService.record(userId, request, plan);
+        return plan;
+    }
+
+    public Flux<String> streamPlan(UUID userId, DailyPlanRequest request){
+
+        DailyPlanCacheKey key = DailyPlanCacheKey.of(request);
+        Optional<String> cached = planCache.get(key).or(() -> planCache.getSimilar(key));
+        if (cached.isPresent()) {
+            return Flux.just(cached.get())
+                    .concatWith(Mono.fromRunnable(() -> historyService.record(userId, request, cached.get()))
+                            .subscribeOn(Schedulers.boundedElastic())
+                            .then(Mono.empty()));
+        }
+
+        //only a fully streamed plan is cached / recorded, not one cut off by an error or a client disconnect,
+        //one cut off by its token budget is recorded but not cached
+        StringBuilder plan = new StringBuilder();
+        AtomicBoolean truncated = new AtomicBoolean();
+        return stream(request)
+                .doOnNext(chunk -> truncated.compareAndSet(false, chunk.truncated()))
+                .mapNotNull(LlmCompletion::text)
+                .doOnNext(plan::append)
+                .concatWith(Mono.fromRunnable(() -> {
+                            if (!truncated.get()) {
+                                planCache.put(key, plan.toString());
+                            }
+                            historyService.record(userId, request, plan.toString());
+                        })
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .then(Mono.empty()));
+    }
+
+    private LlmCompletion generate(DailyPlanRequest request){
+
+        if (request.days() <= segmentDays) {
+            return llmClient.complete(buildRequest(request));
+        }
+
+        List<DaySegment> segments = DaySegment.split(request.days(), segmentDays);
+        Map<Integer, String> outline = outline(request, segments);
+
+        //one virtual thread per segment, at most max-parallel-segments of them in an LLM call at a time
+        Semaphore parallel = new Semaphore(maxParallelSegments);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<LlmCompletion>> futures = segments.stream()
+                    .map(segment -> executor.submit(() -> {
+                        parallel.acquire();
+                        try {
+                            return llmClient.complete(segmentRequest(request, segment, outline));
+                        } finally {
+                            parallel.release();
+                        }
+                    }))
+                    .toList();
+
+            List<LlmCompletion> parts = new ArrayList<>(futures.size());
+            for (Future<LlmCompletion> future : futures) {
+                parts.add(await(future, executor));
+            }
+            return new LlmCompletion(
+                    parts.stream().map(LlmCompletion::text).collect(Collectors.joining(SEGMENT_SEPARATOR)),
+                    parts.stream().anyMatch(LlmCompletion::truncated));
+        }
+    }
+
+    //the first failed segment fails the plan, the others are interrupted instead of finishing for nothing
+    private static LlmCompletion await(Future<LlmCompletion> future, ExecutorService executor) {
+        try {
+            return future.get();
+        } catch (ExecutionException ex) {
+            executor.shutdownNow();
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (InterruptedException ex) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while generating the plan segments", ex);
+        }
+    }
+
+    private Flux<LlmCompletion> stream(DailyPlanRequest request){
+
+        if (request.days() <= segmentDays) {
+            return llmClient.streamCompletion(buildRequest(request));
+        }
+
+        List<DaySegment> segments = DaySegment.split(request.days(), segmentDays);
+
+        //segments run concurrently, mergeSequential buffers later ones so the client still reads day 1 first,
+        //the separator goes between segments (in front of all but the first), same text as the joined sync plan
+        return Mono.fromCallable(() -> outline(request, segments))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapMany(outline -> Flux.mergeSequential(
+                        Flux.fromIterable(segments)
+                                .map(segment -> {
+                                    Flux<LlmCompletion> part = llmClient.streamCompletion(segmentRequest(request, segment, outline));
+                                    return segment.index() == 0
+                                            ? part
+                                            : Flux.just(new LlmCompletion(SEGMENT_SEPARATOR, false)).concatWith(part);
+                                }),
+                        maxParallelSegments,
+                        32));
+    }
+
+    private LlmRequest buildRequest(DailyPlanRequest request) {
         String prompt = promptBuilder.build(
                 request.goal(),
                 request.level(),
                 request.days(),
                 request.dailyHours()
         );
+        return budget.limit(LlmRequest.of(LlmFeature.DAILY_PLAN, request.level(), prompt),
+                budget.dailyPlan(request.days(), request.dailyHours()));
+    }
+
+    //segment index -> one line summary, segments the model skipped just get a generic focus
+    private Map<Integer, String> outline(DailyPlanRequest request, List<DaySegment> segments) {
+        String prompt = promptBuilder.buildOutline(
+                request.goal(),
+                request.level(),
+                request.days(),
+                request.dailyHours(),
+                segments
+        );
+        String response = llmClient.call(budget.limit(LlmRequest.of(LlmFeature.DAILY_PLAN, request.level(), prompt),
+                budget.dailyPlanOutline(segments.size())));
+
+        Map<Integer, String> outline = new HashMap<>();
+        if (response == null) {
+            metrics.recordParseFailure(LlmFeature.DAILY_PLAN);
+            return outline;
+        }
+        for (String line : response.split("\\R")) {
+            Matcher matcher = OUTLINE_LINE.matcher(line);
+            if (matcher.matches()) {
+                outline.putIfAbsent(Integer.parseInt(matcher.group(1)) - 1, matcher.group(2).strip());
+            }
+        }
+        if (outline.isEmpty()) {
+            metrics.recordParseFailure(LlmFeature.DAILY_PLAN); //segments still work, just without a focus line
+        }
+        return outline;
+    }
 
-        return chatClient
-                .prompt(prompt)
-                .call()
-                .content();
+    private LlmRequest segmentRequest(DailyPlanRequest request, DaySegment segment, Map<Integer, String> outline) {
+        String focus = outline.getOrDefault(segment.index(), "Continue progressing towards the goal.");
+        String previous = segment.index() == 0
+                ? "Nothing yet, this is the start of the plan."
+                : outline.getOrDefault(segment.index() - 1, "The earlier days of this plan.");
+
+        String prompt = promptBuilder.buildSegment(
+                request.goal(),
+                request.level(),
+                request.days(),
+                request.dailyHours(),
+                segment,
+                focus,
+                previous
+        );
+        //capped by the days of this segment, not the whole plan
+        return budget.limit(LlmRequest.of(LlmFeature.DAILY_PLAN, request.level(), prompt),
+                budget.dailyPlan(segment.length(), request.dailyHours()));
     }
 }
@@ -0,0 +1,15 @@
+package com.ai.education.platform.learning.dailyplan.goal.service;
+
+import lombok.Getter;
+
+//Plan too long to generate within one request -> 422 pointing at the jobs API
+@Getter
+public class DailyPlanTooLongException extends RuntimeException {
+
+    private final int maxDays;
+
+    public DailyPlanTooLongException(int maxDays) {
+        super("Plans longer than " + maxDays + " days are generated in the background, use POST /daily-plan/jobs");
+        this.maxDays = maxDays;
+    }
+}
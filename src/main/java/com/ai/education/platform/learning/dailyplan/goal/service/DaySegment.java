@@ -0,0 +1,24 @@
+package com.ai.education.platform.learning.dailyplan.goal.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+//A contiguous block of days (1-based, inclusive) of a long plan that is generated on its own
+public record DaySegment(
+        int index,
+        int fromDay,
+        int toDay
+) {
+
+    public int length() {
+        return toDay - fromDay + 1;
+    }
+
+    public static List<DaySegment> split(int days, int segmentDays) {
+        List<DaySegment> segments = new ArrayList<>();
+        for (int from = 1; from <= days; from += segmentDays) {
+            segments.add(new DaySegment(segments.size(), from, Math.min(days, from + segmentDays - 1)));
+        }
+        return segments;
+    }
+}
@@ -3,12 +3,19 @@ package com.ai.education.platform.learning.intuition.controller;
 import com.ai.education.platform.learning.intuition.dto.HintRequest;
 import com.ai.education.platform.learning.intuition.dto.HintResponse;
 import com.ai.education.platform.learning.intuition.service.HintService;
+import com.ai.education.platform.learning.stream.SseStreams;
+import com.ai.education.platform.learning.stream.StreamChunk;
+import com.ai.education.platform.llm.LlmFeature;
+import com.ai.education.platform.ratelimit.RateLimited;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
 
 @RestController
 @RequiredArgsConstructor
@@ -18,7 +25,14 @@ public class HintController {
     private final HintService hintService;
 
     @PostMapping
+    @RateLimited(LlmFeature.HINT)
     public HintResponse getHint(@RequestBody @Valid HintRequest request){
         return hintService.generateHint(request);
     }
+
+    @PostMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @RateLimited(LlmFeature.HINT)
+    public Flux<ServerSentEvent<StreamChunk>> streamHint(@RequestBody @Valid HintRequest request){
+        return SseStreams.markdown(hintService.streamHint(request), "hint");
+    }
 }
@@ -0,0 +1,21 @@
+package com.ai.education.platform.learning.intuition.service;
+
+import com.ai.education.platform.learning.common.TextNormalizer;
+import com.ai.education.platform.learning.enums.HintDomain;
+import com.ai.education.platform.learning.intuition.dto.HintRequest;
+
+//The same problem + attempt asked at level 1, 2 and 3 must land on the same entry
+public record HintCacheKey(
+        String problem,
+        HintDomain domain,
+        String whatUserTried
+) {
+
+    public static HintCacheKey of(HintRequest request) {
+        return new HintCacheKey(
+                TextNormalizer.normalize(request.problem()),
+                request.domain(),
+                TextNormalizer.normalize(request.whatUserTried())
+        );
+    }
+}
@@ -0,0 +1,46 @@
+package com.ai.education.platform.learning.intuition.service;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+//The three hints of one problem, parsed from a completion of HintPromptBuilder.buildAllLevels
+public record HintLevels(
+        List<String> levels
+) {
+
+    static final Pattern MARKER = Pattern.compile(
+            "^[ \\t]*=+[ \\t]*HINT LEVEL[ \\t]*([1-3])[ \\t]*=+[ \\t]*$",
+            Pattern.MULTILINE | Pattern.CASE_INSENSITIVE);
+
+    public String level(int level) {
+        return levels.get(level - 1);
+    }
+
+    //empty unless all three levels are present and non blank
+    public static Optional<HintLevels> parse(String text) {
+        String[] sections = new String[3];
+        Matcher matcher = MARKER.matcher(text);
+
+        int currentLevel = -1;
+        int sectionStart = 0;
+        while (matcher.find()) {
+            if (currentLevel > 0) {
+                sections[currentLevel - 1] = text.substring(sectionStart, matcher.start()).strip();
+            }
+            currentLevel = Integer.parseInt(matcher.group(1));
+            sectionStart = matcher.end();
+        }
+        if (currentLevel > 0) {
+            sections[currentLevel - 1] = text.substring(sectionStart).strip();
+        }
+
+        for (String section : sections) {
+            if (section == null || section.isEmpty()) {
+                return Optional.empty();
+            }
+        }
+        return Optional.of(new HintLevels(List.of(sections)));
+    }
+}
@@ -59,4 +59,59 @@ public class HintPromptBuilder {
                 hintLevel
         );
     }
+
+    //same rules, but all three levels in one completion, each under its own "=== HINT LEVEL n ===" line (see HintLevels)
+    public String buildAllLevels(
+            String problem,
+            HintDomain domain,
+            String whatUserTried
+    ) {
+
+        return """
+                You are an expert mentor whose job is to GUIDE thinking, not solve problems.
+                
+                 STRICT RULES (NON-NEGOTIABLE):
+                - DO NOT provide the final solution
+                - DO NOT provide full formulas
+                - DO NOT provide code or pseudocode
+                - DO NOT reveal the answer
+                - DO NOT give step-by-step solutions
+                
+                Your job is to give ONLY INTUITIVE HINTS.
+                
+                Problem:
+                %s
+                
+                Domain:
+                %s
+                
+                What the learner already tried:
+                %s
+                
+                Give THREE hints of increasing depth, each one building on the previous one:
+                - Level 1: Very subtle conceptual nudge
+                - Level 2: Clear direction without solution
+                - Level 3: Strong intuition, still no solution
+                
+                Response Rules:
+                - Use simple language
+                - Focus on WHY, not HOW
+                - Encourage thinking
+                - Mention common mistakes if relevant
+                - Output in Markdown
+                - Be supportive, not judgmental
+                
+                Output format (EXACTLY these three marker lines, nothing before the first one):
+                === HINT LEVEL 1 ===
+                <level 1 hint>
+                === HINT LEVEL 2 ===
+                <level 2 hint>
+                === HINT LEVEL 3 ===
+                <level 3 hint>
+                """.formatted(
+                problem,
+                domain.name(),
+                whatUserTried
+        );
+    }
 }
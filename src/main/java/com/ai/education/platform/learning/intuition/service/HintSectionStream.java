@@ -0,0 +1,85 @@
+package com.ai.education.platform.learning.intuition.service;
+
+import java.util.regex.Matcher;
+
+/*
+ * Picks one level out of a streamed all-levels completion: feed() returns the new text of the wanted
+ * section only. A trailing line starting with '=' is held back until it is complete, it may be the next marker.
+ * Not thread safe, one instance per stream (chunks arrive in order).
+ */
+final class HintSectionStream {
+
+    private final int level;
+    private final StringBuilder buffer = new StringBuilder();
+    private int scanFrom; //markers before this offset are already handled, each feed() only scans the new lines
+    private int sectionStart = -1; //offset right after the wanted marker, once it arrived
+    private int emitted; //end offset (in buffer) of the section text already returned
+    private boolean sectionEnded;
+
+    HintSectionStream(int level) {
+        this.level = level;
+    }
+
+    String feed(String chunk) {
+        buffer.append(chunk);
+        return sectionEnded ? "" : next(false);
+    }
+
+    //rest of the section once the completion is done
+    String finish() {
+        return sectionEnded ? "" : next(true);
+    }
+
+    String fullText() {
+        return buffer.toString();
+    }
+
+    boolean emittedAnything() {
+        return emitted > 0;
+    }
+
+    private String next(boolean complete) {
+        Matcher matcher = HintLevels.MARKER.matcher(buffer).region(scanFrom, buffer.length());
+        int end = -1;
+        while (matcher.find()) {
+            if (!complete && matcher.end() == buffer.length()) {
+                break; //marker line may still grow ("== HINT LEVEL 1 =" + "=\n"), rescan it with the next chunk
+            }
+            if (sectionStart < 0) {
+                if (Integer.parseInt(matcher.group(1)) == level) {
+                    sectionStart = matcher.end();
+                }
+            } else {
+                end = matcher.start();
+                break;
+            }
+        }
+        //a marker can be split across chunks, so the last (unfinished) line is scanned again next time
+        scanFrom = Math.max(scanFrom, Math.max(sectionStart, buffer.lastIndexOf("\n") + 1));
+        if (sectionStart < 0) {
+            return "";
+        }
+
+        if (end >= 0) {
+            sectionEnded = true;
+        } else {
+            end = complete ? buffer.length() : safeEnd(sectionStart);
+        }
+
+        int from = Math.max(sectionStart, emitted);
+        if (end <= from) {
+            return "";
+        }
+        emitted = end;
+        String text = buffer.substring(from, end);
+        return from == sectionStart ? text.stripLeading() : text;
+    }
+
+    private int safeEnd(int sectionStart) {
+        int lineStart = buffer.lastIndexOf("\n") + 1;
+        if (lineStart > sectionStart && buffer.substring(lineStart).stripLeading().startsWith("=")) {
+            return lineStart;
+        }
+        return buffer.length();
+    }
+}
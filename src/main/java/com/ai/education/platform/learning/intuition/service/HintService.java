@@ -2,34 +2,148 @@ package com.ai.education.platform.learning.intuition.service;
 
 import com.ai.education.platform.learning.intuition.dto.HintRequest;
 import com.ai.education.platform.learning.intuition.dto.HintResponse;
-import jakarta.validation.Valid;
-import lombok.RequiredArgsConstructor;
-import org.springframework.ai.chat.client.ChatClient;
+import com.ai.education.platform.llm.LlmClient;
+import com.ai.education.platform.llm.LlmCompletion;
+import com.ai.education.platform.llm.LlmFeature;
+import com.ai.education.platform.llm.LlmMetrics;
+import com.ai.education.platform.llm.LlmRequest;
+import com.ai.education.platform.llm.TokenBudget;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/*
+ * Learners nearly always walk level 1 -> 2 -> 3 on the same problem, so with hint.all-levels the first
+ * request generates all three levels in one completion and caches them, the next levels are served from memory.
+ * If the model breaks the section format the requested level falls back to a single level call.
+ */
 @Service
-@RequiredArgsConstructor
 public class HintService {
 
     private final HintPromptBuilder promptBuilder;
-    private final ChatClient chatClient;
+    private final LlmClient llmClient;
+    private final LlmMetrics metrics;
+    private final TokenBudget budget;
+    private final boolean allLevels;
+    private final Cache<HintCacheKey, HintLevels> cache;
+
+    public HintService(
+            HintPromptBuilder promptBuilder,
+            LlmClient llmClient,
+            LlmMetrics metrics,
+            TokenBudget budget,
+            MeterRegistry meterRegistry,
+            @Value("${hint.all-levels:true}") boolean allLevels,
+            @Value("${hint.cache.max-size:10000}") long maxSize,
+            @Value("${hint.cache.ttl:1h}") Duration ttl
+    ) {
+        this.promptBuilder = promptBuilder;
+        this.llmClient = llmClient;
+        this.metrics = metrics;
+        this.budget = budget;
+        this.allLevels = allLevels;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "hints");
+    }
 
     public HintResponse generateHint(HintRequest request) {
 
+        if (!allLevels) {
+            return new HintResponse(llmClient.call(buildRequest(request)));
+        }
+
+        HintCacheKey key = HintCacheKey.of(request);
+        HintLevels cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return new HintResponse(cached.level(request.hintLevel()));
+        }
+
+        LlmCompletion completion = llmClient.complete(buildAllLevelsRequest(request));
+        Optional<HintLevels> levels = HintLevels.parse(completion.text());
+        if (levels.isEmpty()) {
+            metrics.recordParseFailure(LlmFeature.HINT);
+            return new HintResponse(llmClient.call(buildRequest(request)));
+        }
+
+        //cut off at the token budget = level 3 is likely incomplete, fine for this request, not for the cache
+        if (!completion.truncated()) {
+            cache.put(key, levels.get());
+        }
+        return new HintResponse(levels.get().level(request.hintLevel()));
+    }
+
+    public Flux<String> streamHint(HintRequest request) {
+
+        if (!allLevels) {
+            return llmClient.stream(buildRequest(request));
+        }
+
+        HintCacheKey key = HintCacheKey.of(request);
+        HintLevels cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return Flux.just(cached.level(request.hintLevel()));
+        }
+
+        //forward only the requested section while the whole completion streams, cache all levels at the end
+        return Flux.defer(() -> {
+            HintSectionStream section = new HintSectionStream(request.hintLevel());
+            AtomicBoolean truncated = new AtomicBoolean();
+            return llmClient.streamCompletion(buildAllLevelsRequest(request))
+                    .doOnNext(chunk -> truncated.compareAndSet(false, chunk.truncated()))
+                    .mapNotNull(LlmCompletion::text)
+                    .map(section::feed)
+                    .concatWith(Flux.defer(() -> finish(key, request, section, truncated.get())))
+                    .filter(text -> !text.isEmpty());
+        });
+    }
+
+    private Flux<String> finish(HintCacheKey key, HintRequest request, HintSectionStream section, boolean truncated) {
+        String rest = section.finish();
+        Optional<HintLevels> levels = HintLevels.parse(section.fullText());
+        if (levels.isPresent()) {
+            if (!truncated) {
+                cache.put(key, levels.get());
+            }
+            return Flux.just(rest);
+        }
+
+        metrics.recordParseFailure(LlmFeature.HINT);
+        if (section.emittedAnything()) {
+            return Flux.just(rest);
+        }
+        //nothing of the requested level came through, never send the unsectioned text (it holds the level 3 answer)
+        return llmClient.stream(buildRequest(request));
+    }
+
+    //pasted problems / attempts can be huge, they're cut to their token limit before they reach the prompt
+    private LlmRequest buildRequest(HintRequest request) {
         String prompt = promptBuilder.build(
-                request.problem(),
+                budget.trimProblem(request.problem()),
                 request.domain(),
-                request.whatUserTried(),
+                budget.trimAttempt(request.whatUserTried()),
                 request.hintLevel()
         );
+        return budget.limit(LlmRequest.of(LlmFeature.HINT, prompt), budget.hint(request.hintLevel()));
+    }
 
-        String aiResponse = chatClient
-                .prompt(prompt)
-                .call()
-                .content();
-
-        return new HintResponse(aiResponse);
-
-
+    private LlmRequest buildAllLevelsRequest(HintRequest request) {
+        String prompt = promptBuilder.buildAllLevels(
+                budget.trimProblem(request.problem()),
+                request.domain(),
+                budget.trimAttempt(request.whatUserTried())
+        );
+        return budget.limit(LlmRequest.of(LlmFeature.HINT, prompt), budget.allHintLevels());
     }
 }
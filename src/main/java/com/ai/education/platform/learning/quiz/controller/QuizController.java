@@ -1,14 +1,35 @@
 package com.ai.education.platform.learning.quiz.controller;
 
+import com.ai.education.platform.auth.security.JwtUserPrincipal;
+import com.ai.education.platform.learning.enums.LearningLevel;
+import com.ai.education.platform.learning.quiz.dto.QuizAttemptRequest;
+import com.ai.education.platform.learning.quiz.dto.QuizAttemptResponse;
 import com.ai.education.platform.learning.quiz.dto.QuizRequest;
-import com.ai.education.platform.learning.quiz.dto.QuizResponse;
+import com.ai.education.platform.learning.quiz.dto.QuizScoreStats;
+import com.ai.education.platform.learning.quiz.dto.QuizView;
+import com.ai.education.platform.learning.quiz.service.QuizAttemptService;
 import com.ai.education.platform.learning.quiz.service.QuizService;
+import com.ai.education.platform.learning.quiz.service.QuizStream;
+import com.ai.education.platform.llm.LlmFeature;
+import com.ai.education.platform.ratelimit.RateLimited;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @RestController
 @RequestMapping("/quiz")
@@ -16,12 +37,68 @@ import org.springframework.web.bind.annotation.RestController;
 public class QuizController {
 
     private final QuizService quizService;
+    private final QuizAttemptService attemptService;
 
+    //questions + quiz id, answers are checked with POST /quiz/{id}/attempts
     @PostMapping
-    public QuizResponse generate(
-             @RequestBody @Valid QuizRequest request
+    @RateLimited(LlmFeature.QUIZ)
+    public QuizView generate(
+            @AuthenticationPrincipal JwtUserPrincipal principal,
+            @RequestBody @Valid QuizRequest request
     ) {
-        return quizService.generateQuiz(request);
+        return quizService.generateQuiz(principal.userId(), request);
+    }
+
+    /*
+     * event: question  data: {QuizQuestionView}     (one per question, as soon as it is complete)
+     * event: done      data: {"count": n, "quizId": id}   (quizId only when at least one question was sent)
+     */
+    @PostMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @RateLimited(LlmFeature.QUIZ)
+    public Flux<ServerSentEvent<Object>> stream(
+            @AuthenticationPrincipal JwtUserPrincipal principal,
+            @RequestBody @Valid QuizRequest request
+    ) {
+        QuizStream quiz = quizService.streamQuiz(principal.userId(), request);
+        AtomicInteger sent = new AtomicInteger();
+        return quiz.questions()
+                .map(question -> ServerSentEvent.<Object>builder(question)
+                        .id(String.valueOf(sent.getAndIncrement()))
+                        .event("question")
+                        .build())
+                .concatWith(Flux.defer(() -> Flux.just(ServerSentEvent.<Object>builder(sent.get() == 0
+                                ? Map.of("count", 0)
+                                : Map.of("count", sent.get(), "quizId", quiz.quizId()))
+                        .event("done")
+                        .build())));
+    }
+
+    //answers[i] = chosen option of question i, graded against the stored key: score + correct option per question
+    @PostMapping("/{id}/attempts")
+    public ResponseEntity<QuizAttemptResponse> submitAttempt(
+            @AuthenticationPrincipal JwtUserPrincipal principal,
+            @PathVariable UUID id,
+            @RequestBody @Valid QuizAttemptRequest request
+    ) {
+        return attemptService.submit(principal.userId(), id, request)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    //running totals over all of the user's attempts (may trail the latest attempt by a second)
+    @GetMapping("/stats")
+    public QuizScoreStats stats(
+            @AuthenticationPrincipal JwtUserPrincipal principal
+    ) {
+        return attemptService.userStats(principal.userId());
     }
-}
 
+    //running totals over everyone's attempts on a topic + level
+    @GetMapping("/stats/topic")
+    public QuizScoreStats topicStats(
+            @RequestParam String topic,
+            @RequestParam LearningLevel level
+    ) {
+        return attemptService.topicStats(topic, level);
+    }
+}
@@ -0,0 +1,8 @@
+package com.ai.education.platform.learning.quiz.dto;
+
+public record QuizAnswerResult(
+        Integer selected,
+        int correctAnswerIndex,
+        boolean correct
+) {
+}
@@ -0,0 +1,14 @@
+package com.ai.education.platform.learning.quiz.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+//answers[i] = chosen option index of question i, null for a question left unanswered
+public record QuizAttemptRequest(
+        @NotEmpty(message = "Answers are required")
+        @Size(max = 10, message = "Maximum 10 answers allowed")
+        List<Integer> answers
+) {
+}
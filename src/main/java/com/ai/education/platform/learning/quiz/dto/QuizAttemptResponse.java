@@ -0,0 +1,12 @@
+package com.ai.education.platform.learning.quiz.dto;
+
+import java.util.List;
+
+//counted = false for a retake (or a full write queue): graded, but not stored and not added to the score totals
+public record QuizAttemptResponse(
+        int score,
+        int total,
+        boolean counted,
+        List<QuizAnswerResult> results
+) {
+}
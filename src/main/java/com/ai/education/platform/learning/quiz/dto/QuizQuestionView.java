@@ -0,0 +1,14 @@
+package com.ai.education.platform.learning.quiz.dto;
+
+import java.util.List;
+
+//A question as the client sees it, the answer stays on the server until an attempt is graded
+public record QuizQuestionView(
+        String question,
+        List<String> options
+) {
+
+    public static QuizQuestionView of(QuizQuestion question) {
+        return new QuizQuestionView(question.question(), question.options());
+    }
+}
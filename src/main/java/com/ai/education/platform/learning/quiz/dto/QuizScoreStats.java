@@ -0,0 +1,22 @@
+package com.ai.education.platform.learning.quiz.dto;
+
+import java.time.LocalDateTime;
+
+//running totals of graded attempts (of a user or of a topic + level), accuracy = correct / questions
+public record QuizScoreStats(
+        long attempts,
+        long questions,
+        long correct,
+        double accuracy,
+        LocalDateTime lastAttemptAt
+) {
+
+    public static QuizScoreStats of(long attempts, long questions, long correct, LocalDateTime lastAttemptAt) {
+        return new QuizScoreStats(attempts, questions, correct,
+                questions == 0 ? 0 : (double) correct / questions, lastAttemptAt);
+    }
+
+    public static QuizScoreStats empty() {
+        return of(0, 0, 0, null);
+    }
+}
@@ -0,0 +1,11 @@
+package com.ai.education.platform.learning.quiz.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+//A stored quiz, answers are submitted to POST /quiz/{id}/attempts
+public record QuizView(
+        UUID id,
+        List<QuizQuestionView> quiz
+) {
+}
@@ -0,0 +1,55 @@
+package com.ai.education.platform.learning.quiz.entity;
+
+import com.ai.education.platform.learning.enums.LearningLevel;
+import com.ai.education.platform.learning.quiz.dto.QuizQuestionView;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+//A quiz handed to a user (generated or sampled from the bank), attempts are graded against its answer key
+@Entity
+@Table(name = "quizzes",
+        indexes = {
+                @Index(name = "idx_quizzes_user_created", columnList = "userId, createdAt")
+        }
+)
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class Quiz {
+
+    //assigned by QuizStore, a streamed quiz announces its id before the row is written
+    @Id
+    private UUID id;
+
+    @Column(nullable = false)
+    private UUID userId;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String topic;
+
+    //sha-256 of the normalized topic, same key as the quiz bank
+    @Column(nullable = false, length = 64)
+    private String topicKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private LearningLevel level;
+
+    @Convert(converter = QuizQuestionListConverter.class)
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private List<QuizQuestionView> questions;
+
+    //correct option index per question, never sent to the client before grading
+    @Column(nullable = false)
+    private int[] answerKey;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,57 @@
+package com.ai.education.platform.learning.quiz.entity;
+
+import com.ai.education.platform.learning.enums.LearningLevel;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+//A user's first graded submission of a quiz, written in batches by QuizAttemptWriter (topic + level copied from the quiz for per topic queries)
+@Entity
+@Table(name = "quiz_attempts",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_quiz_attempts_quiz_user", columnNames = {"quizId", "userId"}) //retakes are not counted
+        },
+        indexes = {
+                @Index(name = "idx_quiz_attempts_user_created", columnList = "userId, createdAt")
+        }
+)
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class QuizAttempt {
+
+    @Id
+    @GeneratedValue
+    private UUID id;
+
+    @Column(nullable = false)
+    private UUID quizId;
+
+    @Column(nullable = false)
+    private UUID userId;
+
+    @Column(nullable = false, length = 64)
+    private String topicKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private LearningLevel level;
+
+    //chosen option index per question, -1 = unanswered
+    @Column(nullable = false)
+    private int[] answers;
+
+    @Column(nullable = false)
+    private int score;
+
+    @Column(nullable = false)
+    private int total;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,57 @@
+package com.ai.education.platform.learning.quiz.entity;
+
+import com.ai.education.platform.learning.enums.LearningLevel;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+//A pre-generated question, quizzes for popular (topic, level) pairs are sampled from these instead of asking the LLM
+@Entity
+@Table(name = "quiz_bank_questions",
+        uniqueConstraints = {
+                @UniqueConstraint(columnNames = {"topicKey", "level", "questionHash"}) //same question never stored twice per topic
+        },
+        indexes = {
+                @Index(name = "idx_quiz_bank_topic_level", columnList = "topicKey, level")
+        }
+)
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class QuizBankQuestion {
+
+    @Id
+    @GeneratedValue
+    private UUID id;
+
+    //sha-256 of the normalized topic
+    @Column(nullable = false, length = 64)
+    private String topicKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private LearningLevel level;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String question;
+
+    @Convert(converter = StringListConverter.class)
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private List<String> options;
+
+    @Column(nullable = false)
+    private int correctAnswerIndex;
+
+    //sha-256 of the normalized question text
+    @Column(nullable = false, length = 64)
+    private String questionHash;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
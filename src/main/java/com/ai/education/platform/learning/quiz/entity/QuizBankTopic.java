@@ -0,0 +1,48 @@
+package com.ai.education.platform.learning.quiz.entity;
+
+import com.ai.education.platform.learning.enums.LearningLevel;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+//How often a (topic, level) is requested, the background refill keeps banks of the popular ones topped up
+@Entity
+@Table(name = "quiz_bank_topics",
+        uniqueConstraints = {
+                @UniqueConstraint(columnNames = {"topicKey", "level"})
+        },
+        indexes = {
+                @Index(name = "idx_quiz_bank_topics_requests", columnList = "requestCount")
+        }
+)
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class QuizBankTopic {
+
+    @Id
+    @GeneratedValue
+    private UUID id;
+
+    @Column(nullable = false, length = 64)
+    private String topicKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private LearningLevel level;
+
+    //topic as first requested, used when prompting for refills
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String topic;
+
+    @Column(nullable = false)
+    private long requestCount;
+
+    @Column(nullable = false)
+    private LocalDateTime lastRequestedAt;
+}
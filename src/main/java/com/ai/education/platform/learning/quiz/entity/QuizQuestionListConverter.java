@@ -0,0 +1,36 @@
+package com.ai.education.platform.learning.quiz.entity;
+
+import com.ai.education.platform.learning.quiz.dto.QuizQuestionView;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.List;
+
+//Questions of a stored quiz as one JSON array (always read together, never queried), answers live in answerKey
+@Converter
+public class QuizQuestionListConverter implements AttributeConverter<List<QuizQuestionView>, String> {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<List<QuizQuestionView>> LIST_TYPE = new TypeReference<>() {};
+
+    @Override
+    public String convertToDatabaseColumn(List<QuizQuestionView> questions) {
+        try {
+            return questions == null ? null : MAPPER.writeValueAsString(questions);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize questions", e);
+        }
+    }
+
+    @Override
+    public List<QuizQuestionView> convertToEntityAttribute(String json) {
+        try {
+            return json == null ? null : MAPPER.readValue(json, LIST_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot deserialize questions", e);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.ai.education.platform.learning.quiz.entity;
+
+import com.ai.education.platform.learning.enums.LearningLevel;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+//Running totals of all graded attempts of a (topic, level), same upsert-increment scheme as QuizUserScore
+@Entity
+@Table(name = "quiz_topic_scores",
+        uniqueConstraints = {
+                @UniqueConstraint(columnNames = {"topicKey", "level"}) //conflict target of the upsert
+        }
+)
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class QuizTopicScore {
+
+    @Id
+    @GeneratedValue
+    private UUID id;
+
+    @Column(nullable = false, length = 64)
+    private String topicKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private LearningLevel level;
+
+    @Column(nullable = false)
+    private long attempts;
+
+    @Column(nullable = false)
+    private long questions;
+
+    @Column(nullable = false)
+    private long correct;
+
+    @Column(nullable = false)
+    private LocalDateTime lastAttemptAt;
+}
@@ -0,0 +1,34 @@
+package com.ai.education.platform.learning.quiz.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+//Running totals of a user's graded attempts, incremented per flushed batch (QuizUserScoreRepository.add), never recomputed
+@Entity
+@Table(name = "quiz_user_scores")
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class QuizUserScore {
+
+    @Id
+    private UUID userId;
+
+    @Column(nullable = false)
+    private long attempts;
+
+    @Column(nullable = false)
+    private long questions;
+
+    @Column(nullable = false)
+    private long correct;
+
+    @Column(nullable = false)
+    private LocalDateTime lastAttemptAt;
+}
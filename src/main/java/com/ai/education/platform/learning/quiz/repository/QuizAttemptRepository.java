@@ -0,0 +1,13 @@
+package com.ai.education.platform.learning.quiz.repository;
+
+import com.ai.education.platform.learning.quiz.entity.QuizAttempt;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface QuizAttemptRepository extends JpaRepository<QuizAttempt, UUID> {
+
+    boolean existsByQuizIdAndUserId(UUID quizId, UUID userId);
+}
@@ -0,0 +1,33 @@
+package com.ai.education.platform.learning.quiz.repository;
+
+import com.ai.education.platform.learning.enums.LearningLevel;
+import com.ai.education.platform.learning.quiz.entity.QuizBankQuestion;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+@Repository
+public interface QuizBankQuestionRepository extends JpaRepository<QuizBankQuestion, UUID> {
+
+    long countByTopicKeyAndLevel(String topicKey, LearningLevel level);
+
+    //distinct rows in random order -> a quiz never repeats a question, banks are capped so random() stays cheap
+    @Query(value = """
+            select * from quiz_bank_questions
+            where topic_key = :topicKey and level = :level
+            order by random()
+            limit :count
+            """, nativeQuery = true)
+    List<QuizBankQuestion> sample(String topicKey, String level, int count);
+
+    @Query("select q.questionHash from QuizBankQuestion q where q.topicKey = :topicKey and q.level = :level")
+    Set<String> findQuestionHashes(String topicKey, LearningLevel level);
+
+    @Query("select q.question from QuizBankQuestion q where q.topicKey = :topicKey and q.level = :level order by q.createdAt desc")
+    List<String> findRecentQuestions(String topicKey, LearningLevel level, Pageable pageable);
+}
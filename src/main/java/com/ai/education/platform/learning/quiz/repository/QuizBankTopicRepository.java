@@ -0,0 +1,33 @@
+package com.ai.education.platform.learning.quiz.repository;
+
+import com.ai.education.platform.learning.enums.LearningLevel;
+import com.ai.education.platform.learning.quiz.entity.QuizBankTopic;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface QuizBankTopicRepository extends JpaRepository<QuizBankTopic, UUID> {
+
+    //single UPDATE instead of read-modify-write, returns 0 the first time a topic is seen
+    @Transactional
+    @Modifying
+    @Query("""
+            update QuizBankTopic t
+            set t.requestCount = t.requestCount + 1, t.lastRequestedAt = :now
+            where t.topicKey = :topicKey and t.level = :level
+            """)
+    int incrementRequestCount(String topicKey, LearningLevel level, LocalDateTime now);
+
+    List<QuizBankTopic> findByRequestCountGreaterThanEqualOrderByRequestCountDesc(long minRequests, Pageable pageable);
+
+    Optional<QuizBankTopic> findByTopicKeyAndLevel(String topicKey, LearningLevel level);
+}
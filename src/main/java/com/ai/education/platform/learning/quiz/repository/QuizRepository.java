@@ -0,0 +1,21 @@
+package com.ai.education.platform.learning.quiz.repository;
+
+import com.ai.education.platform.learning.quiz.entity.Quiz;
+import com.ai.education.platform.learning.quiz.service.QuizAnswerKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface QuizRepository extends JpaRepository<Quiz, UUID> {
+
+    //grading only needs the key, the questions json is never read for it
+    @Query("""
+            select new com.ai.education.platform.learning.quiz.service.QuizAnswerKey(q.topicKey, q.level, q.answerKey)
+            from Quiz q where q.id = :id
+            """)
+    Optional<QuizAnswerKey> findAnswerKey(UUID id);
+}
@@ -0,0 +1,33 @@
+package com.ai.education.platform.learning.quiz.repository;
+
+import com.ai.education.platform.learning.enums.LearningLevel;
+import com.ai.education.platform.learning.quiz.entity.QuizTopicScore;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface QuizTopicScoreRepository extends JpaRepository<QuizTopicScore, UUID> {
+
+    Optional<QuizTopicScore> findByTopicKeyAndLevel(String topicKey, LearningLevel level);
+
+    //same as QuizUserScoreRepository.add, keyed by (topic_key, level)
+    @Transactional
+    @Modifying
+    @Query(value = """
+            insert into quiz_topic_scores (id, topic_key, level, attempts, questions, correct, last_attempt_at)
+            values (gen_random_uuid(), :topicKey, :level, :attempts, :questions, :correct, :lastAttemptAt)
+            on conflict (topic_key, level) do update set
+                attempts = quiz_topic_scores.attempts + excluded.attempts,
+                questions = quiz_topic_scores.questions + excluded.questions,
+                correct = quiz_topic_scores.correct + excluded.correct,
+                last_attempt_at = greatest(quiz_topic_scores.last_attempt_at, excluded.last_attempt_at)
+            """, nativeQuery = true)
+    void add(String topicKey, String level, long attempts, long questions, long correct, LocalDateTime lastAttemptAt);
+}
@@ -0,0 +1,29 @@
+package com.ai.education.platform.learning.quiz.repository;
+
+import com.ai.education.platform.learning.quiz.entity.QuizUserScore;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Repository
+public interface QuizUserScoreRepository extends JpaRepository<QuizUserScore, UUID> {
+
+    //adds a batch's totals in one statement, the first attempt of a user creates the row
+    @Transactional
+    @Modifying
+    @Query(value = """
+            insert into quiz_user_scores (user_id, attempts, questions, correct, last_attempt_at)
+            values (:userId, :attempts, :questions, :correct, :lastAttemptAt)
+            on conflict (user_id) do update set
+                attempts = quiz_user_scores.attempts + excluded.attempts,
+                questions = quiz_user_scores.questions + excluded.questions,
+                correct = quiz_user_scores.correct + excluded.correct,
+                last_attempt_at = greatest(quiz_user_scores.last_attempt_at, excluded.last_attempt_at)
+            """, nativeQuery = true)
+    void add(UUID userId, long attempts, long questions, long correct, LocalDateTime lastAttemptAt);
+}
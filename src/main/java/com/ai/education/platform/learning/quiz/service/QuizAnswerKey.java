@@ -0,0 +1,47 @@
+package com.ai.education.platform.learning.quiz.service;
+
+import com.ai.education.platform.learning.enums.LearningLevel;
+import com.ai.education.platform.learning.quiz.dto.QuizAnswerResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+//What grading needs of a stored quiz, kept in memory by QuizStore (a few dozen bytes per quiz)
+public record QuizAnswerKey(
+        String topicKey,
+        LearningLevel level,
+        int[] answers
+) {
+
+    static final int UNANSWERED = -1;
+
+    //answers[i] = chosen option of question i, null or negative = skipped, an option that doesn't exist is just wrong
+    Grade grade(List<Integer> submitted) {
+        if (submitted.size() != answers.length) {
+            throw new IllegalArgumentException("Expected " + answers.length + " answers, got " + submitted.size());
+        }
+
+        int[] selected = new int[answers.length];
+        List<QuizAnswerResult> results = new ArrayList<>(answers.length);
+        int score = 0;
+        for (int i = 0; i < answers.length; i++) {
+            Integer answer = submitted.get(i);
+            boolean skipped = answer == null || answer < 0;
+            selected[i] = skipped ? UNANSWERED : answer;
+            boolean correct = !skipped && answer == answers[i];
+            if (correct) {
+                score++;
+            }
+            results.add(new QuizAnswerResult(skipped ? null : answer, answers[i], correct));
+        }
+        return new Grade(score, selected, results);
+    }
+
+    //selected = what is stored with the attempt (UNANSWERED for skipped questions)
+    record Grade(
+            int score,
+            int[] selected,
+            List<QuizAnswerResult> results
+    ) {
+    }
+}
@@ -0,0 +1,84 @@
+package com.ai.education.platform.learning.quiz.service;
+
+import com.ai.education.platform.learning.enums.LearningLevel;
+import com.ai.education.platform.learning.quiz.dto.QuizAttemptRequest;
+import com.ai.education.platform.learning.quiz.dto.QuizAttemptResponse;
+import com.ai.education.platform.learning.quiz.dto.QuizScoreStats;
+import com.ai.education.platform.learning.quiz.entity.QuizAttempt;
+import com.ai.education.platform.learning.quiz.repository.QuizTopicScoreRepository;
+import com.ai.education.platform.learning.quiz.repository.QuizUserScoreRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+//Grades attempts against the stored answer key (no LLM, no db write on the request path, see QuizAttemptWriter).
+//Only a user's first attempt of a quiz is stored: the response reveals the key, so retakes would inflate the totals.
+@Service
+public class QuizAttemptService {
+
+    private final QuizStore quizStore;
+    private final QuizAttemptWriter attemptWriter;
+    private final QuizUserScoreRepository userScoreRepository;
+    private final QuizTopicScoreRepository topicScoreRepository;
+    private final Timer grading;
+
+    public QuizAttemptService(
+            QuizStore quizStore,
+            QuizAttemptWriter attemptWriter,
+            QuizUserScoreRepository userScoreRepository,
+            QuizTopicScoreRepository topicScoreRepository,
+            MeterRegistry meterRegistry
+    ) {
+        this.quizStore = quizStore;
+        this.attemptWriter = attemptWriter;
+        this.userScoreRepository = userScoreRepository;
+        this.topicScoreRepository = topicScoreRepository;
+        this.grading = Timer.builder("quiz.attempts.grade")
+                .description("Grading one attempt, answer key lookup included")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    //empty when the quiz doesn't exist, any signed in user holding the id can take it (like a shared link)
+    public Optional<QuizAttemptResponse> submit(UUID userId, UUID quizId, QuizAttemptRequest request) {
+        long start = System.nanoTime();
+        Optional<QuizAnswerKey> key = quizStore.answerKey(quizId);
+        if (key.isEmpty()) {
+            return Optional.empty();
+        }
+
+        QuizAnswerKey.Grade grade = key.get().grade(request.answers());
+        int total = key.get().answers().length;
+
+        boolean counted = attemptWriter.record(QuizAttempt.builder()
+                .quizId(quizId)
+                .userId(userId)
+                .topicKey(key.get().topicKey())
+                .level(key.get().level())
+                .answers(grade.selected())
+                .score(grade.score())
+                .total(total)
+                .createdAt(LocalDateTime.now())
+                .build());
+
+        grading.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return Optional.of(new QuizAttemptResponse(grade.score(), total, counted, grade.results()));
+    }
+
+    public QuizScoreStats userStats(UUID userId) {
+        return userScoreRepository.findById(userId)
+                .map(s -> QuizScoreStats.of(s.getAttempts(), s.getQuestions(), s.getCorrect(), s.getLastAttemptAt()))
+                .orElseGet(QuizScoreStats::empty);
+    }
+
+    public QuizScoreStats topicStats(String topic, LearningLevel level) {
+        return topicScoreRepository.findByTopicKeyAndLevel(QuizBank.topicKey(topic), level)
+                .map(s -> QuizScoreStats.of(s.getAttempts(), s.getQuestions(), s.getCorrect(), s.getLastAttemptAt()))
+                .orElseGet(QuizScoreStats::empty);
+    }
+}
@@ -0,0 +1,245 @@
+package com.ai.education.platform.learning.quiz.service;
+
+import com.ai.education.platform.learning.enums.LearningLevel;
+import com.ai.education.platform.learning.quiz.entity.QuizAttempt;
+import com.ai.education.platform.learning.quiz.repository.QuizAttemptRepository;
+import com.ai.education.platform.learning.quiz.repository.QuizTopicScoreRepository;
+import com.ai.education.platform.learning.quiz.repository.QuizUserScoreRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+ * Write-behind for graded attempts, the request thread only enqueues:
+ *  - every flush-interval the queue is drained in batches of batch-size, one transaction per batch
+ *  - a batch is one batched INSERT (hibernate.jdbc.batch_size + reWriteBatchedInserts -> multi-row inserts)
+ *    plus one upsert per distinct user / topic of the batch adding its totals (scores are never recomputed with GROUP BY)
+ *  - a failed batch goes back to the front of the queue (ids cleared, so the retry persists instead of merging) and is
+ *    retried on the next flush, at most max-retries times; after that its rows are written one transaction each so a
+ *    poison row (constraint violation, ...) is isolated, logged and counted (quiz.attempts.dead-lettered) instead of
+ *    blocking the queue for good
+ *  - only the first attempt per (user, quiz) is stored and counted: record() refuses one already queued or stored,
+ *    and the unique (quizId, userId) constraint dead-letters what slips through (two nodes, same second)
+ * At most max-pending attempts wait in memory, beyond that they are dropped (counted), and the queue is flushed on shutdown.
+ * Score totals therefore lag the attempts by up to one flush interval.
+ */
+@Component
+@Slf4j
+public class QuizAttemptWriter {
+
+    private final QuizAttemptRepository attemptRepository;
+    private final QuizUserScoreRepository userScoreRepository;
+    private final QuizTopicScoreRepository topicScoreRepository;
+    private final TransactionTemplate transaction;
+    private final int batchSize;
+    private final int maxRetries;
+
+    private final BlockingDeque<Pending> pending;
+    private final Set<AttemptKey> pendingKeys = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock flushing = new ReentrantLock();
+
+    private final Counter dropped;
+    private final Counter deadLettered;
+    private final Timer batches;
+
+    public QuizAttemptWriter(
+            QuizAttemptRepository attemptRepository,
+            QuizUserScoreRepository userScoreRepository,
+            QuizTopicScoreRepository topicScoreRepository,
+            TransactionTemplate transaction,
+            MeterRegistry meterRegistry,
+            @Value("${quiz.attempts.batch-size:500}") int batchSize,
+            @Value("${quiz.attempts.max-pending:50000}") int maxPending,
+            @Value("${quiz.attempts.max-retries:5}") int maxRetries
+    ) {
+        this.attemptRepository = attemptRepository;
+        this.userScoreRepository = userScoreRepository;
+        this.topicScoreRepository = topicScoreRepository;
+        this.transaction = transaction;
+        this.batchSize = batchSize;
+        this.maxRetries = maxRetries;
+        this.pending = new LinkedBlockingDeque<>(maxPending);
+
+        this.dropped = Counter.builder("quiz.attempts.dropped")
+                .description("Graded attempts not stored because the write queue was full")
+                .register(meterRegistry);
+        this.deadLettered = Counter.builder("quiz.attempts.dead-lettered")
+                .description("Graded attempts given up on after max-retries failed batches and a failed single-row write")
+                .register(meterRegistry);
+        this.batches = Timer.builder("quiz.attempts.batch")
+                .description("Time to write one batch of attempts and their score totals")
+                .register(meterRegistry);
+        Gauge.builder("quiz.attempts.pending", pending, BlockingDeque::size)
+                .register(meterRegistry);
+    }
+
+    //false when the attempt is not stored: the user already took this quiz (queued or stored) or the queue is full
+    public boolean record(QuizAttempt attempt) {
+        AttemptKey key = AttemptKey.of(attempt);
+        if (!pendingKeys.add(key)) {
+            return false;
+        }
+        if (attemptRepository.existsByQuizIdAndUserId(attempt.getQuizId(), attempt.getUserId())) {
+            pendingKeys.remove(key);
+            return false;
+        }
+        if (!pending.offerLast(new Pending(attempt, 0))) {
+            pendingKeys.remove(key);
+            dropped.increment();
+            log.warn("Quiz attempt queue full, attempt of user {} on quiz {} not stored", attempt.getUserId(), attempt.getQuizId());
+            return false;
+        }
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${quiz.attempts.flush-interval:1s}")
+    public void flush() {
+        if (!flushing.tryLock()) {
+            return; //a flush is already draining the queue
+        }
+        try {
+            List<Pending> batch = new ArrayList<>(batchSize);
+            while (pending.drainTo(batch, batchSize) > 0) {
+                if (!write(batch)) {
+                    return; //db trouble, the batch is back in the queue, try again next interval
+                }
+                batch.clear();
+            }
+        } finally {
+            flushing.unlock();
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    private boolean write(List<Pending> batch) {
+        List<QuizAttempt> attempts = batch.stream().map(Pending::attempt).toList();
+        try {
+            batches.record(() -> writeInTransaction(attempts));
+            released(attempts);
+            return true;
+        } catch (RuntimeException ex) {
+            attempts.forEach(attempt -> attempt.setId(null)); //assigned by the rolled back persist, a retry would merge
+            int failures = batch.stream().mapToInt(Pending::failures).max().orElse(0) + 1;
+            if (failures >= maxRetries) {
+                log.warn("Writing {} quiz attempts failed {} times, writing them one by one: {}", batch.size(), failures, ex.getMessage());
+                writeOneByOne(attempts);
+                return true;
+            }
+            log.warn("Writing {} quiz attempts failed, retrying on the next flush: {}", batch.size(), ex.getMessage());
+            for (int i = batch.size() - 1; i >= 0; i--) {
+                if (!pending.offerFirst(new Pending(attempts.get(i), failures))) {
+                    pendingKeys.remove(AttemptKey.of(attempts.get(i)));
+                    dropped.increment();
+                }
+            }
+            return false;
+        }
+    }
+
+    private void writeOneByOne(List<QuizAttempt> attempts) {
+        for (QuizAttempt attempt : attempts) {
+            try {
+                writeInTransaction(List.of(attempt));
+            } catch (RuntimeException ex) {
+                attempt.setId(null);
+                deadLettered.increment();
+                log.error("Dead-lettered quiz attempt of user {} on quiz {} (topic {}, level {}, score {}/{}, answers {}, at {}): {}",
+                        attempt.getUserId(), attempt.getQuizId(), attempt.getTopicKey(), attempt.getLevel(),
+                        attempt.getScore(), attempt.getTotal(), Arrays.toString(attempt.getAnswers()), attempt.getCreatedAt(),
+                        ex.getMessage());
+            }
+        }
+        released(attempts);
+    }
+
+    private void writeInTransaction(List<QuizAttempt> attempts) {
+        transaction.executeWithoutResult(status -> {
+            attemptRepository.saveAll(attempts);
+            //sorted keys -> concurrent flushes (several nodes) lock the score rows in the same order
+            totalsByUser(attempts).forEach((userId, totals) -> userScoreRepository.add(
+                    userId, totals.attempts, totals.questions, totals.correct, totals.lastAttemptAt));
+            totalsByTopic(attempts).forEach((topic, totals) -> topicScoreRepository.add(
+                    topic.topicKey(), topic.level().name(), totals.attempts, totals.questions, totals.correct, totals.lastAttemptAt));
+        });
+    }
+
+    //stored (or given up on): from now on the db, not the in-memory key set, answers "already attempted"
+    private void released(List<QuizAttempt> attempts) {
+        attempts.forEach(attempt -> pendingKeys.remove(AttemptKey.of(attempt)));
+    }
+
+    private static Map<UUID, Totals> totalsByUser(List<QuizAttempt> batch) {
+        Map<UUID, Totals> totals = new TreeMap<>();
+        for (QuizAttempt attempt : batch) {
+            totals.computeIfAbsent(attempt.getUserId(), k -> new Totals()).add(attempt);
+        }
+        return totals;
+    }
+
+    private static Map<TopicLevel, Totals> totalsByTopic(List<QuizAttempt> batch) {
+        Map<TopicLevel, Totals> totals = new TreeMap<>();
+        for (QuizAttempt attempt : batch) {
+            totals.computeIfAbsent(new TopicLevel(attempt.getTopicKey(), attempt.getLevel()), k -> new Totals()).add(attempt);
+        }
+        return totals;
+    }
+
+    private record Pending(QuizAttempt attempt, int failures) {
+    }
+
+    private record AttemptKey(UUID userId, UUID quizId) {
+
+        static AttemptKey of(QuizAttempt attempt) {
+            return new AttemptKey(attempt.getUserId(), attempt.getQuizId());
+        }
+    }
+
+    private record TopicLevel(String topicKey, LearningLevel level) implements Comparable<TopicLevel> {
+
+        @Override
+        public int compareTo(TopicLevel other) {
+            int byTopic = topicKey.compareTo(other.topicKey);
+            return byTopic != 0 ? byTopic : level.compareTo(other.level);
+        }
+    }
+
+    private static final class Totals {
+        private long attempts;
+        private long questions;
+        private long correct;
+        private LocalDateTime lastAttemptAt;
+
+        void add(QuizAttempt attempt) {
+            attempts++;
+            questions += attempt.getTotal();
+            correct += attempt.getScore();
+            if (lastAttemptAt == null || attempt.getCreatedAt().isAfter(lastAttemptAt)) {
+                lastAttemptAt = attempt.getCreatedAt();
+            }
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.ai.education.platform.learning.quiz.service;
+
+import com.ai.education.platform.learning.common.Sha256;
+import com.ai.education.platform.learning.common.TextNormalizer;
+import com.ai.education.platform.learning.enums.LearningLevel;
+import com.ai.education.platform.learning.quiz.dto.QuizQuestion;
+import com.ai.education.platform.learning.quiz.dto.QuizResponse;
+import com.ai.education.platform.learning.quiz.entity.QuizBankQuestion;
+import com.ai.education.platform.learning.quiz.entity.QuizBankTopic;
+import com.ai.education.platform.learning.quiz.repository.QuizBankQuestionRepository;
+import com.ai.education.platform.learning.quiz.repository.QuizBankTopicRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+//Persisted question bank per (normalized topic, level), quizzes are sampled from it when it holds enough questions
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class QuizBank {
+
+    private final QuizBankQuestionRepository questionRepository;
+    private final QuizBankTopicRepository topicRepository;
+
+    public static String topicKey(String topic) {
+        return Sha256.hex(TextNormalizer.normalize(topic));
+    }
+
+    //empty when the bank can't fill the quiz without repeating a question
+    public Optional<QuizResponse> sample(String topic, LearningLevel level, int questionCount) {
+        List<QuizBankQuestion> sampled = questionRepository.sample(topicKey(topic), level.name(), questionCount);
+        if (sampled.size() < questionCount) {
+            return Optional.empty();
+        }
+        return Optional.of(toResponse(sampled));
+    }
+
+    //up to questionCount questions, fewer if that is all the bank has (fallback while the LLM is unavailable)
+    public Optional<QuizResponse> sampleAvailable(String topic, LearningLevel level, int questionCount) {
+        List<QuizBankQuestion> sampled = questionRepository.sample(topicKey(topic), level.name(), questionCount);
+        if (sampled.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(toResponse(sampled));
+    }
+
+    public long size(String topic, LearningLevel level) {
+        return questionRepository.countByTopicKeyAndLevel(topicKey(topic), level);
+    }
+
+    public List<String> recentQuestions(String topic, LearningLevel level, int limit) {
+        return questionRepository.findRecentQuestions(topicKey(topic), level, PageRequest.of(0, limit));
+    }
+
+    //returns how many of the questions were new to the bank
+    public int store(String topic, LearningLevel level, List<QuizQuestion> questions) {
+        String topicKey = topicKey(topic);
+        Set<String> known = questionRepository.findQuestionHashes(topicKey, level);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<QuizBankQuestion> fresh = new ArrayList<>();
+        for (QuizQuestion question : questions) {
+            String questionHash = Sha256.hex(TextNormalizer.normalize(question.question()));
+            if (known.add(questionHash)) {
+                fresh.add(QuizBankQuestion.builder()
+                        .topicKey(topicKey)
+                        .level(level)
+                        .question(question.question())
+                        .options(question.options())
+                        .correctAnswerIndex(question.correctAnswerIndex())
+                        .questionHash(questionHash)
+                        .createdAt(now)
+                        .build());
+            }
+        }
+
+        try {
+            questionRepository.saveAll(fresh);
+            return fresh.size();
+        } catch (DataIntegrityViolationException ex) {
+            //a concurrent refill stored some of the same questions, the next refill tops up the rest
+            log.debug("Quiz bank store raced for topic {} {}", topicKey, level);
+            return 0;
+        }
+    }
+
+    public void recordRequest(String topic, LearningLevel level) {
+        String topicKey = topicKey(topic);
+        LocalDateTime now = LocalDateTime.now();
+        if (topicRepository.incrementRequestCount(topicKey, level, now) > 0) {
+            return;
+        }
+        try {
+            topicRepository.save(QuizBankTopic.builder()
+                    .topicKey(topicKey)
+                    .level(level)
+                    .topic(topic.strip())
+                    .requestCount(1)
+                    .lastRequestedAt(now)
+                    .build());
+        } catch (DataIntegrityViolationException ex) {
+            topicRepository.incrementRequestCount(topicKey, level, now); //first request for the topic raced another one
+        }
+    }
+
+    private static QuizResponse toResponse(List<QuizBankQuestion> sampled) {
+        return new QuizResponse(sampled.stream()
+                .map(q -> new QuizQuestion(q.getQuestion(), List.copyOf(q.getOptions()), q.getCorrectAnswerIndex()))
+                .toList());
+    }
+}
@@ -0,0 +1,26 @@
+package com.ai.education.platform.learning.quiz.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/*
+ * quiz.bank.*
+ *  min-size          -> below this many questions a (topic, level) bank gets refilled
+ *  target-size       -> a refill of a popular topic generates batches until the bank reaches this size
+ *  batch-size        -> questions asked from the LLM per refill call (the only call a refill on a miss makes)
+ *  popular-threshold -> requests before a topic is topped up to target-size (on a miss and by the scheduler)
+ *  popular-topics    -> how many popular topics the scheduler looks at per run
+ *  refill-interval   -> scheduler delay between runs
+ */
+@ConfigurationProperties(prefix = "quiz.bank")
+public record QuizBankProperties(
+        boolean enabled,
+        int minSize,
+        int targetSize,
+        int batchSize,
+        long popularThreshold,
+        int popularTopics,
+        Duration refillInterval
+) {
+}
@@ -0,0 +1,95 @@
+package com.ai.education.platform.learning.quiz.service;
+
+import com.ai.education.platform.learning.enums.LearningLevel;
+import com.ai.education.platform.learning.quiz.dto.QuizResponse;
+import com.ai.education.platform.learning.quiz.entity.QuizBankTopic;
+import com.ai.education.platform.learning.quiz.repository.QuizBankTopicRepository;
+import com.ai.education.platform.llm.LlmClient;
+import com.ai.education.platform.llm.LlmFeature;
+import com.ai.education.platform.llm.LlmRequest;
+import com.ai.education.platform.llm.TokenBudget;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Tops up quiz banks in the background:
+ *  - on a miss for a specific (topic, level), asynchronously, with a single batch-size call unless the topic
+ *    is already popular (most topics are asked for once, a full bank for them would be paid for and never used)
+ *  - periodically for the most requested topics
+ * A popular bank below min-size is filled in batch-size LLM calls until it reaches target-size.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class QuizBankRefiller {
+
+    private final QuizBank quizBank;
+    private final QuizBankTopicRepository topicRepository;
+    private final QuizBankProperties properties;
+    private final QuizPromptBuilder promptBuilder;
+    private final QuizResponseParser responseParser;
+    private final LlmClient llmClient;
+    private final TokenBudget budget;
+
+    private static final int EXCLUDED_QUESTIONS = 30; //keeps the refill prompt small
+
+    //(topicKey:level) currently being refilled on this node
+    private final Set<String> refilling = ConcurrentHashMap.newKeySet();
+
+    @Async
+    public void refillAsync(String topic, LearningLevel level) {
+        boolean popular = topicRepository.findByTopicKeyAndLevel(QuizBank.topicKey(topic), level)
+                .map(t -> t.getRequestCount() >= properties.popularThreshold())
+                .orElse(false);
+        refill(topic, level, popular ? fullRefill() : 1);
+    }
+
+    @Scheduled(fixedDelayString = "${quiz.bank.refill-interval:PT10M}", initialDelayString = "${quiz.bank.refill-interval:PT10M}")
+    public void refillPopularTopics() {
+        if (!properties.enabled()) {
+            return;
+        }
+        for (QuizBankTopic topic : topicRepository.findByRequestCountGreaterThanEqualOrderByRequestCountDesc(
+                properties.popularThreshold(), PageRequest.of(0, properties.popularTopics()))) {
+            refill(topic.getTopic(), topic.getLevel(), fullRefill());
+        }
+    }
+
+    //enough calls to go from empty to target-size, bounded so a model that keeps returning duplicates can't loop forever
+    private int fullRefill() {
+        return properties.targetSize() / properties.batchSize() + 1;
+    }
+
+    void refill(String topic, LearningLevel level, int maxCalls) {
+        String key = QuizBank.topicKey(topic) + ":" + level;
+        if (!refilling.add(key)) {
+            return;
+        }
+        try {
+            long size = quizBank.size(topic, level);
+            if (size >= properties.minSize()) {
+                return;
+            }
+            for (int call = 0; call < maxCalls && size < properties.targetSize(); call++) {
+                String prompt = promptBuilder.build(topic, level, properties.batchSize(),
+                        quizBank.recentQuestions(topic, level, EXCLUDED_QUESTIONS));
+                QuizResponse generated = responseParser.parse(
+                        llmClient.call(budget.limit(LlmRequest.of(LlmFeature.QUIZ, level, prompt),
+                                budget.quiz(properties.batchSize()))));
+                size += quizBank.store(topic, level, generated.quiz());
+            }
+            log.info("Quiz bank for '{}' {} refilled to {} questions", topic, level, size);
+        } catch (RuntimeException ex) {
+            log.warn("Quiz bank refill failed for '{}' {}: {}", topic, level, ex.getMessage());
+        } finally {
+            refilling.remove(key);
+        }
+    }
+}
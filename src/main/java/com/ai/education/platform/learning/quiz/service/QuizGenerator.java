@@ -0,0 +1,129 @@
+package com.ai.education.platform.learning.quiz.service;
+
+import com.ai.education.platform.learning.enums.LearningLevel;
+import com.ai.education.platform.learning.quiz.dto.QuizQuestion;
+import com.ai.education.platform.learning.quiz.dto.QuizResponse;
+import com.ai.education.platform.llm.LlmClient;
+import com.ai.education.platform.llm.LlmFeature;
+import com.ai.education.platform.llm.LlmRequest;
+import com.ai.education.platform.llm.LlmUnavailableException;
+import com.ai.education.platform.llm.TokenBudget;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Live quiz generation with validate-and-repair:
+ *  1: ask for the full quiz, keep every valid question (see QuizResponseParser)
+ *  2: if some are missing/invalid, ask only for the missing ones (telling the model which exist already)
+ * Before this a single bad question failed the request and the client regenerated the whole quiz,
+ * the counters below report how often repairs were needed and the tokens saved compared to that full regeneration
+ * (calls saved overall = quiz.repair.salvaged - quiz.repair.calls, one regeneration per salvaged answer).
+ */
+@Component
+@Slf4j
+public class QuizGenerator {
+
+    private final LlmClient llmClient;
+    private final QuizPromptBuilder promptBuilder;
+    private final QuizResponseParser responseParser;
+    private final TokenBudget budget;
+    private final int maxRepairCalls;
+
+    private final Counter salvaged;
+    private final Counter repairCalls;
+    private final Counter salvagedWithoutCall;
+    private final Counter savedTokens;
+
+    public QuizGenerator(
+            LlmClient llmClient,
+            QuizPromptBuilder promptBuilder,
+            QuizResponseParser responseParser,
+            TokenBudget budget,
+            MeterRegistry meterRegistry,
+            @Value("${quiz.repair.max-calls:2}") int maxRepairCalls
+    ) {
+        this.llmClient = llmClient;
+        this.promptBuilder = promptBuilder;
+        this.responseParser = responseParser;
+        this.budget = budget;
+        this.maxRepairCalls = maxRepairCalls;
+
+        this.salvaged = Counter.builder("quiz.repair.salvaged")
+                .description("Quiz answers with invalid or missing questions that were kept instead of regenerated")
+                .register(meterRegistry);
+        this.repairCalls = Counter.builder("quiz.repair.calls")
+                .description("Follow-up LLM calls asking only for missing questions")
+                .register(meterRegistry);
+        this.salvagedWithoutCall = Counter.builder("quiz.repair.salvaged.without.call")
+                .description("Salvaged quiz answers that were complete without any repair call")
+                .register(meterRegistry);
+        this.savedTokens = Counter.builder("quiz.repair.saved.tokens")
+                .description("Estimated LLM tokens saved compared to regenerating the whole quiz")
+                .register(meterRegistry);
+    }
+
+    public QuizResponse generate(String topic, LearningLevel level, int questionCount) {
+        String prompt = promptBuilder.build(topic, level, questionCount);
+        String aiResponse = llmClient.call(budget.limit(LlmRequest.of(LlmFeature.QUIZ, level, prompt),
+                budget.quiz(questionCount)));
+
+        QuizSalvage first = responseParser.salvage(aiResponse);
+        List<QuizQuestion> questions = new ArrayList<>(first.valid().subList(0, Math.min(questionCount, first.valid().size())));
+
+        //what the old behaviour (fail -> client regenerates everything) would have cost again
+        long regenerationTokens = budget.countTokens(prompt) + budget.countTokens(aiResponse);
+        boolean defective = first.rejected() > 0 || questions.size() < questionCount || !isBareJson(aiResponse);
+
+        int calls = 0;
+        long repairTokens = 0;
+        while (questions.size() < questionCount && calls < maxRepairCalls) {
+            int missing = questionCount - questions.size();
+            String repairPrompt = promptBuilder.build(topic, level, missing,
+                    questions.stream().map(QuizQuestion::question).toList());
+            String repaired;
+            try {
+                repaired = llmClient.call(budget.limit(LlmRequest.of(LlmFeature.QUIZ, level, repairPrompt),
+                        budget.quiz(missing)));
+            } catch (LlmUnavailableException ex) {
+                break; //keep the valid questions we have, a shorter quiz beats none
+            }
+            calls++;
+            repairTokens += budget.countTokens(repairPrompt) + budget.countTokens(repaired);
+
+            for (QuizQuestion question : responseParser.salvage(repaired).valid()) {
+                boolean duplicate = questions.stream()
+                        .anyMatch(existing -> existing.question().strip().equalsIgnoreCase(question.question().strip()));
+                if (questions.size() < questionCount && !duplicate) {
+                    questions.add(question);
+                }
+            }
+        }
+
+        if (questions.isEmpty()) {
+            throw new IllegalArgumentException("Failed to parse quiz response");
+        }
+
+        if (defective) {
+            salvaged.increment();
+            repairCalls.increment(calls);
+            if (calls == 0) {
+                salvagedWithoutCall.increment();
+            }
+            savedTokens.increment(Math.max(0, regenerationTokens - repairTokens));
+            log.debug("Quiz repaired: {} rejected, {} repair call(s), {}/{} questions",
+                    first.rejected(), calls, questions.size(), questionCount);
+        }
+        return new QuizResponse(questions);
+    }
+
+    private static boolean isBareJson(String aiResponse) {
+        String trimmed = aiResponse == null ? "" : aiResponse.strip();
+        return trimmed.startsWith("{") && trimmed.endsWith("}");
+    }
+}
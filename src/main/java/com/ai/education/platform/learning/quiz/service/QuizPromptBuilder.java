@@ -3,6 +3,8 @@ package com.ai.education.platform.learning.quiz.service;
 import com.ai.education.platform.learning.enums.LearningLevel;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 
 @Component
 public class QuizPromptBuilder {
@@ -56,4 +58,23 @@ public class QuizPromptBuilder {
                 Return ONLY valid JSON.
                 """.formatted(topic, level.name(), questionCount);
     }
+
+    //same quiz prompt, but the model is told which questions already exist (question bank refills)
+    public String build(
+            String topic,
+            LearningLevel level,
+            int questionCount,
+            List<String> existingQuestions
+    ) {
+        if (existingQuestions.isEmpty()) {
+            return build(topic, level, questionCount);
+        }
+
+        return build(topic, level, questionCount) + """
+                
+                The following questions already exist. Do NOT repeat or rephrase them,
+                cover different aspects of the topic instead:
+                %s
+                """.formatted(String.join("\n", existingQuestions.stream().map(q -> "- " + q).toList()));
+    }
 }
@@ -0,0 +1,104 @@
+package com.ai.education.platform.learning.quiz.service;
+
+import com.ai.education.platform.learning.quiz.dto.QuizQuestion;
+import com.ai.education.platform.learning.quiz.dto.QuizResponse;
+import com.ai.education.platform.llm.LlmFeature;
+import com.ai.education.platform.llm.LlmMetrics;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/*
+ * Tolerant reader for LLM quiz output. Instead of failing on the first problem it
+ *  - ignores anything around the JSON (```json fences, "Here is your quiz:")
+ *  - reads every question object on its own, so a truncated answer still yields its complete questions
+ *  - keeps only questions that pass validation (4 distinct options, correctAnswerIndex in range)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class QuizResponseParser {
+
+    public static final int OPTION_COUNT = 4;
+
+    private final ObjectMapper objectMapper;
+    private final LlmMetrics metrics;
+
+    //all or nothing view, used where a partial quiz is no use
+    public QuizResponse parse(String aiResponse) {
+        QuizSalvage salvage = salvage(aiResponse);
+        if (salvage.valid().isEmpty()) {
+            throw new IllegalArgumentException("Failed to parse quiz response");
+        }
+        return new QuizResponse(salvage.valid());
+    }
+
+    public QuizSalvage salvage(String aiResponse) {
+        if (aiResponse == null) {
+            return new QuizSalvage(List.of(), 0);
+        }
+
+        List<QuizQuestion> valid = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        int rejected = 0;
+
+        for (String questionJson : new QuizStreamParser().feed(aiResponse)) {
+            Optional<QuizQuestion> question = parseQuestion(questionJson);
+            if (question.isPresent() && seen.add(question.get().question().strip())) {
+                valid.add(question.get());
+            } else {
+                rejected++;
+            }
+        }
+        return new QuizSalvage(valid, rejected);
+    }
+
+    //single question object, empty when it is malformed or fails validation
+    public Optional<QuizQuestion> parseQuestion(String questionJson) {
+        try {
+            JsonNode node = objectMapper.readTree(questionJson);
+
+            List<String> options = new ArrayList<>();
+            node.path("options").forEach(option -> options.add(option.asText()));
+
+            QuizQuestion question = new QuizQuestion(
+                    node.path("question").asText(),
+                    options,
+                    node.path("correctAnswerIndex").asInt(-1) //numbers sent as "2" are accepted too
+            );
+
+            if (isValid(question)) {
+                return Optional.of(question);
+            }
+            log.debug("Rejected invalid quiz question: {}", questionJson);
+        } catch (Exception e) {
+            log.debug("Rejected unparseable quiz question: {}", e.getMessage());
+        }
+        metrics.recordParseFailure(LlmFeature.QUIZ);
+        return Optional.empty();
+    }
+
+    public static boolean isValid(QuizQuestion question) {
+        if (question.question() == null || question.question().isBlank()) {
+            return false;
+        }
+        if (question.options() == null || question.options().size() != OPTION_COUNT) {
+            return false;
+        }
+        if (question.options().stream().anyMatch(option -> option == null || option.isBlank())) {
+            return false;
+        }
+        if (new HashSet<>(question.options()).size() != OPTION_COUNT) {
+            return false;
+        }
+        return question.correctAnswerIndex() >= 0 && question.correctAnswerIndex() < OPTION_COUNT;
+    }
+}
@@ -0,0 +1,12 @@
+package com.ai.education.platform.learning.quiz.service;
+
+import com.ai.education.platform.learning.quiz.dto.QuizQuestion;
+
+import java.util.List;
+
+//What could be rescued from one LLM quiz answer: the usable questions and how many were thrown away
+public record QuizSalvage(
+        List<QuizQuestion> valid,
+        int rejected
+) {
+}
@@ -1,39 +1,149 @@
 package com.ai.education.platform.learning.quiz.service;
 
+import com.ai.education.platform.learning.quiz.dto.QuizQuestion;
+import com.ai.education.platform.learning.quiz.dto.QuizQuestionView;
 import com.ai.education.platform.learning.quiz.dto.QuizRequest;
 import com.ai.education.platform.learning.quiz.dto.QuizResponse;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import jakarta.validation.Valid;
+import com.ai.education.platform.learning.quiz.dto.QuizView;
+import com.ai.education.platform.llm.LlmClient;
+import com.ai.education.platform.llm.LlmFeature;
+import com.ai.education.platform.llm.LlmMetrics;
+import com.ai.education.platform.llm.LlmRequest;
+import com.ai.education.platform.llm.LlmUnavailableException;
+import com.ai.education.platform.llm.TokenBudget;
 import lombok.RequiredArgsConstructor;
-import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 public class QuizService {
 
-    private final ChatClient chatClient;
+    private final LlmClient llmClient;
     private final QuizPromptBuilder promptBuilder;
-    private final ObjectMapper objectMapper;
+    private final QuizResponseParser responseParser;
+    private final QuizBank quizBank;
+    private final QuizBankRefiller bankRefiller;
+    private final QuizBankProperties bankProperties;
+    private final QuizGenerator quizGenerator;
+    private final QuizStore quizStore;
+    private final LlmMetrics metrics;
+    private final TokenBudget budget;
+
+    //stored with its answer key, the client only gets the questions + quiz id (graded by QuizAttemptService)
+    public QuizView generateQuiz(UUID userId, QuizRequest request) {
+        QuizResponse quiz = generateQuiz(request);
+        return quizStore.save(userId, request.topic(), request.level(), quiz.quiz());
+    }
+
+    //questions without answers as they arrive, the quiz is stored when the stream completes under the id known up front
+    public QuizStream streamQuiz(UUID userId, QuizRequest request) {
+        UUID quizId = UUID.randomUUID();
+        Flux<QuizQuestionView> questions = Flux.defer(() -> {
+            List<QuizQuestion> emitted = new ArrayList<>();
+            return streamQuiz(request)
+                    .doOnNext(emitted::add)
+                    .map(QuizQuestionView::of)
+                    .concatWith(Mono.fromRunnable(() -> {
+                                if (!emitted.isEmpty()) {
+                                    quizStore.save(quizId, userId, request.topic(), request.level(), emitted);
+                                }
+                            })
+                            .subscribeOn(Schedulers.boundedElastic())
+                            .then(Mono.empty()));
+        });
+        return new QuizStream(quizId, questions);
+    }
+
+    private QuizResponse generateQuiz(QuizRequest request) {
+        if (!bankProperties.enabled()) {
+            return generateLive(request);
+        }
+
+        quizBank.recordRequest(request.topic(), request.level());
+
+        //popular topics are answered from the bank without an LLM call
+        Optional<QuizResponse> banked = quizBank.sample(request.topic(), request.level(), request.questionCount());
+        if (banked.isPresent()) {
+            return banked.get();
+        }
+
+        QuizResponse generated;
+        try {
+            generated = generateLive(request);
+        } catch (LlmUnavailableException ex) {
+            return fallback(request).orElseThrow(() -> ex);
+        }
+        quizBank.store(request.topic(), request.level(), generated.quiz());
+        bankRefiller.refillAsync(request.topic(), request.level());
+        return generated;
+    }
+
+    //Emits each question as soon as its closing brace is generated, banked quizzes are emitted at once
+    private Flux<QuizQuestion> streamQuiz(QuizRequest request) {
+        if (bankProperties.enabled()) {
+            quizBank.recordRequest(request.topic(), request.level());
+            Optional<QuizResponse> banked = quizBank.sample(request.topic(), request.level(), request.questionCount());
+            if (banked.isPresent()) {
+                return Flux.fromIterable(banked.get().quiz());
+            }
+        }
 
-    public QuizResponse generateQuiz(QuizRequest request) {
         String prompt = promptBuilder.build(
                 request.topic(),
                 request.level(),
                 request.questionCount()
         );
 
-        String aiResponse = chatClient
-                .prompt(prompt)
-                .call()
-                .content();
+        return Flux.defer(() -> {
+            QuizStreamParser parser = new QuizStreamParser();
+            List<QuizQuestion> received = new ArrayList<>();
 
-        //Use ObjectMapper to convert AI JSON strings into typed Java objects.
-        try { //It converts a JSON string into Java objects.[ AI response = String ,Controller response = Java object, Spring converts Java → JSON automatically
-            return objectMapper.readValue(aiResponse, QuizResponse.class);
-        } catch (Exception e) {
-            throw new IllegalArgumentException("Failed to parse quiz response", e);
+            return llmClient.stream(budget.limit(LlmRequest.of(LlmFeature.QUIZ, request.level(), prompt),
+                            budget.quiz(request.questionCount())))
+                    .concatMapIterable(parser::feed)
+                    .concatMap(json -> Mono.justOrEmpty(responseParser.parseQuestion(json)))
+                    .take(request.questionCount())
+                    .doOnNext(received::add)
+                    //banked questions can only stand in before the first streamed one
+                    .onErrorResume(LlmUnavailableException.class, ex -> !received.isEmpty()
+                            ? Flux.error(ex)
+                            : Mono.fromCallable(() -> fallback(request).orElseThrow(() -> ex))
+                                    .subscribeOn(Schedulers.boundedElastic())
+                                    .flatMapIterable(QuizResponse::quiz))
+                    .concatWith(Mono.fromRunnable(() -> bankStreamed(request, received))
+                            .subscribeOn(Schedulers.boundedElastic())
+                            .then(Mono.empty()));
+        });
+    }
+
+    private void bankStreamed(QuizRequest request, List<QuizQuestion> questions) {
+        if (bankProperties.enabled() && !questions.isEmpty()) {
+            quizBank.store(request.topic(), request.level(), questions);
+            bankRefiller.refillAsync(request.topic(), request.level());
         }
+    }
 
+    //LLM unavailable -> whatever the bank holds for the topic, even if fewer questions than asked for
+    private Optional<QuizResponse> fallback(QuizRequest request) {
+        Optional<QuizResponse> banked = quizBank.sampleAvailable(request.topic(), request.level(), request.questionCount());
+        banked.ifPresent(quiz -> metrics.recordFallback(LlmFeature.QUIZ));
+        return banked;
+    }
+
+    //invalid / missing questions are repaired with a small follow-up call, not a full regeneration
+    private QuizResponse generateLive(QuizRequest request) {
+        return quizGenerator.generate(
+                request.topic(),
+                request.level(),
+                request.questionCount()
+        );
     }
 }
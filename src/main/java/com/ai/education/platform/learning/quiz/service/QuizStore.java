@@ -0,0 +1,76 @@
+package com.ai.education.platform.learning.quiz.service;
+
+import com.ai.education.platform.learning.enums.LearningLevel;
+import com.ai.education.platform.learning.quiz.dto.QuizQuestion;
+import com.ai.education.platform.learning.quiz.dto.QuizQuestionView;
+import com.ai.education.platform.learning.quiz.dto.QuizView;
+import com.ai.education.platform.learning.quiz.entity.Quiz;
+import com.ai.education.platform.learning.quiz.repository.QuizRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/*
+ * Every quiz handed out is stored with its answer key, the client only gets the questions + the quiz id.
+ * Answer keys of recent quizzes stay in memory, so grading an attempt is an array compare without a db read
+ * (the key is loaded by id after a restart / eviction).
+ */
+@Service
+public class QuizStore {
+
+    private final QuizRepository quizRepository;
+    private final Cache<UUID, QuizAnswerKey> answerKeys;
+
+    public QuizStore(
+            QuizRepository quizRepository,
+            MeterRegistry meterRegistry,
+            @Value("${quiz.answer-keys.max-size:100000}") long maxSize,
+            @Value("${quiz.answer-keys.ttl:6h}") Duration ttl
+    ) {
+        this.quizRepository = quizRepository;
+        this.answerKeys = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, answerKeys, "quiz-answer-keys");
+    }
+
+    public QuizView save(UUID userId, String topic, LearningLevel level, List<QuizQuestion> questions) {
+        return save(UUID.randomUUID(), userId, topic, level, questions);
+    }
+
+    //id chosen by the caller (streams), save() of an assigned id costs one extra PK lookup, nothing next to the LLM call
+    public QuizView save(UUID id, UUID userId, String topic, LearningLevel level, List<QuizQuestion> questions) {
+        List<QuizQuestionView> views = questions.stream().map(QuizQuestionView::of).toList();
+        int[] answers = questions.stream().mapToInt(QuizQuestion::correctAnswerIndex).toArray();
+        String topicKey = QuizBank.topicKey(topic);
+
+        quizRepository.save(Quiz.builder()
+                .id(id)
+                .userId(userId)
+                .topic(topic)
+                .topicKey(topicKey)
+                .level(level)
+                .questions(views)
+                .answerKey(answers)
+                .createdAt(LocalDateTime.now())
+                .build());
+
+        answerKeys.put(id, new QuizAnswerKey(topicKey, level, answers));
+        return new QuizView(id, views);
+    }
+
+    public Optional<QuizAnswerKey> answerKey(UUID quizId) {
+        return Optional.ofNullable(answerKeys.get(quizId, id -> quizRepository.findAnswerKey(id).orElse(null)));
+    }
+}
@@ -0,0 +1,13 @@
+package com.ai.education.platform.learning.quiz.service;
+
+import com.ai.education.platform.learning.quiz.dto.QuizQuestionView;
+import reactor.core.publisher.Flux;
+
+import java.util.UUID;
+
+//quizId is valid for attempts once questions completed (the quiz is stored at the end of the stream)
+public record QuizStream(
+        UUID quizId,
+        Flux<QuizQuestionView> questions
+) {
+}
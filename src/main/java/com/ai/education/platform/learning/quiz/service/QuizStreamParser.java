@@ -0,0 +1,74 @@
+package com.ai.education.platform.learning.quiz.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/*
+ * Incremental scanner for the {"quiz":[ {...}, {...} ]} shape while it is still being generated.
+ * Feed it raw tokens in arrival order, it returns the JSON text of every array element object
+ * whose closing brace has just arrived. Anything outside the JSON (markdown fences, chatter) is skipped.
+ * One instance per stream, not thread safe.
+ */
+public class QuizStreamParser {
+
+    private final Deque<Character> containers = new ArrayDeque<>(); //open '{' / '[' in the document
+    private final StringBuilder element = new StringBuilder();     //element object being captured
+
+    private int elementDepth = -1; //container depth where the captured element started, -1 = not capturing
+    private boolean inString;
+    private boolean escaped;
+
+    public List<String> feed(String chunk) {
+        List<String> completed = new ArrayList<>();
+
+        for (int i = 0; i < chunk.length(); i++) {
+            char c = chunk.charAt(i);
+            boolean capturing = elementDepth >= 0;
+
+            if (inString) {
+                if (capturing) {
+                    element.append(c);
+                }
+                if (escaped) {
+                    escaped = false;
+                } else if (c == '\\') {
+                    escaped = true;
+                } else if (c == '"') {
+                    inString = false;
+                }
+                continue;
+            }
+
+            switch (c) {
+                case '"' -> inString = true;
+                case '{' -> {
+                    if (!capturing && !containers.isEmpty() && containers.peek() == '[') {
+                        elementDepth = containers.size();
+                        capturing = true;
+                    }
+                    containers.push(c);
+                }
+                case '[' -> containers.push(c);
+                case '}', ']' -> {
+                    if (!containers.isEmpty()) {
+                        containers.pop();
+                    }
+                }
+                default -> {
+                }
+            }
+
+            if (capturing) {
+                element.append(c);
+                if (c == '}' && containers.size() == elementDepth) {
+                    completed.add(element.toString());
+                    element.setLength(0);
+                    elementDepth = -1;
+                }
+            }
+        }
+        return completed;
+    }
+}
@@ -0,0 +1,31 @@
+package com.ai.education.platform.learning.roadmap.actuator;
+
+import com.ai.education.platform.learning.roadmap.service.RoadmapCache;
+import com.ai.education.platform.learning.roadmap.service.RoadmapCacheStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/*
+ * stats -> counters, invalidate -> drop every cached roadmap (both tiers)
+ * JMX only (management.endpoints.jmx.exposure): the web actuator is open to every signed in user and there are no roles
+ */
+@Component
+@Endpoint(id = "roadmapcache")
+@RequiredArgsConstructor
+public class RoadmapCacheEndpoint {
+
+    private final RoadmapCache roadmapCache;
+
+    @ReadOperation
+    public RoadmapCacheStats stats() {
+        return roadmapCache.stats();
+    }
+
+    @DeleteOperation
+    public void invalidate() {
+        roadmapCache.invalidateAll();
+    }
+}
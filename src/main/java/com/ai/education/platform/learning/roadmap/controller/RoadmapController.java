@@ -1,14 +1,35 @@
 package com.ai.education.platform.learning.roadmap.controller;
 
+import com.ai.education.platform.auth.security.JwtUserPrincipal;
+import com.ai.education.platform.learning.common.StoredMarkdown;
+import com.ai.education.platform.learning.roadmap.dto.RoadmapHistoryPage;
+import com.ai.education.platform.learning.roadmap.dto.RoadmapHistoryResponse;
 import com.ai.education.platform.learning.roadmap.dto.RoadmapRequest;
 import com.ai.education.platform.learning.roadmap.dto.RoadmapResponse;
+import com.ai.education.platform.learning.roadmap.service.RoadmapHistoryService;
 import com.ai.education.platform.learning.roadmap.service.RoadmapService;
+import com.ai.education.platform.learning.stream.SseStreams;
+import com.ai.education.platform.learning.stream.StreamChunk;
+import com.ai.education.platform.llm.LlmFeature;
+import com.ai.education.platform.ratelimit.RateLimited;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/roadmap")
@@ -16,15 +37,62 @@ import org.springframework.web.bind.annotation.RestController;
 public class RoadmapController {
 
     private final RoadmapService roadmapService;
+    private final RoadmapHistoryService historyService;
 
     @PostMapping
-    public RoadmapResponse generate(@RequestBody @Valid RoadmapRequest request){
+    @RateLimited(LlmFeature.ROADMAP)
+    public RoadmapResponse generate(
+            @AuthenticationPrincipal JwtUserPrincipal principal,
+            @RequestBody @Valid RoadmapRequest request){
 
         String roadmap = roadmapService.generateRoadmap( //we get llm response in String
+                principal.userId(),
                 request.goal(),
                 request.level()
         );
 
         return new RoadmapResponse(roadmap);
     }
+
+    @PostMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @RateLimited(LlmFeature.ROADMAP)
+    public Flux<ServerSentEvent<StreamChunk>> stream(
+            @AuthenticationPrincipal JwtUserPrincipal principal,
+            @RequestBody @Valid RoadmapRequest request){
+        return SseStreams.markdown(
+                roadmapService.streamRoadmap(principal.userId(), request.goal(), request.level()),
+                "roadmap"
+        );
+    }
+
+    //newest first, pass the returned nextCursor to get the next page
+    @GetMapping("/history")
+    public RoadmapHistoryPage history(
+            @AuthenticationPrincipal JwtUserPrincipal principal,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size){
+        return historyService.page(principal.userId(), cursor, size);
+    }
+
+    @GetMapping("/history/{id}")
+    public ResponseEntity<RoadmapHistoryResponse> historyEntry(
+            @AuthenticationPrincipal JwtUserPrincipal principal,
+            @PathVariable UUID id){
+        return historyService.find(principal.userId(), id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    //raw markdown with a strong ETag, If-None-Match -> 304, Accept-Encoding: gzip -> stored gzip bytes as they are
+    @GetMapping("/history/{id}/content")
+    public ResponseEntity<byte[]> historyContent(
+            @AuthenticationPrincipal JwtUserPrincipal principal,
+            @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding){
+        return historyService.contentHash(principal.userId(), id)
+                .map(hash -> StoredMarkdown.respond(hash, ifNoneMatch, acceptEncoding,
+                        () -> historyService.compressedContent(principal.userId(), id)))
+                .orElse(ResponseEntity.notFound().build());
+    }
 }
@@ -0,0 +1,16 @@
+package com.ai.education.platform.learning.roadmap.dto;
+
+import com.ai.education.platform.learning.enums.LearningLevel;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+//One row of the history list, no body
+public record RoadmapHistoryItem(
+        UUID id,
+        String goal,
+        LearningLevel level,
+        int contentSize,
+        LocalDateTime createdAt
+) {
+}
@@ -0,0 +1,10 @@
+package com.ai.education.platform.learning.roadmap.dto;
+
+import java.util.List;
+
+//nextCursor is null on the last page, otherwise pass it as ?cursor= to get the next (older) page
+public record RoadmapHistoryPage(
+        List<RoadmapHistoryItem> items,
+        String nextCursor
+) {
+}
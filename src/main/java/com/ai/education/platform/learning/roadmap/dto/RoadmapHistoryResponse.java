@@ -0,0 +1,15 @@
+package com.ai.education.platform.learning.roadmap.dto;
+
+import com.ai.education.platform.learning.enums.LearningLevel;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record RoadmapHistoryResponse(
+        UUID id,
+        String goal,
+        LearningLevel level,
+        LocalDateTime createdAt,
+        String roadmap
+) {
+}
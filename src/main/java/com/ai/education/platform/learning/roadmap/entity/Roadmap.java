@@ -1,4 +1,52 @@
 package com.ai.education.platform.learning.roadmap.entity;
 
+import com.ai.education.platform.learning.enums.LearningLevel;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+//Persistent tier of the roadmap cache: one generated roadmap per normalized (goal, level, promptVersion)
+@Entity
+@Table(name = "roadmaps",
+        uniqueConstraints = {
+                @UniqueConstraint(columnNames = "cacheKey")
+        },
+        indexes = {
+                @Index(name = "idx_roadmaps_prompt_version", columnList = "promptVersion"),
+                @Index(name = "idx_roadmaps_created_at", columnList = "createdAt")
+        }
+)
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
 public class Roadmap {
+
+    @Id
+    @GeneratedValue
+    private UUID id;
+
+    //sha-256 of the normalized key, goals are free text so we don't put a unique index on them directly
+    @Column(nullable = false, length = 64)
+    private String cacheKey;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String goal;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private LearningLevel level;
+
+    @Column(nullable = false)
+    private int promptVersion;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String content;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
 }
@@ -0,0 +1,55 @@
+package com.ai.education.platform.learning.roadmap.entity;
+
+import com.ai.education.platform.learning.enums.LearningLevel;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+//Every roadmap a user generated (also cache hits), body stored gzip compressed
+@Entity
+@Table(name = "roadmap_history",
+        indexes = {
+                //keyset pagination of GET /roadmap/history walks this index backwards
+                @Index(name = "idx_roadmap_history_user_created", columnList = "userId, createdAt, id")
+        }
+)
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class RoadmapHistory {
+
+    @Id
+    @GeneratedValue
+    private UUID id;
+
+    @Column(nullable = false)
+    private UUID userId;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String goal;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private LearningLevel level;
+
+    //uncompressed size in bytes, lets the list show it without touching the body
+    @Column(nullable = false)
+    private int contentSize;
+
+    //sha-256 of the markdown, strong ETag of /history/{id}/content (null on rows written before it, filled on first read)
+    @Column(length = 64)
+    private String contentHash;
+
+    //gzip of the markdown (see Gzip). Eager like every basic column without bytecode enhancement,
+    //so lists and the content endpoint select projections (RoadmapHistoryRepository), only the detail view loads the entity
+    @Column(nullable = false, columnDefinition = "bytea")
+    private byte[] content;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
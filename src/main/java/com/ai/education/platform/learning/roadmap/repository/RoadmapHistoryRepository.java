@@ -0,0 +1,56 @@
+package com.ai.education.platform.learning.roadmap.repository;
+
+import com.ai.education.platform.learning.roadmap.dto.RoadmapHistoryItem;
+import com.ai.education.platform.learning.roadmap.entity.RoadmapHistory;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface RoadmapHistoryRepository extends JpaRepository<RoadmapHistory, UUID> {
+
+    //list queries select into RoadmapHistoryItem, the compressed body is never read
+    @Query("""
+            select new com.ai.education.platform.learning.roadmap.dto.RoadmapHistoryItem(
+                r.id, r.goal, r.level, r.contentSize, r.createdAt)
+            from RoadmapHistory r
+            where r.userId = :userId
+            order by r.createdAt desc, r.id desc
+            """)
+    List<RoadmapHistoryItem> findFirstPage(UUID userId, Limit limit);
+
+    //keyset: rows strictly after the cursor (createdAt, id) in the same order, index seek instead of OFFSET.
+    //The leading createdAt <= bound is the range the planner seeks on (user_id, created_at, id), the or only filters ties
+    @Query("""
+            select new com.ai.education.platform.learning.roadmap.dto.RoadmapHistoryItem(
+                r.id, r.goal, r.level, r.contentSize, r.createdAt)
+            from RoadmapHistory r
+            where r.userId = :userId
+              and r.createdAt <= :createdAt
+              and (r.createdAt < :createdAt or r.id < :id)
+            order by r.createdAt desc, r.id desc
+            """)
+    List<RoadmapHistoryItem> findPageAfter(UUID userId, LocalDateTime createdAt, UUID id, Limit limit);
+
+    Optional<RoadmapHistory> findByIdAndUserId(UUID id, UUID userId);
+
+    //conditional GET: the hash answers a 304 without reading the body
+    @Query("select r.contentHash from RoadmapHistory r where r.id = :id and r.userId = :userId")
+    Optional<String> findContentHash(UUID id, UUID userId);
+
+    @Query("select r.content from RoadmapHistory r where r.id = :id and r.userId = :userId")
+    Optional<byte[]> findContent(UUID id, UUID userId);
+
+    @Transactional
+    @Modifying
+    @Query("update RoadmapHistory r set r.contentHash = :contentHash where r.id = :id")
+    int setContentHash(UUID id, String contentHash);
+}
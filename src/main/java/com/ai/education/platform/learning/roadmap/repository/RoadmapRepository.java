@@ -1,4 +1,39 @@
 package com.ai.education.platform.learning.roadmap.repository;
 
-public interface RoadmapRepository {
+import com.ai.education.platform.learning.roadmap.entity.Roadmap;
+import com.ai.education.platform.learning.roadmap.service.RoadmapCacheKey;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface RoadmapRepository extends JpaRepository<Roadmap, UUID> {
+
+    Optional<Roadmap> findByCacheKeyAndCreatedAtAfter(String cacheKey, LocalDateTime notBefore); //cache lookup (ignores expired rows)
+
+    Optional<Roadmap> findByCacheKey(String cacheKey); //fallback while the LLM is down, expired rows are still better than nothing
+
+    //keys of the newest roadmaps, seeds the near-duplicate goal index on startup without loading any content
+    @Query("select new com.ai.education.platform.learning.roadmap.service.RoadmapCacheKey(r.goal, r.level, r.promptVersion) " +
+            "from Roadmap r where r.promptVersion = :promptVersion order by r.createdAt desc")
+    List<RoadmapCacheKey> findRecentKeys(int promptVersion, Limit limit);
+
+    //bulk deletes so invalidation doesn't load every row into the persistence context
+    @Transactional
+    @Modifying
+    @Query("delete from Roadmap r where r.promptVersion <> :promptVersion")
+    int deleteByPromptVersionNot(int promptVersion);
+
+    @Transactional
+    @Modifying
+    @Query("delete from Roadmap r where r.createdAt < :cutoff")
+    int deleteByCreatedAtBefore(LocalDateTime cutoff);
 }
@@ -0,0 +1,215 @@
+package com.ai.education.platform.learning.roadmap.service;
+
+import com.ai.education.platform.learning.common.NearDuplicateIndex;
+import com.ai.education.platform.learning.enums.LearningLevel;
+import com.ai.education.platform.learning.roadmap.entity.Roadmap;
+import com.ai.education.platform.learning.roadmap.repository.RoadmapRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/*
+ * Two tier cache for generated roadmaps:
+ *  1: in-memory (Caffeine) bounded by size + TTL, serves the hot goals without touching the db
+ *  2: postgres (roadmaps table), survives restarts and is shared between nodes
+ * Keys carry the prompt version, so changing RoadmapPromptBuilder.PROMPT_VERSION invalidates old entries.
+ * On a miss, a near-duplicate goal of the same level ("learn java backend" vs "java backend dev roadmap", see
+ * NearDuplicateIndex) is served instead and aliased under the new key in memory.
+ */
+@Component
+@Slf4j
+public class RoadmapCache {
+
+    private final RoadmapRepository roadmapRepository;
+    private final Cache<RoadmapCacheKey, String> memory;
+    private final Duration persistentTtl;
+    private final NearDuplicateIndex<LearningLevel, RoadmapCacheKey> similarGoals;
+    private final boolean similarityEnabled;
+    private final int similarityMaxEntries;
+
+    private final Counter persistentHits;
+    private final Counter persistentMisses;
+    private final Counter similarHits;
+    private final Counter similarMisses;
+
+    public RoadmapCache(
+            RoadmapRepository roadmapRepository,
+            MeterRegistry meterRegistry,
+            @Value("${roadmap.cache.max-size:1000}") long maxSize,
+            @Value("${roadmap.cache.ttl:6h}") Duration ttl,
+            @Value("${roadmap.cache.persistent-ttl:30d}") Duration persistentTtl,
+            @Value("${roadmap.cache.similarity.enabled:true}") boolean similarityEnabled,
+            @Value("${roadmap.cache.similarity.threshold:0.8}") double similarityThreshold,
+            @Value("${roadmap.cache.similarity.max-entries:10000}") int similarityMaxEntries
+    ) {
+        this.roadmapRepository = roadmapRepository;
+        this.persistentTtl = persistentTtl;
+        this.similarityEnabled = similarityEnabled;
+        this.similarityMaxEntries = similarityMaxEntries;
+        this.similarGoals = new NearDuplicateIndex<>(similarityMaxEntries, similarityThreshold);
+        this.memory = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        //hit / miss / eviction counters of the memory tier are published as cache_* metrics
+        CaffeineCacheMetrics.monitor(meterRegistry, memory, "roadmaps");
+        this.persistentHits = Counter.builder("roadmap.cache.persistent")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.persistentMisses = Counter.builder("roadmap.cache.persistent")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        //hit rate gain over exact keys = similar hits / cache_gets{cache=roadmaps,result=hit}
+        this.similarHits = Counter.builder("roadmap.cache.similar")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.similarMisses = Counter.builder("roadmap.cache.similar")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        meterRegistry.gauge("roadmap.cache.similar.size", similarGoals, NearDuplicateIndex::size);
+    }
+
+    public Optional<String> get(RoadmapCacheKey key) {
+        String cached = memory.getIfPresent(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<String> stored = roadmapRepository
+                .findByCacheKeyAndCreatedAtAfter(key.hash(), LocalDateTime.now().minus(persistentTtl))
+                .map(Roadmap::getContent);
+
+        if (stored.isPresent()) {
+            persistentHits.increment();
+            memory.put(key, stored.get()); //promote to memory tier
+        } else {
+            persistentMisses.increment();
+        }
+        return stored;
+    }
+
+    //only after an exact miss: the roadmap of a near-duplicate goal with the same level
+    public Optional<String> getSimilar(RoadmapCacheKey key) {
+        if (!similarityEnabled) {
+            return Optional.empty();
+        }
+
+        Optional<NearDuplicateIndex.Match<RoadmapCacheKey>> match = similarGoals.find(key.level(), key.goal())
+                .filter(m -> !m.value().equals(key));
+        if (match.isEmpty()) {
+            similarMisses.increment();
+            return Optional.empty();
+        }
+
+        //asMap() / the repository directly, so the exact-key hit & miss counters stay comparable
+        RoadmapCacheKey similarKey = match.get().value();
+        Optional<String> similar = Optional.ofNullable(memory.asMap().get(similarKey))
+                .or(() -> roadmapRepository
+                        .findByCacheKeyAndCreatedAtAfter(similarKey.hash(), LocalDateTime.now().minus(persistentTtl))
+                        .map(Roadmap::getContent));
+        if (similar.isEmpty()) {
+            similarGoals.remove(similarKey); //expired in both tiers
+            similarMisses.increment();
+            return Optional.empty();
+        }
+
+        similarHits.increment();
+        log.debug("Roadmap for '{}' served from similar goal '{}' ({})", key.goal(), similarKey.goal(), match.get().similarity());
+        memory.put(key, similar.get()); //next time an exact memory hit
+        return similar;
+    }
+
+    //expired entries are only purged on startup, until then they can stand in when generation is unavailable
+    public Optional<String> getStale(RoadmapCacheKey key) {
+        return roadmapRepository.findByCacheKey(key.hash()).map(Roadmap::getContent);
+    }
+
+    public void put(RoadmapCacheKey key, String content) {
+        memory.put(key, content);
+        similarGoals.add(key.level(), key.goal(), key);
+
+        Roadmap roadmap = Roadmap.builder()
+                .cacheKey(key.hash())
+                .goal(key.goal())
+                .level(key.level())
+                .promptVersion(key.promptVersion())
+                .content(content)
+                .createdAt(LocalDateTime.now())
+                .build();
+        try {
+            roadmapRepository.save(roadmap);
+        } catch (DataIntegrityViolationException ex) {
+            //another request (or node) stored the same key first, the unique constraint keeps one copy
+            log.debug("Roadmap already cached for key {}", key.hash());
+        }
+    }
+
+    public void invalidateAll() {
+        memory.invalidateAll();
+        similarGoals.clear();
+        roadmapRepository.deleteAllInBatch();
+        log.info("Roadmap cache invalidated");
+    }
+
+    //once the app is up: purge first, so only keys that can still be served are indexed
+    //(one listener, two ApplicationReadyEvent listeners have no guaranteed order)
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        purgeStale();
+        seedSimilarGoals();
+    }
+
+    //drop roadmaps generated by an older prompt or past their TTL
+    private void purgeStale() {
+        int outdated = roadmapRepository.deleteByPromptVersionNot(RoadmapPromptBuilder.PROMPT_VERSION);
+        int expired = roadmapRepository.deleteByCreatedAtBefore(LocalDateTime.now().minus(persistentTtl));
+        if (outdated + expired > 0) {
+            log.info("Roadmap cache purge: {} outdated, {} expired", outdated, expired);
+        }
+    }
+
+    private void seedSimilarGoals() {
+        if (!similarityEnabled) {
+            return;
+        }
+        List<RoadmapCacheKey> keys = roadmapRepository.findRecentKeys(
+                RoadmapPromptBuilder.PROMPT_VERSION, Limit.of(similarityMaxEntries));
+        //oldest first, so the newest survive if the index is already full
+        for (int i = keys.size() - 1; i >= 0; i--) {
+            similarGoals.add(keys.get(i).level(), keys.get(i).goal(), keys.get(i));
+        }
+        log.info("Near-duplicate goal index seeded with {} roadmaps", similarGoals.size());
+    }
+
+    public RoadmapCacheStats stats() {
+        CacheStats stats = memory.stats();
+        return new RoadmapCacheStats(
+                stats.hitCount(),
+                stats.missCount(),
+                stats.evictionCount(),
+                memory.estimatedSize(),
+                (long) persistentHits.count(),
+                (long) persistentMisses.count(),
+                (long) similarHits.count(),
+                (long) similarMisses.count(),
+                similarGoals.size()
+        );
+    }
+}
@@ -0,0 +1,22 @@
+package com.ai.education.platform.learning.roadmap.service;
+
+import com.ai.education.platform.learning.common.Sha256;
+import com.ai.education.platform.learning.common.TextNormalizer;
+import com.ai.education.platform.learning.enums.LearningLevel;
+
+//Cache key for generated roadmaps, "Java Backend " and "java   backend" must land on the same entry
+public record RoadmapCacheKey(
+        String goal,
+        LearningLevel level,
+        int promptVersion
+) {
+
+    public static RoadmapCacheKey of(String goal, LearningLevel level) {
+        return new RoadmapCacheKey(TextNormalizer.normalize(goal), level, RoadmapPromptBuilder.PROMPT_VERSION);
+    }
+
+    //stable hash used as the unique column of the persistent tier
+    public String hash() {
+        return Sha256.hex(goal + "|" + level.name() + "|" + promptVersion);
+    }
+}
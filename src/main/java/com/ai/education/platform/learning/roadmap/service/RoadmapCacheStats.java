@@ -0,0 +1,14 @@
+package com.ai.education.platform.learning.roadmap.service;
+
+public record RoadmapCacheStats(
+        long memoryHits,
+        long memoryMisses,
+        long memoryEvictions,
+        long memorySize,
+        long persistentHits,
+        long persistentMisses,
+        long similarHits,
+        long similarMisses,
+        long similarIndexSize
+) {
+}
@@ -0,0 +1,123 @@
+package com.ai.education.platform.learning.roadmap.service;
+
+import com.ai.education.platform.learning.common.Gzip;
+import com.ai.education.platform.learning.common.HistoryCursor;
+import com.ai.education.platform.learning.common.StoredMarkdown;
+import com.ai.education.platform.learning.enums.LearningLevel;
+import com.ai.education.platform.learning.roadmap.dto.RoadmapHistoryItem;
+import com.ai.education.platform.learning.roadmap.dto.RoadmapHistoryPage;
+import com.ai.education.platform.learning.roadmap.dto.RoadmapHistoryResponse;
+import com.ai.education.platform.learning.roadmap.entity.RoadmapHistory;
+import com.ai.education.platform.learning.roadmap.repository.RoadmapHistoryRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/*
+ * Per user roadmap history. Bodies are gzip compressed on write, list pages never load them,
+ * /history/{id}/content serves the compressed bytes as they are (see StoredMarkdown).
+ * Measured via roadmap.history.stored (compressed bytes per roadmap), roadmap.history.compression (ratio)
+ * and roadmap.history.list (list query latency).
+ */
+@Service
+public class RoadmapHistoryService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final RoadmapHistoryRepository historyRepository;
+    private final DistributionSummary storedBytes;
+    private final DistributionSummary compressionRatio;
+    private final Timer listTimer;
+
+    public RoadmapHistoryService(RoadmapHistoryRepository historyRepository, MeterRegistry meterRegistry) {
+        this.historyRepository = historyRepository;
+        this.storedBytes = DistributionSummary.builder("roadmap.history.stored")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.compressionRatio = DistributionSummary.builder("roadmap.history.compression")
+                .description("uncompressed / compressed size")
+                .register(meterRegistry);
+        this.listTimer = Timer.builder("roadmap.history.list")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    public void record(UUID userId, String goal, LearningLevel level, String roadmap) {
+        if (userId == null || roadmap == null || roadmap.isBlank()) {
+            return;
+        }
+
+        int size = roadmap.getBytes(StandardCharsets.UTF_8).length;
+        byte[] compressed = Gzip.compress(roadmap);
+
+        historyRepository.save(RoadmapHistory.builder()
+                .userId(userId)
+                .goal(goal)
+                .level(level)
+                .contentSize(size)
+                .contentHash(StoredMarkdown.hash(roadmap))
+                .content(compressed)
+                .createdAt(LocalDateTime.now())
+                .build());
+
+        storedBytes.record(compressed.length);
+        compressionRatio.record((double) size / compressed.length);
+    }
+
+    //newest first, cursor = last item of the previous page
+    public RoadmapHistoryPage page(UUID userId, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(MAX_PAGE_SIZE, size));
+        Limit limit = Limit.of(pageSize + 1); //one extra row tells whether there is a next page
+
+        List<RoadmapHistoryItem> rows = listTimer.record(() -> {
+            if (cursor == null || cursor.isBlank()) {
+                return historyRepository.findFirstPage(userId, limit);
+            }
+            HistoryCursor position = HistoryCursor.decode(cursor);
+            return historyRepository.findPageAfter(userId, position.createdAt(), position.id(), limit);
+        });
+
+        if (rows.size() <= pageSize) {
+            return new RoadmapHistoryPage(rows, null);
+        }
+        List<RoadmapHistoryItem> items = rows.subList(0, pageSize);
+        RoadmapHistoryItem last = items.getLast();
+        return new RoadmapHistoryPage(List.copyOf(items), new HistoryCursor(last.createdAt(), last.id()).encode());
+    }
+
+    //rows stored before content hashes existed get theirs on first read
+    public Optional<String> contentHash(UUID userId, UUID id) {
+        return historyRepository.findContentHash(id, userId)
+                .or(() -> historyRepository.findContent(id, userId).map(content -> {
+                    String hash = StoredMarkdown.hash(Gzip.decompress(content));
+                    historyRepository.setContentHash(id, hash);
+                    return hash;
+                }));
+    }
+
+    //gzip bytes exactly as stored
+    public Optional<byte[]> compressedContent(UUID userId, UUID id) {
+        return historyRepository.findContent(id, userId);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<RoadmapHistoryResponse> find(UUID userId, UUID id) {
+        return historyRepository.findByIdAndUserId(id, userId)
+                .map(entry -> new RoadmapHistoryResponse(
+                        entry.getId(),
+                        entry.getGoal(),
+                        entry.getLevel(),
+                        entry.getCreatedAt(),
+                        Gzip.decompress(entry.getContent())
+                ));
+    }
+}
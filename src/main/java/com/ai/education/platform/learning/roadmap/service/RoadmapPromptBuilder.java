@@ -6,6 +6,8 @@ import org.springframework.stereotype.Component;
 @Component
 public class RoadmapPromptBuilder {
 
+    //Bump this whenever the prompt text below changes, cached roadmaps generated by an older prompt are then dropped
+    public static final int PROMPT_VERSION = 1;
 
     public String buildPrompt(String goal, LearningLevel level) {
 
@@ -1,24 +1,120 @@
 package com.ai.education.platform.learning.roadmap.service;
 
 import com.ai.education.platform.learning.enums.LearningLevel;
+import com.ai.education.platform.llm.LlmClient;
+import com.ai.education.platform.llm.LlmCompletion;
+import com.ai.education.platform.llm.LlmFeature;
+import com.ai.education.platform.llm.LlmMetrics;
+import com.ai.education.platform.llm.LlmRequest;
+import com.ai.education.platform.llm.LlmUnavailableException;
+import com.ai.education.platform.llm.TokenBudget;
 import lombok.RequiredArgsConstructor;
-import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @Service
 @RequiredArgsConstructor
 public class RoadmapService {
 
-    private final ChatClient chatClient;
+    private final LlmClient llmClient;
     private final RoadmapPromptBuilder promptBuilder;
+    private final RoadmapCache roadmapCache;
+    private final RoadmapHistoryService historyService;
+    private final LlmMetrics metrics;
+    private final TokenBudget budget;
 
     public String generateRoadmap(String goal, LearningLevel level) {
 
+        //same goal + level (after normalization), else a near-duplicate goal -> serve the already generated roadmap
+        RoadmapCacheKey key = RoadmapCacheKey.of(goal, level);
+        return roadmapCache.get(key).or(() -> roadmapCache.getSimilar(key)).orElseGet(() -> {
+
+            String prompt = promptBuilder.buildPrompt(goal, level);
+
+            LlmCompletion roadmap;
+            try {
+                roadmap = llmClient.complete(request(level, prompt));
+            } catch (LlmUnavailableException ex) {
+                return fallback(key).orElseThrow(() -> ex);
+            }
+
+            //a roadmap cut off at its token budget is served to this caller only, never cached / indexed for others
+            if (!roadmap.truncated()) {
+                cache(key, roadmap.text());
+            }
+            return roadmap.text();
+        });
+    }
+
+    //same as above, plus the roadmap lands in the user's history
+    public String generateRoadmap(UUID userId, String goal, LearningLevel level) {
+        String roadmap = generateRoadmap(goal, level);
+        historyService.record(userId, goal, level, roadmap);
+        return roadmap;
+    }
+
+    //Streams the roadmap token by token, a cached roadmap is sent as a single chunk, both end up in the user's history
+    public Flux<String> streamRoadmap(UUID userId, String goal, LearningLevel level) {
+
+        RoadmapCacheKey key = RoadmapCacheKey.of(goal, level);
+        Optional<String> cached = roadmapCache.get(key).or(() -> roadmapCache.getSimilar(key));
+        if (cached.isPresent()) {
+            return Flux.just(cached.get())
+                    .concatWith(Mono.fromRunnable(() -> historyService.record(userId, goal, level, cached.get()))
+                            .subscribeOn(Schedulers.boundedElastic())
+                            .then(Mono.empty()));
+        }
+
         String prompt = promptBuilder.buildPrompt(goal, level);
+        StringBuilder roadmap = new StringBuilder();
+        AtomicBoolean started = new AtomicBoolean();
+        AtomicBoolean truncated = new AtomicBoolean();
+
+        return llmClient
+                .streamCompletion(request(level, prompt))
+                .doOnNext(chunk -> truncated.compareAndSet(false, chunk.truncated()))
+                .mapNotNull(LlmCompletion::text)
+                .doOnNext(chunk -> {
+                    started.set(true);
+                    roadmap.append(chunk);
+                })
+                //a stale roadmap can only replace a stream that hasn't sent anything yet
+                .onErrorResume(LlmUnavailableException.class, ex -> started.get()
+                        ? Flux.error(ex)
+                        : Mono.fromCallable(() -> fallback(key).orElseThrow(() -> ex))
+                                .subscribeOn(Schedulers.boundedElastic())
+                                .flux())
+                //only a fully received roadmap is cached (not one cut off by a client disconnect or its token budget),
+                //db write off the event loop
+                .concatWith(Mono.fromRunnable(() -> {
+                            if (!truncated.get()) {
+                                cache(key, roadmap.toString());
+                            }
+                            historyService.record(userId, goal, level, roadmap.toString());
+                        })
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .then(Mono.empty()));
+    }
+
+    private LlmRequest request(LearningLevel level, String prompt) {
+        return budget.limit(LlmRequest.of(LlmFeature.ROADMAP, level, prompt), budget.roadmap(level));
+    }
+
+    private Optional<String> fallback(RoadmapCacheKey key) {
+        Optional<String> stale = roadmapCache.getStale(key);
+        stale.ifPresent(roadmap -> metrics.recordFallback(LlmFeature.ROADMAP));
+        return stale;
+    }
 
-        return chatClient
-                .prompt(prompt)
-                .call()
-                .content();
+    private void cache(RoadmapCacheKey key, String roadmap) {
+        if (roadmap != null && !roadmap.isBlank()) {
+            roadmapCache.put(key, roadmap);
+        }
     }
 }
@@ -0,0 +1,29 @@
+package com.ai.education.platform.learning.stream;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.Flux;
+
+@Slf4j
+public final class SseStreams {
+
+    private SseStreams() {
+    }
+
+    /*
+     * Wraps markdown chunks into SSE events:
+     *   event: chunk  data: {"text": "..."}   (many)
+     *   event: done   data: {"text": ""}     (once, after the last chunk, SSE clients drop events without data)
+     * If the client goes away Spring MVC cancels the subscription, which cancels the upstream LLM call.
+     */
+    public static Flux<ServerSentEvent<StreamChunk>> markdown(Flux<String> chunks, String feature) {
+        return chunks
+                .map(text -> ServerSentEvent.builder(new StreamChunk(text))
+                        .event("chunk")
+                        .build())
+                .concatWith(Flux.just(ServerSentEvent.builder(new StreamChunk(""))
+                        .event("done")
+                        .build()))
+                .doOnCancel(() -> log.debug("{} stream cancelled by client", feature));
+    }
+}
@@ -0,0 +1,7 @@
+package com.ai.education.platform.learning.stream;
+
+//One piece of a streamed LLM answer, sent as JSON so leading spaces / newlines of a token survive SSE framing
+public record StreamChunk(
+        String text
+) {
+}
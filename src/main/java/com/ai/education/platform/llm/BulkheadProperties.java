@@ -0,0 +1,35 @@
+package com.ai.education.platform.llm;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/*
+ * llm.bulkhead.default-limit     -> used for features without their own entry
+ * llm.bulkhead.features.<feature> -> max concurrent upstream calls + how long a request may queue for a permit
+ */
+@ConfigurationProperties(prefix = "llm.bulkhead")
+public record BulkheadProperties(
+        Limit defaultLimit,
+        Map<LlmFeature, Limit> features
+) {
+
+    public BulkheadProperties {
+        if (defaultLimit == null) {
+            defaultLimit = new Limit(16, Duration.ofSeconds(2));
+        }
+        features = features == null ? new EnumMap<>(LlmFeature.class) : new EnumMap<>(features);
+    }
+
+    public Limit limitFor(LlmFeature feature) {
+        return features.getOrDefault(feature, defaultLimit);
+    }
+
+    public record Limit(
+            int maxConcurrent,
+            Duration maxWait
+    ) {
+    }
+}
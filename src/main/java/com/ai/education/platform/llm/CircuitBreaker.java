@@ -0,0 +1,137 @@
+package com.ai.education.platform.llm;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+/*
+ * Count based circuit breaker over the last `window` calls:
+ *   CLOSED    -> calls pass, opens once failure rate >= threshold (after min-calls)
+ *   OPEN      -> calls rejected until open-for elapsed
+ *   HALF_OPEN -> up to half-open-probes calls pass, all succeeding closes it, any failure re-opens
+ * Every call gets a Permit and reports back with it, so a slow call from the CLOSED period
+ * finishing while HALF_OPEN doesn't count as a probe. Synchronized: contention is nothing next to an LLM call.
+ */
+final class CircuitBreaker {
+
+    enum State { CLOSED, HALF_OPEN, OPEN }
+
+    enum Permit { NORMAL, PROBE }
+
+    private final ResilienceProperties.Breaker config;
+    private final BiConsumer<State, State> onTransition;
+
+    private final boolean[] failed;
+    private int next;
+    private int size;
+    private int failures;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int probesInFlight;
+    private int probeSuccesses;
+
+    CircuitBreaker(ResilienceProperties.Breaker config, BiConsumer<State, State> onTransition) {
+        this.config = config;
+        this.onTransition = onTransition;
+        this.failed = new boolean[Math.max(1, config.window())];
+    }
+
+    //null = rejected
+    synchronized Permit tryAcquire(long nowNanos) {
+        if (state == State.OPEN) {
+            if (nowNanos - openedAt < config.openFor().toNanos()) {
+                return null;
+            }
+            transition(State.HALF_OPEN);
+            probesInFlight = 0;
+            probeSuccesses = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesInFlight >= config.halfOpenProbes()) {
+                return null;
+            }
+            probesInFlight++;
+            return Permit.PROBE;
+        }
+        return Permit.NORMAL;
+    }
+
+    synchronized void onSuccess(Permit permit) {
+        if (permit == Permit.PROBE && state == State.HALF_OPEN) {
+            probesInFlight--;
+            if (++probeSuccesses >= config.halfOpenProbes()) {
+                resetWindow();
+                transition(State.CLOSED);
+            }
+        } else if (permit == Permit.NORMAL && state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    synchronized void onFailure(Permit permit, long nowNanos) {
+        if (permit == Permit.PROBE && state == State.HALF_OPEN) {
+            open(nowNanos);
+        } else if (permit == Permit.NORMAL && state == State.CLOSED) {
+            record(true);
+            if (size >= config.minCalls() && (double) failures / size >= config.failureRate()) {
+                open(nowNanos);
+            }
+        }
+    }
+
+    //call ended without saying anything about upstream health (cancelled, rejected locally)
+    synchronized void release(Permit permit) {
+        if (permit == Permit.PROBE && state == State.HALF_OPEN) {
+            probesInFlight--;
+        }
+    }
+
+    synchronized State state() {
+        return state;
+    }
+
+    synchronized Duration retryAfter(long nowNanos) {
+        if (state != State.OPEN) {
+            return Duration.ofSeconds(1);
+        }
+        long remaining = config.openFor().toNanos() - (nowNanos - openedAt);
+        return Duration.ofNanos(Math.max(remaining, 1_000_000_000L));
+    }
+
+    private void open(long nowNanos) {
+        openedAt = nowNanos;
+        resetWindow();
+        transition(State.OPEN);
+    }
+
+    private void record(boolean failure) {
+        if (size == failed.length) {
+            if (failed[next]) {
+                failures--;
+            }
+        } else {
+            size++;
+        }
+        failed[next] = failure;
+        if (failure) {
+            failures++;
+        }
+        next = (next + 1) % failed.length;
+    }
+
+    private void resetWindow() {
+        Arrays.fill(failed, false);
+        next = 0;
+        size = 0;
+        failures = 0;
+    }
+
+    private void transition(State to) {
+        State from = state;
+        state = to;
+        if (from != to) {
+            onTransition.accept(from, to);
+        }
+    }
+}
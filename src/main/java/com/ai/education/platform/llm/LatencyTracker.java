@@ -0,0 +1,78 @@
+package com.ai.education.platform.llm;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Rolling latency window per model (last N samples in a ring buffer), used to pick hedge delays.
+ * Separate series for full calls and stream first tokens, they differ by an order of magnitude.
+ */
+public class LatencyTracker {
+
+    private final int window;
+    private final int minSamples;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Ring> rings = new ConcurrentHashMap<>();
+
+    public LatencyTracker(int window, int minSamples, MeterRegistry meterRegistry) {
+        this.window = Math.max(1, window);
+        this.minSamples = Math.max(1, minSamples);
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void record(String model, String kind, Duration latency) {
+        ring(model, kind).add(latency.toNanos());
+    }
+
+    //empty until minSamples latencies were recorded
+    public Optional<Duration> p95(String model, String kind) {
+        long nanos = ring(model, kind).percentile(0.95, minSamples);
+        return nanos < 0 ? Optional.empty() : Optional.of(Duration.ofNanos(nanos));
+    }
+
+    private Ring ring(String model, String kind) {
+        return rings.computeIfAbsent(model + "|" + kind, key -> {
+            Ring ring = new Ring(window);
+            Gauge.builder("llm.model.latency.p95", ring, r -> r.percentile(0.95, 1) / 1e9)
+                    .tag("model", model)
+                    .tag("kind", kind)
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+            return ring;
+        });
+    }
+
+    private static final class Ring {
+
+        private final long[] samples;
+        private int next;
+        private int size;
+
+        Ring(int capacity) {
+            this.samples = new long[capacity];
+        }
+
+        synchronized void add(long nanos) {
+            samples[next] = nanos;
+            next = (next + 1) % samples.length;
+            size = Math.min(size + 1, samples.length);
+        }
+
+        //-1 with fewer than minSamples samples, copying at most a few hundred longs is cheaper than a sorted structure
+        synchronized long percentile(double quantile, int minSamples) {
+            if (size < minSamples) {
+                return -1;
+            }
+            long[] sorted = Arrays.copyOf(samples, size);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(quantile * size) - 1;
+            return sorted[Math.max(0, Math.min(size - 1, index))];
+        }
+    }
+}
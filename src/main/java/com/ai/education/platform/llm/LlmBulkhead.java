@@ -0,0 +1,131 @@
+package com.ai.education.platform.llm;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/*
+ * One semaphore per feature around the shared ChatClient: a burst of slow roadmaps can only hold
+ * roadmap permits, so quizzes/hints keep their share and nothing else in the app waits on the LLM.
+ * Callers queue for at most maxWait, then get a LlmBusyException (503) instead of piling up.
+ * A stream that has to queue waits on a virtual thread, never on the (possibly Reactor / Netty) subscribing thread.
+ */
+@Component
+public class LlmBulkhead {
+
+    private final BulkheadProperties properties;
+    private final Map<LlmFeature, Semaphore> permits = new EnumMap<>(LlmFeature.class);
+    private final Scheduler waiters = Schedulers.fromExecutorService(Executors.newVirtualThreadPerTaskExecutor(), "llm-bulkhead");
+
+    public LlmBulkhead(BulkheadProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        for (LlmFeature feature : LlmFeature.values()) {
+            Semaphore semaphore = new Semaphore(properties.limitFor(feature).maxConcurrent(), true);
+            permits.put(feature, semaphore);
+            Gauge.builder("llm.bulkhead.available", semaphore, Semaphore::availablePermits)
+                    .tag("feature", feature.tag())
+                    .register(meterRegistry);
+        }
+    }
+
+    public <T> T execute(LlmFeature feature, Supplier<T> call) {
+        Permit permit = acquire(feature);
+        try {
+            return call.get();
+        } finally {
+            permit.release();
+        }
+    }
+
+    /*
+     * Permit is taken on subscribe (right away if one is free, else waiting on a virtual thread) and given back
+     * on complete, error or cancel (client disconnect), also when building the stream throws or the subscriber
+     * cancels while the permit is being handed over.
+     */
+    public <T> Flux<T> stream(LlmFeature feature, Supplier<Flux<T>> stream) {
+        Mono<Permit> permit = Mono.defer(() -> {
+                    Permit free = tryAcquire(feature);
+                    return free != null
+                            ? Mono.just(free)
+                            : Mono.fromCallable(() -> {
+                                try {
+                                    return await(feature);
+                                } catch (InterruptedException e) {
+                                    return null; //the subscriber cancelled while waiting, nobody to tell
+                                }
+                            }).subscribeOn(waiters);
+                })
+                .doOnDiscard(Permit.class, Permit::release);
+
+        return Flux.usingWhen(
+                permit,
+                p -> {
+                    try {
+                        return stream.get();
+                    } catch (RuntimeException | Error ex) {
+                        p.release();
+                        throw ex;
+                    }
+                },
+                p -> Mono.fromRunnable(p::release),
+                (p, ex) -> Mono.fromRunnable(p::release),
+                p -> Mono.fromRunnable(p::release));
+    }
+
+    private Permit tryAcquire(LlmFeature feature) {
+        Semaphore semaphore = permits.get(feature);
+        return semaphore.tryAcquire() ? new Permit(semaphore) : null;
+    }
+
+    private Permit acquire(LlmFeature feature) {
+        try {
+            return await(feature);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LlmBusyException(feature, properties.limitFor(feature).maxWait());
+        }
+    }
+
+    private Permit await(LlmFeature feature) throws InterruptedException {
+        BulkheadProperties.Limit limit = properties.limitFor(feature);
+        Semaphore semaphore = permits.get(feature);
+        if (!semaphore.tryAcquire(limit.maxWait().toMillis(), TimeUnit.MILLISECONDS)) {
+            throw new LlmBusyException(feature, limit.maxWait());
+        }
+        return new Permit(semaphore);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        waiters.dispose();
+    }
+
+    //released at most once, whichever of the paths above gets there first
+    private static final class Permit {
+        private final Semaphore semaphore;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Permit(Semaphore semaphore) {
+            this.semaphore = semaphore;
+        }
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                semaphore.release();
+            }
+        }
+    }
+}
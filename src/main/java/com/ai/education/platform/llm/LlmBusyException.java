@@ -0,0 +1,19 @@
+package com.ai.education.platform.llm;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+//Thrown when a feature's bulkhead is full and no permit freed up within the queue timeout -> 503
+@Getter
+public class LlmBusyException extends RuntimeException {
+
+    private final LlmFeature feature;
+    private final Duration retryAfter;
+
+    public LlmBusyException(LlmFeature feature, Duration retryAfter) {
+        super("Too many " + feature.tag() + " requests in progress, please retry shortly");
+        this.feature = feature;
+        this.retryAfter = retryAfter;
+    }
+}
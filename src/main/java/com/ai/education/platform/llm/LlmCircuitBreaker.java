@@ -0,0 +1,107 @@
+package com.ai.education.platform.llm;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/*
+ * One CircuitBreaker per feature around the upstream call. While a feature's breaker is open its requests
+ * fail fast with LlmUnavailableException (the services then serve a fallback if they have one).
+ * Bulkhead rejections and client cancellations are local and don't count as upstream failures.
+ * Metrics: llm.breaker.state{feature} (0 closed, 1 half-open, 2 open), llm.breaker.transitions{feature,to},
+ * llm.breaker.rejected{feature}.
+ */
+@Component
+@Slf4j
+public class LlmCircuitBreaker {
+
+    private final Map<LlmFeature, CircuitBreaker> breakers = new EnumMap<>(LlmFeature.class);
+    private final Map<LlmFeature, Counter> rejected = new EnumMap<>(LlmFeature.class);
+
+    public LlmCircuitBreaker(ResilienceProperties properties, MeterRegistry meterRegistry) {
+        for (LlmFeature feature : LlmFeature.values()) {
+            CircuitBreaker breaker = new CircuitBreaker(properties.breaker(), (from, to) -> {
+                Counter.builder("llm.breaker.transitions")
+                        .tag("feature", feature.tag())
+                        .tag("to", to.name().toLowerCase(Locale.ROOT))
+                        .register(meterRegistry)
+                        .increment();
+                if (to == CircuitBreaker.State.OPEN) {
+                    log.warn("LLM circuit breaker for {} opened ({} -> {})", feature.tag(), from, to);
+                } else {
+                    log.info("LLM circuit breaker for {}: {} -> {}", feature.tag(), from, to);
+                }
+            });
+            breakers.put(feature, breaker);
+
+            Gauge.builder("llm.breaker.state", breaker, b -> b.state().ordinal())
+                    .description("0 closed, 1 half-open, 2 open")
+                    .tag("feature", feature.tag())
+                    .register(meterRegistry);
+            rejected.put(feature, Counter.builder("llm.breaker.rejected")
+                    .tag("feature", feature.tag())
+                    .register(meterRegistry));
+        }
+    }
+
+    public <T> T execute(LlmFeature feature, Supplier<T> call) {
+        CircuitBreaker breaker = breakers.get(feature);
+        CircuitBreaker.Permit permit = acquire(feature, breaker);
+        try {
+            T result = call.get();
+            breaker.onSuccess(permit);
+            return result;
+        } catch (LlmBusyException ex) {
+            breaker.release(permit);
+            throw ex;
+        } catch (RuntimeException ex) {
+            breaker.onFailure(permit, System.nanoTime());
+            throw ex;
+        } catch (Error ex) {
+            breaker.release(permit); //not the provider's fault, but a half-open probe permit must come back
+            throw ex;
+        }
+    }
+
+    public <T> Flux<T> stream(LlmFeature feature, Supplier<Flux<T>> call) {
+        return Flux.defer(() -> {
+            CircuitBreaker breaker = breakers.get(feature);
+            CircuitBreaker.Permit permit = acquire(feature, breaker);
+            Flux<T> upstream;
+            try {
+                upstream = call.get();
+            } catch (Throwable ex) {
+                breaker.release(permit);
+                throw ex;
+            }
+            return upstream
+                    .doOnComplete(() -> breaker.onSuccess(permit))
+                    .doOnError(ex -> {
+                        if (ex instanceof LlmBusyException) {
+                            breaker.release(permit);
+                        } else {
+                            breaker.onFailure(permit, System.nanoTime());
+                        }
+                    })
+                    .doOnCancel(() -> breaker.release(permit));
+        });
+    }
+
+    private CircuitBreaker.Permit acquire(LlmFeature feature, CircuitBreaker breaker) {
+        long now = System.nanoTime();
+        CircuitBreaker.Permit permit = breaker.tryAcquire(now);
+        if (permit == null) {
+            rejected.get(feature).increment();
+            throw LlmUnavailableException.circuitOpen(feature, breaker.retryAfter(now));
+        }
+        return permit;
+    }
+}
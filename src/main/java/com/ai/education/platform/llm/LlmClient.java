@@ -0,0 +1,70 @@
+package com.ai.education.platform.llm;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+//Single entry point for LLM calls, every *Service goes through here instead of using ChatClient directly
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class LlmClient {
+
+    private final LlmRouter router;
+    private final LlmBulkhead bulkhead;
+    private final SingleFlight singleFlight;
+    private final LlmCircuitBreaker circuitBreaker;
+    private final ResilienceProperties resilience;
+
+    /*
+     * singleFlight -> circuit breaker (fail fast while upstream is down) -> bulkhead -> router, bounded by the feature deadline.
+     * Identical prompts in flight are coalesced before taking a bulkhead permit, followers don't occupy one.
+     * Every upstream failure surfaces as LlmUnavailableException, so the services' fallbacks cover provider errors too.
+     */
+    public String call(LlmRequest request) {
+        return complete(request).text();
+    }
+
+    //text + whether it was cut off at maxTokens, callers that cache the result use this one
+    public LlmCompletion complete(LlmRequest request) {
+        Duration deadline = resilience.deadlineFor(request.feature());
+        return singleFlight.execute(request, () -> circuitBreaker.execute(request.feature(),
+                () -> bulkhead.execute(request.feature(), () -> LlmCompletion.of(request, router.call(request)
+                        .timeout(deadline)
+                        .onErrorMap(TimeoutException.class,
+                                ex -> LlmUnavailableException.deadlineExceeded(request.feature(), deadline))
+                        .onErrorMap(LlmClient::isProviderError, ex -> upstreamFailed(request, ex))
+                        .block()))));
+    }
+
+    public Flux<String> stream(LlmRequest request) {
+        return streamCompletion(request).mapNotNull(LlmCompletion::text);
+    }
+
+    //chunk by chunk, the last one says whether the completion was cut off (its text may be null)
+    //the deadline bounds the wait for the first chunk and every gap between chunks
+    public Flux<LlmCompletion> streamCompletion(LlmRequest request) {
+        Duration deadline = resilience.deadlineFor(request.feature());
+        return circuitBreaker.stream(request.feature(), () -> bulkhead.stream(request.feature(), () -> router
+                .stream(request)
+                .timeout(Mono.delay(deadline), chunk -> Mono.delay(deadline))
+                .onErrorMap(TimeoutException.class,
+                        ex -> LlmUnavailableException.deadlineExceeded(request.feature(), deadline))
+                .onErrorMap(LlmClient::isProviderError, ex -> upstreamFailed(request, ex))
+                .map(response -> LlmCompletion.of(request, response))));
+    }
+
+    private static boolean isProviderError(Throwable ex) {
+        return !(ex instanceof LlmUnavailableException) && !(ex instanceof Error);
+    }
+
+    private static LlmUnavailableException upstreamFailed(LlmRequest request, Throwable ex) {
+        log.warn("LLM {} call failed upstream", request.feature().tag(), ex);
+        return LlmUnavailableException.upstreamFailed(request.feature(), ex);
+    }
+}
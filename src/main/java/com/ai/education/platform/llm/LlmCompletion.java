@@ -0,0 +1,48 @@
+package com.ai.education.platform.llm;
+
+import org.springframework.ai.chat.metadata.ChatGenerationMetadata;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+
+//Model output (a whole completion, or one streamed chunk of it), truncated = cut off at its maxTokens budget
+public record LlmCompletion(
+        String text,
+        boolean truncated
+) {
+
+    static LlmCompletion of(LlmRequest request, ChatResponse response) {
+        return new LlmCompletion(text(response), truncated(request, response));
+    }
+
+    /*
+     * Finish reason "length" (OpenAI, OpenRouter) / "max_tokens", or, for providers that don't send one,
+     * the completion tokens reaching the cap. Only the last chunk of a stream carries either.
+     * A truncated answer may still be served to its caller, but must never be cached or indexed for others.
+     */
+    static boolean truncated(LlmRequest request, ChatResponse response) {
+        if (response == null) {
+            return false;
+        }
+        Generation result = response.getResult();
+        ChatGenerationMetadata metadata = result == null ? null : result.getMetadata();
+        String finishReason = metadata == null ? null : metadata.getFinishReason();
+        if ("length".equalsIgnoreCase(finishReason) || "max_tokens".equalsIgnoreCase(finishReason)) {
+            return true;
+        }
+
+        Usage usage = response.getMetadata() == null ? null : response.getMetadata().getUsage();
+        return request.maxTokens() != null
+                && usage != null
+                && usage.getCompletionTokens() != null
+                && usage.getCompletionTokens() > 0
+                && usage.getCompletionTokens() >= request.maxTokens();
+    }
+
+    private static String text(ChatResponse response) {
+        if (response == null || response.getResult() == null || response.getResult().getOutput() == null) {
+            return null;
+        }
+        return response.getResult().getOutput().getText();
+    }
+}
@@ -0,0 +1,19 @@
+package com.ai.education.platform.llm;
+
+//Every place the app talks to the LLM, used for per feature limits and metric tags
+public enum LlmFeature {
+    ROADMAP("roadmap"),
+    DAILY_PLAN("daily-plan"),
+    QUIZ("quiz"),
+    HINT("hint");
+
+    private final String tag;
+
+    LlmFeature(String tag) {
+        this.tag = tag;
+    }
+
+    public String tag() {
+        return tag;
+    }
+}
@@ -0,0 +1,170 @@
+package com.ai.education.platform.llm;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/*
+ * Meters for every upstream LLM call, tagged by feature (roadmap / daily-plan / quiz / hint) and level:
+ *  llm.call.latency        -> blocking call duration, percentile histogram, outcome=success|error
+ *  llm.stream.first-token  -> time to first streamed chunk
+ *  llm.stream.duration     -> whole stream, outcome=success|error|cancelled
+ *  llm.tokens              -> prompt / completion tokens reported by the provider (type tag)
+ *  llm.output.capped       -> completions cut off at their maxTokens budget (TokenBudget, see LlmCompletion.truncated),
+ *                             the services serve them but don't cache them
+ *  llm.call.errors         -> failed calls by exception type
+ *  llm.parse.failures      -> model output we could not use (feature tag only)
+ */
+@Component
+@RequiredArgsConstructor
+public class LlmMetrics {
+
+    private static final double[] PERCENTILES = {0.5, 0.9, 0.95, 0.99};
+
+    private final MeterRegistry meterRegistry;
+
+    public ChatResponse timeCall(LlmRequest request, Supplier<ChatResponse> call) {
+        long start = System.nanoTime();
+        try {
+            ChatResponse response = call.get();
+            timer("llm.call.latency", request, "success").record(Duration.ofNanos(System.nanoTime() - start));
+            recordUsage(request, response);
+            if (LlmCompletion.truncated(request, response)) {
+                recordCapped(request);
+            }
+            return response;
+        } catch (RuntimeException ex) {
+            timer("llm.call.latency", request, "error").record(Duration.ofNanos(System.nanoTime() - start));
+            recordError(request, ex);
+            throw ex;
+        }
+    }
+
+    public Flux<ChatResponse> timeStream(LlmRequest request, Flux<ChatResponse> responses) {
+        return Flux.defer(() -> {
+            long start = System.nanoTime();
+            AtomicBoolean firstChunk = new AtomicBoolean();
+            AtomicReference<ChatResponse> withUsage = new AtomicReference<>(); //usage (if sent) comes on the last chunk
+            AtomicBoolean truncated = new AtomicBoolean();
+
+            return responses
+                    .doOnNext(response -> {
+                        if (firstChunk.compareAndSet(false, true)) {
+                            timer("llm.stream.first-token", request, "success")
+                                    .record(Duration.ofNanos(System.nanoTime() - start));
+                        }
+                        if (usage(response) != null) {
+                            withUsage.set(response);
+                        }
+                        if (LlmCompletion.truncated(request, response)) {
+                            truncated.set(true);
+                        }
+                    })
+                    .doOnError(ex -> recordError(request, ex))
+                    .doFinally(signal -> {
+                        String outcome = switch (signal) {
+                            case ON_COMPLETE -> "success";
+                            case CANCEL -> "cancelled";
+                            default -> "error";
+                        };
+                        timer("llm.stream.duration", request, outcome).record(Duration.ofNanos(System.nanoTime() - start));
+                        if (signal == SignalType.ON_COMPLETE && withUsage.get() != null) {
+                            recordUsage(request, withUsage.get());
+                        }
+                        if (signal == SignalType.ON_COMPLETE && truncated.get()) {
+                            recordCapped(request);
+                        }
+                    });
+        });
+    }
+
+    //a degraded answer (stale roadmap, banked quiz) served because the LLM was unavailable
+    public void recordFallback(LlmFeature feature) {
+        Counter.builder("llm.fallback")
+                .tag("feature", feature.tag())
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void recordParseFailure(LlmFeature feature) {
+        Counter.builder("llm.parse.failures")
+                .tag("feature", feature.tag())
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private void recordUsage(LlmRequest request, ChatResponse response) {
+        Usage usage = usage(response);
+        if (usage == null) {
+            return;
+        }
+        if (usage.getPromptTokens() != null) {
+            tokens(request, "prompt").record(usage.getPromptTokens());
+        }
+        if (usage.getCompletionTokens() != null) {
+            tokens(request, "completion").record(usage.getCompletionTokens());
+        }
+    }
+
+    private void recordCapped(LlmRequest request) {
+        Counter.builder("llm.output.capped")
+                .tags(tags(request))
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private void recordError(LlmRequest request, Throwable ex) {
+        Counter.builder("llm.call.errors")
+                .tags(tags(request))
+                .tag("exception", ex.getClass().getSimpleName())
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private Timer timer(String name, LlmRequest request, String outcome) {
+        return Timer.builder(name)
+                .tags(tags(request))
+                .tag("outcome", outcome)
+                .publishPercentiles(PERCENTILES)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private DistributionSummary tokens(LlmRequest request, String type) {
+        return DistributionSummary.builder("llm.tokens")
+                .baseUnit("tokens")
+                .tags(tags(request))
+                .tag("type", type)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static Tags tags(LlmRequest request) {
+        return Tags.of(
+                "feature", request.feature().tag(),
+                "level", request.level() == null ? "none" : request.level().name()
+        );
+    }
+
+    private static Usage usage(ChatResponse response) {
+        if (response == null || response.getMetadata() == null) {
+            return null;
+        }
+        Usage usage = response.getMetadata().getUsage();
+        //providers without usage report an empty usage object, treat it as missing
+        return usage == null || usage.getTotalTokens() == null || usage.getTotalTokens() == 0 ? null : usage;
+    }
+}
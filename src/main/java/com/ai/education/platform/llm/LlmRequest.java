@@ -0,0 +1,24 @@
+package com.ai.education.platform.llm;
+
+import com.ai.education.platform.learning.enums.LearningLevel;
+
+//A fully built prompt plus what it is for, level is null for features without one (hints), maxTokens null = no output cap
+public record LlmRequest(
+        LlmFeature feature,
+        LearningLevel level,
+        String prompt,
+        Integer maxTokens
+) {
+
+    public static LlmRequest of(LlmFeature feature, LearningLevel level, String prompt) {
+        return new LlmRequest(feature, level, prompt, null);
+    }
+
+    public static LlmRequest of(LlmFeature feature, String prompt) {
+        return new LlmRequest(feature, null, prompt, null);
+    }
+
+    public LlmRequest withMaxTokens(Integer maxTokens) {
+        return new LlmRequest(feature, level, prompt, maxTokens);
+    }
+}
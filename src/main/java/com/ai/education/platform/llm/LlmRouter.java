@@ -0,0 +1,234 @@
+package com.ai.education.platform.llm;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.stereotype.Component;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/*
+ * Routes a feature to its ordered model profiles (llm.routing) and hedges slow calls:
+ *  - the primary model is called first
+ *  - profile i starts once profile i-1 failed, or (with hedging on) once i-1 ran longer than its hedge delay
+ *    (its rolling p95, at least min-delay; until i-1 has min-samples latencies it is only a fallback),
+ *    the delay counts from i-1's own start, so the chain always starts in order
+ *  - the first response wins, the others are cancelled (their HTTP calls are interrupted)
+ * Streams race on the first token the same way, after that the winner streams alone.
+ * A hedge runs under the permit its request already holds in the bulkhead, it doesn't take another one.
+ * Blocking calls run on virtual threads, the bulkhead (not a thread pool) bounds how many are in flight.
+ */
+@Component
+public class LlmRouter {
+
+    private static final String CALL = "call";
+    private static final String FIRST_TOKEN = "first-token";
+
+    private final ChatClient chatClient;
+    private final RoutingProperties properties;
+    private final LlmMetrics metrics;
+    private final LatencyTracker latencies;
+    private final MeterRegistry meterRegistry;
+    private final Scheduler calls = Schedulers.fromExecutorService(Executors.newVirtualThreadPerTaskExecutor(), "llm-call");
+
+    public LlmRouter(ChatClient chatClient, RoutingProperties properties, LlmMetrics metrics, MeterRegistry meterRegistry) {
+        this.chatClient = chatClient;
+        this.properties = properties;
+        this.metrics = metrics;
+        this.meterRegistry = meterRegistry;
+        this.latencies = new LatencyTracker(
+                properties.hedge().latencyWindow(),
+                properties.hedge().minSamples(),
+                meterRegistry);
+    }
+
+    //lazy, LlmClient subscribes with the feature deadline, cancelling interrupts every running attempt
+    public Mono<ChatResponse> call(LlmRequest request) {
+        List<ModelProfile> chain = properties.chainFor(request.feature());
+        if (chain.isEmpty()) {
+            return Mono.fromCallable(() -> metrics.timeCall(request, () -> chatClient.prompt(request.prompt())
+                            .options(options(request))
+                            .call()
+                            .chatResponse()))
+                    .subscribeOn(calls);
+        }
+
+        List<Mono<ChatResponse>> attempts = new ArrayList<>();
+        Sinks.Empty<Void> previousStarted = null;
+        Sinks.Empty<Void> previousFailed = null;
+        ModelProfile previous = null;
+        for (int i = 0; i < chain.size(); i++) {
+            ModelProfile profile = chain.get(i);
+            Sinks.Empty<Void> started = Sinks.empty();
+            Sinks.Empty<Void> failed = Sinks.empty();
+            boolean hedge = i > 0;
+
+            Mono<ChatResponse> attempt = Mono.defer(() -> {
+                        started.tryEmitEmpty();
+                        long start = System.nanoTime();
+                        AtomicBoolean settled = new AtomicBoolean();
+                        attempts(request, profile, hedge ? "hedge" : "primary").increment();
+                        return Mono.fromCallable(() -> {
+                                    try {
+                                        return metrics.timeCall(request, () -> chatClient
+                                                .prompt(request.prompt())
+                                                .options(options(profile, request))
+                                                .call()
+                                                .chatResponse());
+                                    } catch (RuntimeException ex) {
+                                        if (settled.get()) {
+                                            return null; //interrupted loser, nobody is listening anymore
+                                        }
+                                        throw ex;
+                                    }
+                                })
+                                .subscribeOn(calls)
+                                .doOnSuccess(response -> {
+                                    settled.set(true);
+                                    latencies.record(profile.model(), CALL, Duration.ofNanos(System.nanoTime() - start));
+                                })
+                                .doOnCancel(() -> {
+                                    //a cancelled loser took at least this long, record it so the p95 sees slow models
+                                    if (settled.compareAndSet(false, true)) {
+                                        latencies.record(profile.model(), CALL, Duration.ofNanos(System.nanoTime() - start));
+                                    }
+                                });
+                    })
+                    .doOnError(ex -> failed.tryEmitEmpty());
+
+            if (hedge) {
+                attempt = attempt.delaySubscription(startSignal(previous, previousStarted, previousFailed, CALL));
+            }
+            attempts.add(attempt);
+            previous = profile;
+            previousStarted = started;
+            previousFailed = failed;
+        }
+
+        return Mono.firstWithValue(attempts)
+                .onErrorMap(NoSuchElementException.class, LlmRouter::firstCause);
+    }
+
+    public Flux<ChatResponse> stream(LlmRequest request) {
+        List<ModelProfile> chain = properties.chainFor(request.feature());
+        if (chain.isEmpty()) {
+            return metrics.timeStream(request, chatClient.prompt(request.prompt())
+                    .options(options(request))
+                    .stream()
+                    .chatResponse());
+        }
+
+        List<Flux<ChatResponse>> attempts = new ArrayList<>();
+        Sinks.Empty<Void> previousStarted = null;
+        Sinks.Empty<Void> previousFailed = null;
+        ModelProfile previous = null;
+        for (int i = 0; i < chain.size(); i++) {
+            ModelProfile profile = chain.get(i);
+            Sinks.Empty<Void> started = Sinks.empty();
+            Sinks.Empty<Void> failed = Sinks.empty();
+            boolean hedge = i > 0;
+
+            Flux<ChatResponse> attempt = Flux.defer(() -> {
+                        started.tryEmitEmpty();
+                        long start = System.nanoTime();
+                        AtomicBoolean firstToken = new AtomicBoolean();
+                        attempts(request, profile, hedge ? "hedge" : "primary").increment();
+                        return metrics.timeStream(request, chatClient
+                                        .prompt(request.prompt())
+                                        .options(options(profile, request))
+                                        .stream()
+                                        .chatResponse())
+                                .doOnNext(response -> {
+                                    if (firstToken.compareAndSet(false, true)) {
+                                        latencies.record(profile.model(), FIRST_TOKEN, Duration.ofNanos(System.nanoTime() - start));
+                                    }
+                                });
+                    })
+                    .doOnError(ex -> failed.tryEmitEmpty());
+
+            if (hedge) {
+                attempt = attempt.delaySubscription(startSignal(previous, previousStarted, previousFailed, FIRST_TOKEN));
+            }
+            attempts.add(attempt);
+            previous = profile;
+            previousStarted = started;
+            previousFailed = failed;
+        }
+
+        return Flux.firstWithValue(attempts)
+                .onErrorMap(NoSuchElementException.class, LlmRouter::firstCause);
+    }
+
+    //the previous attempt failed, or (hedging on, p95 window warm) it has been running longer than its hedge delay,
+    //counted from its own start (it may itself have waited for the one before it)
+    private Mono<?> startSignal(ModelProfile previous, Sinks.Empty<Void> previousStarted, Sinks.Empty<Void> previousFailed,
+                                String kind) {
+        Optional<Duration> delay = properties.hedge().enabled() ? hedgeDelay(previous, kind) : Optional.empty();
+        if (delay.isEmpty()) {
+            return previousFailed.asMono().then(Mono.just(Boolean.TRUE));
+        }
+        return Mono.firstWithSignal(
+                previousStarted.asMono().then(Mono.delay(delay.get())),
+                previousFailed.asMono().then(Mono.just(0L)));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        calls.dispose();
+    }
+
+    //empty while the model has fewer than min-samples latencies
+    private Optional<Duration> hedgeDelay(ModelProfile profile, String kind) {
+        RoutingProperties.Hedge hedge = properties.hedge();
+        return latencies.p95(profile.model(), kind)
+                .map(p95 -> p95.compareTo(hedge.minDelay()) < 0 ? hedge.minDelay() : p95);
+    }
+
+    //unset fields (model / temperature without a chain, maxTokens without a budget) fall back to the defaults
+    private static ChatOptions options(LlmRequest request) {
+        return ChatOptions.builder()
+                .maxTokens(request.maxTokens())
+                .build();
+    }
+
+    private static ChatOptions options(ModelProfile profile, LlmRequest request) {
+        return ChatOptions.builder()
+                .model(profile.model())
+                .temperature(profile.temperature())
+                .maxTokens(request.maxTokens())
+                .build();
+    }
+
+    private Counter attempts(LlmRequest request, ModelProfile profile, String role) {
+        return Counter.builder("llm.route.attempts")
+                .description("Upstream calls per model, hedge = started because an earlier model was slow or failed")
+                .tag("feature", request.feature().tag())
+                .tag("model", profile.model())
+                .tag("role", role)
+                .register(meterRegistry);
+    }
+
+    //all models failed -> surface the primary's error, not reactor's "all sources failed"
+    private static Throwable firstCause(NoSuchElementException ex) {
+        if (ex.getCause() == null) {
+            return ex;
+        }
+        List<Throwable> causes = Exceptions.unwrapMultiple(ex.getCause());
+        return causes.isEmpty() ? ex : causes.getFirst();
+    }
+}
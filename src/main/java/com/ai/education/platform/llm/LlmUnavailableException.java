@@ -0,0 +1,39 @@
+package com.ai.education.platform.llm;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+//Upstream LLM is failing: the feature's circuit breaker is open, the call missed its deadline or the provider errored -> 503
+@Getter
+public class LlmUnavailableException extends RuntimeException {
+
+    private final LlmFeature feature;
+    private final Duration retryAfter;
+
+    public LlmUnavailableException(LlmFeature feature, Duration retryAfter, String message) {
+        this(feature, retryAfter, message, null);
+    }
+
+    public LlmUnavailableException(LlmFeature feature, Duration retryAfter, String message, Throwable cause) {
+        super(message, cause);
+        this.feature = feature;
+        this.retryAfter = retryAfter;
+    }
+
+    public static LlmUnavailableException circuitOpen(LlmFeature feature, Duration retryAfter) {
+        return new LlmUnavailableException(feature, retryAfter,
+                "AI " + feature.tag() + " generation is temporarily unavailable, please retry shortly");
+    }
+
+    public static LlmUnavailableException deadlineExceeded(LlmFeature feature, Duration deadline) {
+        return new LlmUnavailableException(feature, Duration.ofSeconds(5),
+                "AI " + feature.tag() + " generation took longer than " + deadline.toSeconds() + "s, please retry");
+    }
+
+    //provider error (5xx, 429, connection reset...) while the breaker is still closed, services fall back like on an open breaker
+    public static LlmUnavailableException upstreamFailed(LlmFeature feature, Throwable cause) {
+        return new LlmUnavailableException(feature, Duration.ofSeconds(5),
+                "AI " + feature.tag() + " generation failed, please retry", cause);
+    }
+}
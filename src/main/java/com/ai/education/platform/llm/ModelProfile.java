@@ -0,0 +1,8 @@
+package com.ai.education.platform.llm;
+
+//One upstream model + its options, referenced by name from llm.routing.features
+public record ModelProfile(
+        String model,
+        Double temperature
+) {
+}
@@ -0,0 +1,14 @@
+package com.ai.education.platform.llm;
+
+import com.ai.education.platform.learning.common.Sha256;
+
+public final class PromptHash {
+
+    private PromptHash() {
+    }
+
+    //hex sha-256 of a fully rendered prompt, identical prompts -> identical key
+    public static String sha256(String prompt) {
+        return Sha256.hex(prompt);
+    }
+}
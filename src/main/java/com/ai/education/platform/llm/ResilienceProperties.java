@@ -0,0 +1,48 @@
+package com.ai.education.platform.llm;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/*
+ * llm.resilience.default-deadline / deadlines.<feature> -> max time for one LLM call (all hedges included),
+ *                                                          for streams: max time to the first and between chunks
+ * llm.resilience.breaker.*:
+ *   window           -> outcomes (last N calls) the failure rate is computed over
+ *   min-calls        -> no decision before this many calls in the window
+ *   failure-rate     -> open when failures / calls reaches this
+ *   open-for         -> calls fail fast for this long, then a few probes are let through (half-open)
+ *   half-open-probes -> probes that must all succeed to close again, one failure re-opens
+ */
+@ConfigurationProperties(prefix = "llm.resilience")
+public record ResilienceProperties(
+        Duration defaultDeadline,
+        Map<LlmFeature, Duration> deadlines,
+        Breaker breaker
+) {
+
+    public ResilienceProperties {
+        if (defaultDeadline == null) {
+            defaultDeadline = Duration.ofSeconds(60);
+        }
+        deadlines = deadlines == null ? new EnumMap<>(LlmFeature.class) : new EnumMap<>(deadlines);
+        if (breaker == null) {
+            breaker = new Breaker(20, 10, 0.5, Duration.ofSeconds(30), 3);
+        }
+    }
+
+    public Duration deadlineFor(LlmFeature feature) {
+        return deadlines.getOrDefault(feature, defaultDeadline);
+    }
+
+    public record Breaker(
+            int window,
+            int minCalls,
+            double failureRate,
+            Duration openFor,
+            int halfOpenProbes
+    ) {
+    }
+}
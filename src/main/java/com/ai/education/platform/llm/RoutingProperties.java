@@ -0,0 +1,59 @@
+package com.ai.education.platform.llm;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * llm.routing.profiles.<name>    -> model + temperature
+ * llm.routing.features.<feature> -> ordered profile names, first is the primary, the rest are hedges / fallbacks
+ * llm.routing.hedge.*:
+ *   enabled        -> off (default) = only the primary is called (the rest still serve as fallbacks on errors)
+ *   min-delay      -> lower bound of the adaptive delay (rolling p95 of the model being hedged)
+ *   latency-window -> latencies kept per model for the rolling p95
+ *   min-samples    -> no hedging for a model until this many latencies are recorded (a cold guess would hedge
+ *                     nearly every long completion and double the spend after each deploy)
+ * Features without an entry use the default profile (spring.ai.openai.chat.options).
+ */
+@ConfigurationProperties(prefix = "llm.routing")
+public record RoutingProperties(
+        Map<String, ModelProfile> profiles,
+        Map<LlmFeature, List<String>> features,
+        Hedge hedge
+) {
+
+    public RoutingProperties {
+        profiles = profiles == null ? Map.of() : new LinkedHashMap<>(profiles);
+        features = features == null ? new EnumMap<>(LlmFeature.class) : new EnumMap<>(features);
+        if (hedge == null) {
+            hedge = new Hedge(false, Duration.ofSeconds(2), 200, 20);
+        }
+        for (Map.Entry<LlmFeature, List<String>> entry : features.entrySet()) {
+            for (String name : entry.getValue()) {
+                if (!profiles.containsKey(name)) {
+                    throw new IllegalStateException("llm.routing.features." + entry.getKey().tag()
+                            + " references unknown profile '" + name + "'");
+                }
+            }
+        }
+    }
+
+    //empty -> call with the ChatClient defaults
+    public List<ModelProfile> chainFor(LlmFeature feature) {
+        return features.getOrDefault(feature, List.of()).stream()
+                .map(profiles::get)
+                .toList();
+    }
+
+    public record Hedge(
+            boolean enabled,
+            Duration minDelay,
+            int latencyWindow,
+            int minSamples
+    ) {
+    }
+}
@@ -0,0 +1,84 @@
+package com.ai.education.platform.llm;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/*
+ * Coalesces identical in-flight prompts: the first caller (leader) makes the upstream call,
+ * everyone arriving with the same (feature, prompt hash) while it runs waits for and shares its result.
+ * Nothing is kept after the call finishes, this is not a cache.
+ * Followers wait at most the feature deadline, whatever happens to the leader.
+ */
+@Component
+public class SingleFlight {
+
+    private final ResilienceProperties resilience;
+    private final Map<String, CompletableFuture<LlmCompletion>> inFlight = new ConcurrentHashMap<>();
+    private final Map<LlmFeature, Counter> coalesced = new EnumMap<>(LlmFeature.class);
+
+    public SingleFlight(ResilienceProperties resilience, MeterRegistry meterRegistry) {
+        this.resilience = resilience;
+        for (LlmFeature feature : LlmFeature.values()) {
+            coalesced.put(feature, Counter.builder("llm.singleflight.coalesced")
+                    .description("LLM calls answered by an identical call already in flight")
+                    .tag("feature", feature.tag())
+                    .register(meterRegistry));
+        }
+        Gauge.builder("llm.singleflight.inflight", inFlight, Map::size)
+                .register(meterRegistry);
+    }
+
+    public LlmCompletion execute(LlmRequest request, Supplier<LlmCompletion> call) {
+        String key = request.feature().name() + ":" + PromptHash.sha256(request.prompt());
+
+        CompletableFuture<LlmCompletion> leader = new CompletableFuture<>();
+        CompletableFuture<LlmCompletion> existing = inFlight.putIfAbsent(key, leader);
+        if (existing != null) {
+            coalesced.get(request.feature()).increment();
+            return await(request.feature(), existing);
+        }
+
+        try {
+            LlmCompletion result = call.get();
+            leader.complete(result);
+            return result;
+        } catch (Throwable ex) {
+            leader.completeExceptionally(ex); //followers fail the same way instead of retrying upstream, Errors included
+            throw ex;
+        } finally {
+            inFlight.remove(key, leader);
+        }
+    }
+
+    private LlmCompletion await(LlmFeature feature, CompletableFuture<LlmCompletion> flight) {
+        Duration deadline = resilience.deadlineFor(feature);
+        try {
+            return flight.get(deadline.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            throw LlmUnavailableException.deadlineExceeded(feature, deadline);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw LlmUnavailableException.deadlineExceeded(feature, deadline);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+}
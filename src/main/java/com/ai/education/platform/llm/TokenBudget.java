@@ -0,0 +1,130 @@
+package com.ai.education.platform.llm;
+
+import com.ai.education.platform.learning.enums.LearningLevel;
+import com.knuddels.jtokkit.Encodings;
+import com.knuddels.jtokkit.api.Encoding;
+import com.knuddels.jtokkit.api.EncodingType;
+import com.knuddels.jtokkit.api.IntArrayList;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/*
+ * Output caps (maxTokens) derived from what was asked for, so a 1 question quiz can't take as long as a 10 question one
+ * and a runaway completion stops at a known size instead of running into the feature deadline (see TokenBudgetProperties).
+ * Tokens are counted locally with jtokkit, no provider round trip:
+ *  llm.budget.prompt.tokens -> estimated prompt size per feature, compare with llm.tokens{type=prompt}
+ *  llm.budget.output.cap    -> caps handed out per feature
+ *  llm.budget.trimmed       -> hint inputs that were cut down
+ */
+@Component
+public class TokenBudget {
+
+    private static final String CUT = "\n[...]\n";
+
+    private final TokenBudgetProperties properties;
+    private final Encoding encoding;
+    private final MeterRegistry meterRegistry;
+    private final Counter trimmed;
+
+    public TokenBudget(TokenBudgetProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.encoding = Encodings.newLazyEncodingRegistry().getEncoding(EncodingType.fromName(properties.encoding())
+                .orElseThrow(() -> new IllegalStateException("Unknown llm.budget.encoding '" + properties.encoding() + "'")));
+        this.trimmed = Counter.builder("llm.budget.trimmed")
+                .description("Hint inputs cut down to their token limit before the prompt was built")
+                .register(meterRegistry);
+    }
+
+    //ordinary = special token text like "<|endoftext|>" in user input is counted as text instead of throwing
+    public int countTokens(String text) {
+        return text == null || text.isEmpty() ? 0 : encoding.countTokensOrdinary(text);
+    }
+
+    //the prompt with its output cap, unchanged (provider default) when budgets are off
+    public LlmRequest limit(LlmRequest request, int maxTokens) {
+        DistributionSummary.builder("llm.budget.prompt.tokens")
+                .baseUnit("tokens")
+                .tag("feature", request.feature().tag())
+                .register(meterRegistry)
+                .record(countTokens(request.prompt()));
+        if (!properties.enabled()) {
+            return request;
+        }
+
+        int cap = Math.max(1, Math.min(maxTokens, properties.maxOutput()));
+        DistributionSummary.builder("llm.budget.output.cap")
+                .baseUnit("tokens")
+                .tag("feature", request.feature().tag())
+                .register(meterRegistry)
+                .record(cap);
+        return request.withMaxTokens(cap);
+    }
+
+    public int roadmap(LearningLevel level) {
+        return properties.roadmap().get(level);
+    }
+
+    public int quiz(int questionCount) {
+        TokenBudgetProperties.Quiz quiz = properties.quiz();
+        return quiz.base() + quiz.perQuestion() * questionCount;
+    }
+
+    public int dailyPlan(int days, int dailyHours) {
+        TokenBudgetProperties.DailyPlan plan = properties.dailyPlan();
+        //long math, saturated: segments and whole plans share this, limit() caps the result anyway
+        long cap = plan.base() + (long) days * (plan.perDay() + (long) plan.perHour() * dailyHours);
+        return (int) Math.min(Integer.MAX_VALUE, cap);
+    }
+
+    public int dailyPlanOutline(int segments) {
+        TokenBudgetProperties.DailyPlan plan = properties.dailyPlan();
+        return plan.base() + plan.perOutlineSegment() * segments;
+    }
+
+    public int hint(int hintLevel) {
+        return properties.hint().levels().get(hintLevel - 1);
+    }
+
+    //all three levels in one completion, plus a little for the "=== HINT LEVEL n ===" lines
+    public int allHintLevels() {
+        return properties.hint().levels().stream().mapToInt(Integer::intValue).sum() + 50;
+    }
+
+    public String trimProblem(String problem) {
+        return trim(problem, properties.hint().maxProblemTokens());
+    }
+
+    public String trimAttempt(String whatUserTried) {
+        return trim(whatUserTried, properties.hint().maxTriedTokens());
+    }
+
+    //keeps the first 2/3 and the last 1/3 of the budget, long problems tend to end with the actual question
+    String trim(String text, int maxTokens) {
+        if (text == null) {
+            return null;
+        }
+        IntArrayList tokens = encoding.encodeOrdinary(text);
+        if (tokens.size() <= maxTokens) {
+            return text;
+        }
+        trimmed.increment();
+
+        int head = maxTokens * 2 / 3;
+        int tail = maxTokens - head;
+        return decode(tokens, 0, head).stripTrailing()
+                + CUT
+                + decode(tokens, tokens.size() - tail, tokens.size()).stripLeading();
+    }
+
+    //a token range can start / end inside a multi-byte character, the broken half decodes to U+FFFD
+    private String decode(IntArrayList tokens, int from, int to) {
+        IntArrayList range = new IntArrayList(to - from);
+        for (int i = from; i < to; i++) {
+            range.add(tokens.get(i));
+        }
+        return encoding.decode(range).replace("\uFFFD", "");
+    }
+}
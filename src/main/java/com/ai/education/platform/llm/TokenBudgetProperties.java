@@ -0,0 +1,81 @@
+package com.ai.education.platform.llm;
+
+import com.ai.education.platform.learning.enums.LearningLevel;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * llm.budget.enabled    -> off = no maxTokens is sent, the provider default applies (inputs are still trimmed)
+ * llm.budget.encoding   -> jtokkit encoding used to count / trim tokens locally (o200k_base = gpt-4o family)
+ * llm.budget.max-output -> hard ceiling for any single call, whatever the request asks for
+ * Output caps per request shape:
+ *   roadmap.<level>                        -> whole roadmap
+ *   quiz.base + per-question x questionCount
+ *   daily-plan.base + days x (per-day + per-hour x dailyHours), per segment for long plans,
+ *   daily-plan.per-outline-segment         -> outline of a long plan, one line per segment
+ *   hint.levels[n-1]                       -> hint of level n, all three levels in one call = their sum + markers
+ * hint.max-problem-tokens / max-tried-tokens -> longer hint inputs are cut (start + end kept) before the prompt is built
+ */
+@ConfigurationProperties(prefix = "llm.budget")
+public record TokenBudgetProperties(
+        Boolean enabled,
+        String encoding,
+        Integer maxOutput,
+        Map<LearningLevel, Integer> roadmap,
+        Quiz quiz,
+        DailyPlan dailyPlan,
+        Hint hint
+) {
+
+    public TokenBudgetProperties {
+        if (enabled == null) {
+            enabled = true;
+        }
+        if (encoding == null) {
+            encoding = "o200k_base";
+        }
+        if (maxOutput == null) {
+            maxOutput = 8000;
+        }
+        roadmap = roadmap == null ? new EnumMap<>(LearningLevel.class) : new EnumMap<>(roadmap);
+        roadmap.putIfAbsent(LearningLevel.BEGINNER, 2000);
+        roadmap.putIfAbsent(LearningLevel.INTERMEDIATE, 2500);
+        roadmap.putIfAbsent(LearningLevel.ADVANCED, 3000);
+        if (quiz == null) {
+            quiz = new Quiz(200, 250);
+        }
+        if (dailyPlan == null) {
+            dailyPlan = new DailyPlan(200, 60, 40, 40);
+        }
+        if (hint == null) {
+            hint = new Hint(List.of(250, 400, 600), 1500, 600);
+        }
+        if (hint.levels() == null || hint.levels().size() != 3) {
+            throw new IllegalStateException("llm.budget.hint.levels needs one value per hint level (3)");
+        }
+    }
+
+    public record Quiz(
+            int base,
+            int perQuestion
+    ) {
+    }
+
+    public record DailyPlan(
+            int base,
+            int perDay,
+            int perHour,
+            int perOutlineSegment
+    ) {
+    }
+
+    public record Hint(
+            List<Integer> levels,
+            int maxProblemTokens,
+            int maxTriedTokens
+    ) {
+    }
+}
@@ -0,0 +1,156 @@
+package com.ai.education.platform.llm.offline;
+
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.metadata.ChatResponseMetadata;
+import org.springframework.ai.chat.metadata.DefaultUsage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.retry.TransientAiException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/*
+ * Stand-in for the OpenRouter model (profile "offline"): no network, no cost, but the same shape of traffic.
+ * Completions come from OfflineResponses, timing is latency to the first token + one word per 1 / tokens-per-second,
+ * both with jitter. Injected errors are TransientAiException, the same type a 5xx from the real API ends up as.
+ */
+public class OfflineChatModel implements ChatModel {
+
+    private static final Duration STALL = Duration.ofMinutes(10); //longer than any llm.resilience deadline, streams just never emit
+
+    private final OfflineLlmProperties properties;
+
+    public OfflineChatModel(OfflineLlmProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public ChatResponse call(Prompt prompt) {
+        List<String> chunks = capped(prompt, chunks(OfflineResponses.generate(prompt.getContents())));
+        String text = String.join("", chunks);
+        double factor = jitter();
+
+        sleep(stalls() ? STALL : firstToken(factor).plus(perChunk(factor).multipliedBy(chunks.size())));
+        if (fails()) {
+            throw new TransientAiException("Offline model: injected upstream failure");
+        }
+        return response(text, metadata(prompt, chunks.size()));
+    }
+
+    @Override
+    public Flux<ChatResponse> stream(Prompt prompt) {
+        List<String> chunks = capped(prompt, chunks(OfflineResponses.generate(prompt.getContents())));
+        double factor = jitter();
+
+        if (stalls()) {
+            return Flux.never();
+        }
+
+        List<ChatResponse> responses = new ArrayList<>(chunks.size());
+        for (int i = 0; i < chunks.size(); i++) {
+            //usage only on the last chunk, like the OpenAI stream
+            boolean last = i == chunks.size() - 1;
+            responses.add(response(chunks.get(i), last ? metadata(prompt, chunks.size()) : model(prompt)));
+        }
+
+        Flux<ChatResponse> stream = Flux.fromIterable(responses);
+        if (fails()) {
+            int failAt = ThreadLocalRandom.current().nextInt(responses.size() + 1);
+            stream = stream.take(failAt)
+                    .concatWith(Mono.error(new TransientAiException("Offline model: injected upstream failure")));
+        }
+        return stream
+                .delayElements(perChunk(factor))
+                .delaySubscription(firstToken(factor));
+    }
+
+    @Override
+    public ChatOptions getDefaultOptions() {
+        return ChatOptions.builder().model("offline").build();
+    }
+
+    private ChatResponse response(String text, ChatResponseMetadata metadata) {
+        return new ChatResponse(List.of(new Generation(new AssistantMessage(text))), metadata);
+    }
+
+    private ChatResponseMetadata model(Prompt prompt) {
+        return ChatResponseMetadata.builder().model(modelOf(prompt)).build();
+    }
+
+    private ChatResponseMetadata metadata(Prompt prompt, int completionTokens) {
+        int promptTokens = Math.max(1, prompt.getContents().length() / 4);
+        return ChatResponseMetadata.builder()
+                .model(modelOf(prompt))
+                .usage(new DefaultUsage(promptTokens, completionTokens))
+                .build();
+    }
+
+    //the routed model (llm.routing profiles) is echoed back, so per model metrics still split
+    private String modelOf(Prompt prompt) {
+        ChatOptions options = prompt.getOptions();
+        return options != null && options.getModel() != null ? options.getModel() : "offline";
+    }
+
+    //maxTokens cuts the completion like the real API does (finish reason "length"), one chunk = one token here
+    private static List<String> capped(Prompt prompt, List<String> chunks) {
+        ChatOptions options = prompt.getOptions();
+        if (options == null || options.getMaxTokens() == null || options.getMaxTokens() >= chunks.size()) {
+            return chunks;
+        }
+        return chunks.subList(0, Math.max(1, options.getMaxTokens()));
+    }
+
+    //one chunk ~ one token, words keep their trailing whitespace so the chunks join back to the text
+    private static List<String> chunks(String text) {
+        List<String> chunks = new ArrayList<>();
+        int start = 0;
+        for (int i = 1; i < text.length(); i++) {
+            if (Character.isWhitespace(text.charAt(i - 1)) && !Character.isWhitespace(text.charAt(i))) {
+                chunks.add(text.substring(start, i));
+                start = i;
+            }
+        }
+        if (start < text.length()) {
+            chunks.add(text.substring(start));
+        }
+        return chunks.isEmpty() ? List.of(text) : chunks;
+    }
+
+    private Duration firstToken(double factor) {
+        return Duration.ofNanos((long) (properties.latency().toNanos() * factor));
+    }
+
+    private Duration perChunk(double factor) {
+        return Duration.ofNanos((long) (1_000_000_000L / properties.tokensPerSecond() * factor));
+    }
+
+    private double jitter() {
+        double jitter = properties.jitter();
+        return jitter == 0 ? 1.0 : ThreadLocalRandom.current().nextDouble(1 - jitter, 1 + jitter);
+    }
+
+    private boolean fails() {
+        return ThreadLocalRandom.current().nextDouble() < properties.errorRate();
+    }
+
+    private boolean stalls() {
+        return ThreadLocalRandom.current().nextDouble() < properties.stallRate();
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransientAiException("Offline model: interrupted");
+        }
+    }
+}
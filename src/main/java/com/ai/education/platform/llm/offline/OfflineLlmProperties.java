@@ -0,0 +1,35 @@
+package com.ai.education.platform.llm.offline;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/*
+ * llm.offline.* (only used with the "offline" profile, see application-offline.yaml):
+ *   latency           -> time to the first token
+ *   tokens-per-second -> generation speed after that, a completion takes latency + tokens / tokens-per-second
+ *   jitter            -> +- fraction applied to both per call (0.3 -> 70%..130%)
+ *   error-rate        -> fraction of calls failing like an upstream 5xx (streams fail somewhere mid stream)
+ *   stall-rate        -> fraction of calls that never finish, for exercising the llm.resilience deadlines
+ */
+@ConfigurationProperties(prefix = "llm.offline")
+public record OfflineLlmProperties(
+        Duration latency,
+        int tokensPerSecond,
+        double jitter,
+        double errorRate,
+        double stallRate
+) {
+
+    public OfflineLlmProperties {
+        if (latency == null) {
+            latency = Duration.ofMillis(600);
+        }
+        if (tokensPerSecond <= 0) {
+            tokensPerSecond = 80;
+        }
+        jitter = Math.clamp(jitter, 0.0, 1.0);
+        errorRate = Math.clamp(errorRate, 0.0, 1.0);
+        stallRate = Math.clamp(stallRate, 0.0, 1.0);
+    }
+}
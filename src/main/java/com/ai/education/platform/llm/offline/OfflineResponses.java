@@ -0,0 +1,206 @@
+package com.ai.education.platform.llm.offline;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/*
+ * Canned but realistic completions for the prompts of *PromptBuilder: the kind of prompt is recognised by its
+ * task line, goal / topic / day numbers are read back from it so the output has the shape the services parse
+ * (markdown roadmaps and plans, quiz JSON, "=== HINT LEVEL n ===" sections, numbered outline lines).
+ * The text is seeded by the prompt, the same prompt always gives the same completion.
+ */
+final class OfflineResponses {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private static final Pattern GOAL = Pattern.compile("Goal:\\s*\\R\\s*(.+)");
+    private static final Pattern TOPIC = Pattern.compile("Topic:\\s*\\R\\s*(.+)");
+    private static final Pattern PROBLEM = Pattern.compile("Problem:\\s*\\R\\s*(.+)");
+    private static final Pattern QUESTION_COUNT = Pattern.compile("Number of Questions:\\s*\\R\\s*(\\d+)");
+    private static final Pattern HINT_LEVEL = Pattern.compile("Hint depth level:\\s*\\R\\s*(\\d)");
+    private static final Pattern PLAN_DAYS = Pattern.compile("Create a (\\d+)-day");
+    private static final Pattern SEGMENT_DAYS = Pattern.compile("Write days (\\d+) to (\\d+)");
+    private static final Pattern OUTLINE_BLOCK = Pattern.compile("(?m)^\\s*(\\d+)\\. Days \\d+-\\d+");
+
+    private static final String[] CONCEPTS = {
+            "core fundamentals", "tooling and environment setup", "data modelling", "error handling",
+            "testing strategies", "performance tuning", "design patterns", "debugging techniques",
+            "security basics", "deployment", "best practices", "real-world project work",
+            "common pitfalls", "documentation and reading source", "scaling up", "code review habits"
+    };
+
+    private static final String[] QUESTION_TEMPLATES = {
+            "Which statement about %s in %s is correct?",
+            "What is the main purpose of %s when working with %s?",
+            "Which of these is a common mistake with %s in %s?",
+            "When learning %s, why does %s matter most?",
+            "Which option best describes %s in the context of %s?"
+    };
+
+    private OfflineResponses() {
+    }
+
+    static String generate(String prompt) {
+        Random random = new Random(prompt.hashCode());
+
+        if (prompt.contains("=== HINT LEVEL 1 ===")) {
+            return allHintLevels(prompt, random);
+        }
+        if (prompt.contains("INTUITIVE HINTS")) {
+            return hint(prompt, random, intOr(HINT_LEVEL, prompt, 1));
+        }
+        if (prompt.contains("QUIZ GENERATOR")) {
+            return quiz(prompt, random);
+        }
+        if (prompt.contains("Outline a ")) {
+            return outline(prompt, random);
+        }
+        Matcher segment = SEGMENT_DAYS.matcher(prompt);
+        if (segment.find()) {
+            return days(prompt, random, Integer.parseInt(segment.group(1)), Integer.parseInt(segment.group(2)));
+        }
+        if (prompt.contains("daily study plan")) {
+            return "# Study Plan: " + text(GOAL, prompt, "your goal") + "\n\n"
+                    + days(prompt, random, 1, intOr(PLAN_DAYS, prompt, 7));
+        }
+        return roadmap(prompt, random);
+    }
+
+    private static String roadmap(String prompt, Random random) {
+        String goal = text(GOAL, prompt, "your goal");
+        int phases = 4 + random.nextInt(3);
+        StringBuilder markdown = new StringBuilder("# Learning Roadmap: ").append(goal).append("\n\n")
+                .append("This roadmap takes you from the basics to confident, independent work on ")
+                .append(goal).append(". Move on once the expected outcome of a phase feels comfortable.\n\n");
+
+        int week = 1;
+        for (int phase = 1; phase <= phases; phase++) {
+            int weeks = 1 + random.nextInt(3);
+            String focus = pick(random);
+            markdown.append("## Phase ").append(phase).append(": ").append(capitalize(focus))
+                    .append(" (Week").append(weeks > 1 ? "s " + week + "-" + (week + weeks - 1) : " " + week).append(")\n\n")
+                    .append("### What to learn\n")
+                    .append("- How ").append(focus).append(" applies to ").append(goal).append("\n")
+                    .append("- Why it matters and where beginners usually get stuck\n\n")
+                    .append("### Key topics\n");
+            for (int i = 0; i < 3; i++) {
+                markdown.append("- ").append(capitalize(pick(random))).append("\n");
+            }
+            markdown.append("\n### Expected outcome\n")
+                    .append("You can explain ").append(focus).append(" in your own words and use it in a small exercise.\n\n");
+            week += weeks;
+        }
+        return markdown.toString();
+    }
+
+    private static String days(String prompt, Random random, int from, int to) {
+        String goal = text(GOAL, prompt, "your goal");
+        StringBuilder markdown = new StringBuilder();
+        for (int day = from; day <= to; day++) {
+            String focus = pick(random);
+            markdown.append("## Day ").append(day).append(": ").append(capitalize(focus)).append("\n\n")
+                    .append("**Topics**\n")
+                    .append("- ").append(capitalize(focus)).append(" for ").append(goal).append("\n")
+                    .append("- ").append(capitalize(pick(random))).append("\n\n")
+                    .append("**Tasks**\n")
+                    .append("- Read an introduction to ").append(focus).append(" and take short notes\n")
+                    .append("- Do one small exercise and write down what was unclear\n\n")
+                    .append("**Expected outcome**\n")
+                    .append("You can describe ").append(focus).append(" and apply it to a simple example.\n\n");
+        }
+        return markdown.toString();
+    }
+
+    private static String outline(String prompt, Random random) {
+        Matcher block = OUTLINE_BLOCK.matcher(prompt);
+        StringBuilder lines = new StringBuilder();
+        while (block.find()) {
+            lines.append(block.group(1)).append(". ")
+                    .append(capitalize(pick(random))).append(" and ").append(pick(random)).append("\n");
+        }
+        return lines.toString();
+    }
+
+    private static String quiz(String prompt, Random random) {
+        String topic = text(TOPIC, prompt, "the topic");
+        int count = intOr(QUESTION_COUNT, prompt, 5);
+
+        //no repeats inside the quiz, nor of the "already exist" questions a bank refill prompt lists
+        Set<String> used = new HashSet<>();
+        List<Map<String, Object>> questions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String text;
+            int attempts = 0;
+            do {
+                String template = QUESTION_TEMPLATES[random.nextInt(QUESTION_TEMPLATES.length)];
+                text = template.formatted(pick(random), topic);
+            } while ((!used.add(text) || prompt.contains("- " + text)) && ++attempts < 20);
+
+            List<String> options = new ArrayList<>(List.of(
+                    "It is only relevant for experts",
+                    "It replaces the need to understand " + pick(random),
+                    "It has no effect in practice"));
+            int correct = random.nextInt(4);
+            options.add(correct, "It helps you reason about " + topic + " correctly");
+
+            Map<String, Object> question = new LinkedHashMap<>();
+            question.put("question", text);
+            question.put("options", options);
+            question.put("correctAnswerIndex", correct);
+            questions.add(question);
+        }
+
+        try {
+            return JSON.writerWithDefaultPrettyPrinter().writeValueAsString(Map.of("quiz", questions));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String allHintLevels(String prompt, Random random) {
+        return "=== HINT LEVEL 1 ===\n" + hint(prompt, random, 1)
+                + "\n=== HINT LEVEL 2 ===\n" + hint(prompt, random, 2)
+                + "\n=== HINT LEVEL 3 ===\n" + hint(prompt, random, 3);
+    }
+
+    private static String hint(String prompt, Random random, int level) {
+        String problem = text(PROBLEM, prompt, "this problem");
+        String concept = pick(random);
+        return switch (level) {
+            case 1 -> "Think about what stays the same every time you look at \"" + problem + "\". "
+                    + "Is there something you are recomputing that you already know?\n";
+            case 2 -> "Focus on **" + concept + "**: ask yourself which information you need to keep "
+                    + "while you go through the input, and what you can throw away.\n";
+            default -> "A common mistake is to treat every case separately. Try to find the one property that "
+                    + "connects them, then check it against a tiny example by hand before generalising.\n";
+        };
+    }
+
+    private static String pick(Random random) {
+        return CONCEPTS[random.nextInt(CONCEPTS.length)];
+    }
+
+    private static String text(Pattern pattern, String prompt, String fallback) {
+        Matcher matcher = pattern.matcher(prompt);
+        return matcher.find() ? matcher.group(1).strip() : fallback;
+    }
+
+    private static int intOr(Pattern pattern, String prompt, int fallback) {
+        Matcher matcher = pattern.matcher(prompt);
+        return matcher.find() ? Integer.parseInt(matcher.group(1)) : fallback;
+    }
+
+    private static String capitalize(String text) {
+        return Character.toUpperCase(text.charAt(0)) + text.substring(1);
+    }
+}
@@ -0,0 +1,20 @@
+package com.ai.education.platform.ratelimit;
+
+import com.ai.education.platform.llm.LlmFeature;
+import lombok.Getter;
+
+import java.time.Duration;
+
+//User used up the bucket for a feature -> 429 with Retry-After
+@Getter
+public class RateLimitExceededException extends RuntimeException {
+
+    private final LlmFeature feature;
+    private final Duration retryAfter;
+
+    public RateLimitExceededException(LlmFeature feature, Duration retryAfter) {
+        super("Rate limit exceeded for " + feature.tag() + ", please retry later");
+        this.feature = feature;
+        this.retryAfter = retryAfter;
+    }
+}
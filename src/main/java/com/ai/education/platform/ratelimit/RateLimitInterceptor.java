@@ -0,0 +1,38 @@
+package com.ai.education.platform.ratelimit;
+
+import com.ai.education.platform.auth.security.JwtUserPrincipal;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+//Charges @RateLimited endpoints against the userId the JwtAuthenticationFilter put in the SecurityContext
+@Component
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final UserRateLimiter rateLimiter;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        //SSE responses finish on an ASYNC dispatch of the same request, it was charged already
+        if (request.getDispatcherType() == DispatcherType.ASYNC || !(handler instanceof HandlerMethod method)) {
+            return true;
+        }
+
+        RateLimited rateLimited = method.getMethodAnnotation(RateLimited.class);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (rateLimited == null || authentication == null
+                || !(authentication.getPrincipal() instanceof JwtUserPrincipal principal)) {
+            return true;
+        }
+
+        rateLimiter.acquire(principal.userId(), rateLimited.value());
+        return true;
+    }
+}
@@ -0,0 +1,65 @@
+package com.ai.education.platform.ratelimit;
+
+import com.ai.education.platform.llm.LlmFeature;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/*
+ * rate-limit.features.<feature>:
+ *  capacity          -> bucket size in tokens (burst)
+ *  refill-per-minute -> tokens added back per minute
+ *  cost              -> tokens one request takes, expensive endpoints (roadmap) cost more than a hint,
+ *                       at most capacity (a bigger cost could never be paid, clients would retry forever)
+ * All three must be positive, a bad limit fails startup.
+ * Buckets of users idle for idle-expiry are dropped, at most max-buckets are tracked.
+ */
+@ConfigurationProperties(prefix = "rate-limit")
+public record RateLimitProperties(
+        boolean enabled,
+        long maxBuckets,
+        Duration idleExpiry,
+        Limit defaultLimit,
+        Map<LlmFeature, Limit> features
+) {
+
+    public RateLimitProperties {
+        if (maxBuckets <= 0) {
+            maxBuckets = 100_000;
+        }
+        if (idleExpiry == null) {
+            idleExpiry = Duration.ofMinutes(30);
+        }
+        if (defaultLimit == null) {
+            defaultLimit = new Limit(20, 10, 1);
+        }
+        features = features == null ? new EnumMap<>(LlmFeature.class) : new EnumMap<>(features);
+        validate("rate-limit.default-limit", defaultLimit);
+        for (Map.Entry<LlmFeature, Limit> entry : features.entrySet()) {
+            validate("rate-limit.features." + entry.getKey().tag(), entry.getValue());
+        }
+    }
+
+    public Limit limitFor(LlmFeature feature) {
+        return features.getOrDefault(feature, defaultLimit);
+    }
+
+    private static void validate(String name, Limit limit) {
+        if (limit.capacity() <= 0 || limit.refillPerMinute() <= 0 || limit.cost() <= 0) {
+            throw new IllegalStateException(name + ": capacity, refill-per-minute and cost must be positive, got " + limit);
+        }
+        if (limit.cost() > limit.capacity()) {
+            throw new IllegalStateException(name + ": cost " + limit.cost() + " exceeds capacity " + limit.capacity()
+                    + ", such a request could never be allowed");
+        }
+    }
+
+    public record Limit(
+            int capacity,
+            int refillPerMinute,
+            int cost
+    ) {
+    }
+}
@@ -0,0 +1,16 @@
+package com.ai.education.platform.ratelimit;
+
+import com.ai.education.platform.llm.LlmFeature;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+//Marks an endpoint as charged against the caller's bucket for the feature (see rate-limit.features.*)
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimited {
+
+    LlmFeature value();
+}
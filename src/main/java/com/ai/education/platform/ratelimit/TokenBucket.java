@@ -0,0 +1,37 @@
+package com.ai.education.platform.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Lock-free token bucket in GCRA form: instead of (tokens, lastRefill) it keeps a single
+ * "theoretical arrival time", so taking tokens is one CAS on one long, no lock and no refill thread.
+ *   emission interval = time to refill one token
+ *   a request of cost c pushes the arrival time c intervals forward and is allowed while
+ *   that stays within capacity intervals of now.
+ */
+final class TokenBucket {
+
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(long nowNanos) {
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    //0 when the tokens were taken, otherwise nanos until the request would fit
+    long tryConsume(int cost, long nowNanos, long emissionIntervalNanos, long capacity) {
+        long increment = cost * emissionIntervalNanos;
+        long burstTolerance = capacity * emissionIntervalNanos;
+
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, nowNanos) + increment;
+            long allowedAt = next - burstTolerance;
+            if (allowedAt > nowNanos) {
+                return allowedAt - nowNanos;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
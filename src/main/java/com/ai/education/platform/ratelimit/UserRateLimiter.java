@@ -0,0 +1,60 @@
+package com.ai.education.platform.ratelimit;
+
+import com.ai.education.platform.llm.LlmFeature;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+//Per (userId, feature) token buckets, kept in a bounded cache so idle users' buckets expire
+@Component
+public class UserRateLimiter {
+
+    private final RateLimitProperties properties;
+    private final Cache<BucketKey, TokenBucket> buckets;
+    private final Map<LlmFeature, Counter> rejected = new EnumMap<>(LlmFeature.class);
+
+    public UserRateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.maxBuckets())
+                .expireAfterAccess(properties.idleExpiry())
+                .build();
+
+        for (LlmFeature feature : LlmFeature.values()) {
+            rejected.put(feature, Counter.builder("ratelimit.rejected")
+                    .tag("feature", feature.tag())
+                    .register(meterRegistry));
+        }
+        Gauge.builder("ratelimit.buckets", buckets, Cache::estimatedSize)
+                .register(meterRegistry);
+    }
+
+    public void acquire(UUID userId, LlmFeature feature) {
+        if (!properties.enabled()) {
+            return;
+        }
+
+        RateLimitProperties.Limit limit = properties.limitFor(feature);
+        long now = System.nanoTime();
+        long emissionInterval = TimeUnit.MINUTES.toNanos(1) / Math.max(1, limit.refillPerMinute());
+
+        TokenBucket bucket = buckets.get(new BucketKey(userId, feature), key -> new TokenBucket(now));
+        long waitNanos = bucket.tryConsume(limit.cost(), now, emissionInterval, limit.capacity());
+        if (waitNanos > 0) {
+            rejected.get(feature).increment();
+            throw new RateLimitExceededException(feature, Duration.ofNanos(waitNanos));
+        }
+    }
+
+    private record BucketKey(UUID userId, LlmFeature feature) {
+    }
+}
@@ -2,10 +2,14 @@ package com.ai.education.platform.user.repository;
 
 import com.ai.education.platform.user.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, UUID> {
@@ -13,4 +17,14 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     Optional<User> findByEmail(String email); //login
 
     boolean existsByEmail(String email);  //signup
+
+    //builds the registered email filter, must be consumed inside a transaction
+    @Query("select u.email from User u")
+    Stream<String> streamAllEmails();
+
+    //rehash on login, skipped if the password was changed meanwhile
+    @Modifying
+    @Transactional
+    @Query("update User u set u.password = :newHash where u.id = :id and u.password = :oldHash")
+    int updatePasswordIfUnchanged(UUID id, String oldHash, String newHash);
 }
@@ -0,0 +1,148 @@
+package com.ai.education.platform.user.service;
+
+import com.ai.education.platform.user.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/*
+ * Fast path for "is this email registered?" on signup: a Bloom filter of all registered emails.
+ * A negative answer skips the existsByEmail query, a positive one still asks the db.
+ * Built by streaming the users table after startup (until then every check goes to the db) and rebuilt
+ * periodically to pick up users registered on other nodes. The unique constraint on users.email stays the
+ * source of truth, a signup that slips past a stale filter fails on save instead.
+ *
+ * Metrics: auth.email-filter.bytes, .expected-fpp, .rebuild (timer),
+ * .checks{result=negative|positive|false-positive} -> observed fpp = false-positive / (false-positive + negative)
+ */
+@Component
+@Slf4j
+public class RegisteredEmailFilter {
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+
+    private volatile BloomFilter current;   //null until the first build finished
+    private volatile BloomFilter building;  //signups during a rebuild go into both filters
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    private final Timer rebuildTimer;
+    private final Counter negatives;
+    private final Counter positives;
+    private final Counter falsePositives;
+
+    public RegisteredEmailFilter(
+            UserRepository userRepository,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${auth.email-filter.expected-insertions:1000000}") long expectedInsertions,
+            @Value("${auth.email-filter.false-positive-rate:0.01}") double falsePositiveRate
+    ) {
+        this.userRepository = userRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+
+        Gauge.builder("auth.email-filter.bytes", this, f -> f.current == null ? 0 : f.current.sizeInBytes())
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("auth.email-filter.expected-fpp", this, f -> f.current == null ? 0 : f.current.expectedFalsePositiveRate())
+                .register(meterRegistry);
+        this.rebuildTimer = Timer.builder("auth.email-filter.rebuild")
+                .register(meterRegistry);
+        this.negatives = checks(meterRegistry, "negative");
+        this.positives = checks(meterRegistry, "positive");
+        this.falsePositives = checks(meterRegistry, "false-positive");
+    }
+
+    public boolean isRegistered(String email) {
+        BloomFilter filter = current;
+        if (filter != null && !filter.mightContain(key(email))) {
+            negatives.increment();
+            return false;
+        }
+
+        boolean exists = userRepository.existsByEmail(email);
+        if (filter != null) {
+            (exists ? positives : falsePositives).increment();
+        }
+        return exists;
+    }
+
+    public void add(String email) {
+        String key = key(email);
+        BloomFilter filter = current;
+        if (filter != null) {
+            filter.add(key);
+        }
+        BloomFilter next = building;
+        if (next != null) {
+            next.add(key);
+        }
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${auth.email-filter.rebuild-interval:1h}", fixedDelayString = "${auth.email-filter.rebuild-interval:1h}")
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long start = System.nanoTime();
+            long users = userRepository.count();
+            BloomFilter next = new BloomFilter(Math.max(expectedInsertions, users * 2), falsePositiveRate);
+            building = next;
+
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<String> emails = userRepository.streamAllEmails()) {
+                    emails.forEach(email -> next.add(key(email)));
+                }
+            });
+
+            current = next;
+            long elapsed = System.nanoTime() - start;
+            rebuildTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            log.info("Registered email filter built: {} users, {} KiB, expected false positive rate {}, {} ms",
+                    users, next.sizeInBytes() / 1024, String.format(Locale.ROOT, "%.4f", next.expectedFalsePositiveRate()),
+                    elapsed / 1_000_000);
+        } catch (RuntimeException ex) {
+            log.warn("Registered email filter build failed, signups keep using the db: {}", ex.getMessage());
+        } finally {
+            building = null;
+            rebuilding.set(false);
+        }
+    }
+
+    //lower-cased, so the filter is a superset of the exact-match existsByEmail
+    private static String key(String email) {
+        return email.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private static Counter checks(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("auth.email-filter.checks")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
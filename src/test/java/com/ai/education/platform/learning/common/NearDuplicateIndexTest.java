@@ -0,0 +1,86 @@
+package com.ai.education.platform.learning.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NearDuplicateIndexTest {
+
+    @Test
+    void rewordedGoalFindsItsSource() {
+        NearDuplicateIndex<String, String> index = new NearDuplicateIndex<>(100, 0.8);
+        index.add("BEGINNER", "java backend", "java backend");
+        index.add("BEGINNER", "python backend", "python backend");
+
+        assertEquals("java backend", value(index.find("BEGINNER", "Learn Java Backend development")));
+        assertEquals("java backend", value(index.find("BEGINNER", "java backend dev roadmap")));
+        assertEquals("python backend", value(index.find("BEGINNER", "I want to master Python backend!")));
+    }
+
+    @Test
+    void differentSubjectIsNotADuplicate() {
+        NearDuplicateIndex<String, String> index = new NearDuplicateIndex<>(100, 0.8);
+        index.add("BEGINNER", "php microservices projects", "php");
+        index.add("BEGINNER", "java backend", "java");
+
+        //long shared words, one short different one
+        assertTrue(index.find("BEGINNER", "cobol microservices projects").isEmpty());
+        assertTrue(index.find("BEGINNER", "javascript backend").isEmpty());
+        assertTrue(index.find("BEGINNER", "java backend projects").isEmpty());
+    }
+
+    @Test
+    void similarityAtTheThresholdMatchesAndJustBelowDoesNot() {
+        NearDuplicateIndex<String, String> probe = new NearDuplicateIndex<>(100, Double.MIN_VALUE);
+        probe.add("BEGINNER", "kubernetes security", "k8s");
+        double similarity = probe.find("BEGINNER", "kubernets security").orElseThrow().similarity();
+        assertTrue(similarity > 0 && similarity < 1, "a misspelling is similar, not identical: " + similarity);
+
+        NearDuplicateIndex<String, String> atThreshold = new NearDuplicateIndex<>(100, similarity);
+        atThreshold.add("BEGINNER", "kubernetes security", "k8s");
+        assertEquals("k8s", value(atThreshold.find("BEGINNER", "kubernets security")));
+
+        NearDuplicateIndex<String, String> aboveThreshold = new NearDuplicateIndex<>(100, Math.nextUp(similarity));
+        aboveThreshold.add("BEGINNER", "kubernetes security", "k8s");
+        assertTrue(aboveThreshold.find("BEGINNER", "kubernets security").isEmpty());
+    }
+
+    @Test
+    void partitionsDoNotMix() {
+        NearDuplicateIndex<String, String> index = new NearDuplicateIndex<>(100, 0.8);
+        index.add("BEGINNER", "java backend", "beginner");
+
+        assertTrue(index.find("ADVANCED", "java backend").isEmpty());
+    }
+
+    @Test
+    void oldestEntryIsEvictedBeyondMaxEntries() {
+        NearDuplicateIndex<String, String> index = new NearDuplicateIndex<>(2, 0.8);
+        index.add("BEGINNER", "java backend", "java");
+        index.add("BEGINNER", "python backend", "python");
+        index.add("BEGINNER", "rust backend", "rust");
+
+        assertEquals(2, index.size());
+        assertTrue(index.find("BEGINNER", "java backend").isEmpty());
+        assertEquals("rust", value(index.find("BEGINNER", "rust backend")));
+    }
+
+    @Test
+    void removedAndFillerOnlyTextsAreNotFound() {
+        NearDuplicateIndex<String, String> index = new NearDuplicateIndex<>(100, 0.8);
+        index.add("BEGINNER", "java backend", "java");
+        index.add("BEGINNER", "learn development roadmap", "filler");
+        index.remove("java");
+
+        assertEquals(0, index.size());
+        assertTrue(index.find("BEGINNER", "java backend").isEmpty());
+        assertTrue(index.find("BEGINNER", "learn development roadmap").isEmpty());
+    }
+
+    private static String value(Optional<NearDuplicateIndex.Match<String>> match) {
+        return match.map(NearDuplicateIndex.Match::value).orElse(null);
+    }
+}
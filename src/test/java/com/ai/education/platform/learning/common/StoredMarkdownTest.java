@@ -0,0 +1,108 @@
+package com.ai.education.platform.learning.common;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StoredMarkdownTest {
+
+    private static final String MARKDOWN = "# Roadmap\n\n## Phase 1\n- Learn the basics\n";
+    private static final String HASH = StoredMarkdown.hash(MARKDOWN);
+    private static final byte[] STORED = Gzip.compress(MARKDOWN);
+
+    private final AtomicInteger bodyReads = new AtomicInteger();
+    private final Supplier<Optional<byte[]>> body = () -> {
+        bodyReads.incrementAndGet();
+        return Optional.of(STORED);
+    };
+
+    @Test
+    void plainRequestGetsTheDecompressedMarkdown() {
+        ResponseEntity<byte[]> response = StoredMarkdown.respond(HASH, null, null, body);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"" + HASH + "\"", response.getHeaders().getETag());
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(StoredMarkdown.MARKDOWN, response.getHeaders().getContentType());
+        assertEquals(MARKDOWN, new String(response.getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void gzipRequestGetsTheStoredBytesUnderTheGzTag() {
+        ResponseEntity<byte[]> response = StoredMarkdown.respond(HASH, null, "gzip, deflate, br", body);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"" + HASH + "-gz\"", response.getHeaders().getETag());
+        assertEquals("gzip", response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(STORED, response.getBody());
+    }
+
+    @Test
+    void matchingTagAnswers304WithoutReadingTheBody() {
+        for (String ifNoneMatch : List.of("\"" + HASH + "\"", "\"" + HASH + "-gz\"", "W/\"" + HASH + "\"",
+                "\"other\", \"" + HASH + "\"", "*")) {
+            ResponseEntity<byte[]> response = StoredMarkdown.respond(HASH, ifNoneMatch, "gzip", body);
+
+            assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode(), ifNoneMatch);
+            assertEquals("\"" + HASH + "-gz\"", response.getHeaders().getETag());
+            assertNull(response.getBody());
+        }
+        assertEquals(0, bodyReads.get());
+    }
+
+    @Test
+    void otherTagGetsTheBody() {
+        ResponseEntity<byte[]> response = StoredMarkdown.respond(HASH, "\"" + Sha256.hex("older") + "\"", null, body);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, bodyReads.get());
+    }
+
+    @Test
+    void everyResponseIsRevalidatedAndVariesByEncoding() {
+        for (ResponseEntity<byte[]> response : List.of(
+                StoredMarkdown.respond(HASH, null, null, body),
+                StoredMarkdown.respond(HASH, "\"" + HASH + "\"", null, body))) {
+            String cacheControl = response.getHeaders().getCacheControl();
+            assertTrue(cacheControl.contains("no-cache"), cacheControl);
+            assertTrue(cacheControl.contains("private"), cacheControl);
+            assertEquals(List.of(HttpHeaders.ACCEPT_ENCODING), response.getHeaders().getVary());
+        }
+    }
+
+    @Test
+    void bodyGoneBetweenHashAndReadIs404() {
+        ResponseEntity<byte[]> response = StoredMarkdown.respond(HASH, null, "gzip", Optional::empty);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    @Test
+    void acceptsGzipHonoursQualityValues() {
+        assertTrue(StoredMarkdown.acceptsGzip("gzip"));
+        assertTrue(StoredMarkdown.acceptsGzip("br;q=1.0, gzip;q=0.8"));
+        assertTrue(StoredMarkdown.acceptsGzip("x-gzip"));
+        assertTrue(StoredMarkdown.acceptsGzip("*"));
+        assertTrue(StoredMarkdown.acceptsGzip("GZIP ; Q=0.5"));
+
+        assertFalse(StoredMarkdown.acceptsGzip(null));
+        assertFalse(StoredMarkdown.acceptsGzip("identity"));
+        assertFalse(StoredMarkdown.acceptsGzip("gzip;q=0"));
+        assertFalse(StoredMarkdown.acceptsGzip("gzip;q=0.000"));
+        assertFalse(StoredMarkdown.acceptsGzip("*;q=0"));
+        assertFalse(StoredMarkdown.acceptsGzip("*, gzip;q=0")); //explicit gzip wins over the wildcard
+    }
+}
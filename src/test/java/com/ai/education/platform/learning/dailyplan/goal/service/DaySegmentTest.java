@@ -0,0 +1,44 @@
+package com.ai.education.platform.learning.dailyplan.goal.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DaySegmentTest {
+
+    private static final int WEEK = 7; //daily-plan.segment-days default
+
+    @Test
+    void singleDayIsOneSegment() {
+        assertEquals(List.of(new DaySegment(0, 1, 1)), DaySegment.split(1, WEEK));
+    }
+
+    @Test
+    void exactlyOneWeekIsOneSegment() {
+        assertEquals(List.of(new DaySegment(0, 1, 7)), DaySegment.split(7, WEEK));
+    }
+
+    @Test
+    void oneDayOverAWeekGetsItsOwnSegment() {
+        List<DaySegment> segments = DaySegment.split(8, WEEK);
+
+        assertEquals(List.of(new DaySegment(0, 1, 7), new DaySegment(1, 8, 8)), segments);
+        assertEquals(1, segments.get(1).length());
+    }
+
+    @Test
+    void eightWeeksAreEightFullContiguousSegments() {
+        List<DaySegment> segments = DaySegment.split(56, WEEK);
+
+        assertEquals(8, segments.size());
+        for (int i = 0; i < segments.size(); i++) {
+            DaySegment segment = segments.get(i);
+            assertEquals(i, segment.index());
+            assertEquals(i * WEEK + 1, segment.fromDay());
+            assertEquals(WEEK, segment.length());
+        }
+        assertEquals(56, segments.getLast().toDay());
+    }
+}
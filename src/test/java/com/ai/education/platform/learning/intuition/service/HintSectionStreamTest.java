@@ -0,0 +1,67 @@
+package com.ai.education.platform.learning.intuition.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class HintSectionStreamTest {
+
+    private static final String COMPLETION = """
+            === HINT LEVEL 1 ===
+            Think about what repeats.
+            === HINT LEVEL 2 ===
+            Store results you already computed.
+            === HINT LEVEL 3 ===
+            Use a memo table indexed by n.
+            """;
+
+    @Test
+    void returnsOnlyTheRequestedSection() {
+        assertEquals("Store results you already computed.\n", feedAll(new HintSectionStream(2), COMPLETION));
+    }
+
+    @Test
+    void lastSectionRunsToTheEnd() {
+        assertEquals("Use a memo table indexed by n.\n", feedAll(new HintSectionStream(3), COMPLETION));
+    }
+
+    @Test
+    void sameResultWhenEveryCharacterArrivesAlone() {
+        for (int level = 1; level <= 3; level++) {
+            HintSectionStream stream = new HintSectionStream(level);
+            StringBuilder out = new StringBuilder();
+            for (int i = 0; i < COMPLETION.length(); i++) {
+                out.append(stream.feed(COMPLETION.substring(i, i + 1)));
+            }
+            out.append(stream.finish());
+
+            assertEquals(feedAll(new HintSectionStream(level), COMPLETION), out.toString());
+        }
+    }
+
+    @Test
+    void neverLeaksTheNextMarker() {
+        HintSectionStream stream = new HintSectionStream(1);
+
+        String out = stream.feed("=== HINT LEVEL 1 ===\nFirst hint.\n=== HINT")
+                + stream.feed(" LEVEL 2 =")
+                + stream.feed("==\nSecond hint.\n");
+
+        assertEquals("First hint.\n", out);
+    }
+
+    @Test
+    void returnsNothingWithoutMarkers() {
+        HintSectionStream stream = new HintSectionStream(1);
+
+        String out = stream.feed("Level 1: think. Level 3: the full solution.") + stream.finish();
+
+        assertEquals("", out);
+        assertFalse(stream.emittedAnything());
+    }
+
+    private static String feedAll(HintSectionStream stream, String text) {
+        return stream.feed(text) + stream.finish();
+    }
+}
@@ -0,0 +1,51 @@
+package com.ai.education.platform.learning.quiz.service;
+
+import com.ai.education.platform.learning.enums.LearningLevel;
+import com.ai.education.platform.learning.quiz.dto.QuizAnswerResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class QuizAnswerKeyTest {
+
+    private static final QuizAnswerKey KEY = new QuizAnswerKey("topic", LearningLevel.BEGINNER, new int[]{0, 2, 1, 3});
+
+    @Test
+    void countsCorrectAnswers() {
+        QuizAnswerKey.Grade grade = KEY.grade(List.of(0, 2, 3, 3));
+
+        assertEquals(3, grade.score());
+        assertArrayEquals(new int[]{0, 2, 3, 3}, grade.selected());
+        assertEquals(new QuizAnswerResult(3, 1, false), grade.results().get(2));
+    }
+
+    @Test
+    void missingAnswersAreWrongAndStoredAsUnanswered() {
+        QuizAnswerKey.Grade grade = KEY.grade(Arrays.asList(null, 2, null, -1));
+
+        assertEquals(1, grade.score());
+        int u = QuizAnswerKey.UNANSWERED;
+        assertArrayEquals(new int[]{u, 2, u, u}, grade.selected());
+        assertEquals(new QuizAnswerResult(null, 0, false), grade.results().get(0));
+        assertEquals(new QuizAnswerResult(null, 3, false), grade.results().get(3));
+    }
+
+    @Test
+    void optionsThatDontExistAreJustWrong() {
+        QuizAnswerKey.Grade grade = KEY.grade(List.of(7, 2, Integer.MAX_VALUE, 3));
+
+        assertEquals(2, grade.score());
+        assertEquals(new QuizAnswerResult(7, 0, false), grade.results().get(0));
+    }
+
+    @Test
+    void answerCountMustMatchTheQuiz() {
+        assertThrows(IllegalArgumentException.class, () -> KEY.grade(List.of(0, 2, 1)));
+        assertThrows(IllegalArgumentException.class, () -> KEY.grade(List.of(0, 2, 1, 3, 0)));
+    }
+}
@@ -0,0 +1,103 @@
+package com.ai.education.platform.learning.quiz.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuizStreamParserTest {
+
+    private static final String FIRST = "{\"question\":\"What is a JVM?\",\"options\":[\"A\",\"B\"],\"correctAnswerIndex\":0}";
+    private static final String SECOND = "{\"question\":\"What is GC?\",\"options\":[\"C\",\"D\"],\"correctAnswerIndex\":1}";
+
+    @Test
+    void returnsEveryElementOfTheQuizArray() {
+        List<String> elements = new QuizStreamParser().feed("{\"quiz\":[" + FIRST + "," + SECOND + "]}");
+
+        assertIterableEquals(List.of(FIRST, SECOND), elements);
+    }
+
+    @Test
+    void ignoresBracesBracketsAndQuotesInsideStrings() {
+        String tricky = "{\"question\":\"Is \\\"{}\\\" or \\\"a[0]}\\\" valid in } ]?\",\"options\":[\"{\",\"]\"],\"correctAnswerIndex\":1}";
+
+        List<String> elements = new QuizStreamParser().feed("{\"quiz\":[" + tricky + "," + SECOND + "]}");
+
+        assertIterableEquals(List.of(tricky, SECOND), elements);
+    }
+
+    @Test
+    void keepsBackslashesBeforeTheClosingQuote() {
+        String path = "{\"question\":\"Separator on Windows?\",\"options\":[\"\\\\\",\"/\"],\"correctAnswerIndex\":0}";
+
+        List<String> elements = new QuizStreamParser().feed("{\"quiz\":[" + path + "]}");
+
+        assertIterableEquals(List.of(path), elements);
+    }
+
+    @Test
+    void sameResultWhenEveryCharacterArrivesAlone() {
+        String tricky = "{\"question\":\"Escaped \\\"}\\\" and \\\\\",\"options\":[\"x\"],\"correctAnswerIndex\":0}";
+        String document = "{\"quiz\":[" + tricky + "," + SECOND + "]}";
+
+        QuizStreamParser parser = new QuizStreamParser();
+        List<String> elements = new ArrayList<>();
+        for (int i = 0; i < document.length(); i++) {
+            elements.addAll(parser.feed(document.substring(i, i + 1)));
+        }
+
+        assertIterableEquals(List.of(tricky, SECOND), elements);
+    }
+
+    @Test
+    void chunkSplitBetweenBackslashAndEscapedQuote() {
+        QuizStreamParser parser = new QuizStreamParser();
+
+        assertTrue(parser.feed("{\"quiz\":[{\"question\":\"say \\").isEmpty());
+        assertTrue(parser.feed("\"}\\").isEmpty()); //still inside the string: \" then } then the start of the next escape
+        List<String> elements = parser.feed("\"\",\"options\":[],\"correctAnswerIndex\":0}]}");
+
+        assertIterableEquals(List.of("{\"question\":\"say \\\"}\\\"\",\"options\":[],\"correctAnswerIndex\":0}"), elements);
+    }
+
+    @Test
+    void elementIsReturnedOnceItsClosingBraceArrives() {
+        QuizStreamParser parser = new QuizStreamParser();
+
+        assertTrue(parser.feed("{\"quiz\":[" + FIRST.substring(0, 20)).isEmpty());
+        assertIterableEquals(List.of(FIRST), parser.feed(FIRST.substring(20) + ","));
+    }
+
+    @Test
+    void truncatedTrailingObjectIsNeverReturned() {
+        QuizStreamParser parser = new QuizStreamParser();
+
+        List<String> elements = new ArrayList<>(parser.feed("{\"quiz\":[" + FIRST + ",{\"question\":\"What is {"));
+        elements.addAll(parser.feed("a closure"));
+
+        assertIterableEquals(List.of(FIRST), elements);
+    }
+
+    @Test
+    void nestedObjectsStayInsideTheirElement() {
+        String nested = "{\"question\":\"Q\",\"meta\":{\"tags\":[{\"t\":1}]},\"options\":[],\"correctAnswerIndex\":0}";
+
+        List<String> elements = new QuizStreamParser().feed("{\"quiz\":[" + nested + "]}");
+
+        assertIterableEquals(List.of(nested), elements);
+    }
+
+    @Test
+    void skipsMarkdownFencesAndChatterAroundTheJson() {
+        String document = "Sure! Here it is:\n```json\n{\"quiz\":[" + FIRST + "]}\n```\nGood luck.";
+
+        List<String> elements = new QuizStreamParser().feed(document);
+
+        assertEquals(1, elements.size());
+        assertEquals(FIRST, elements.get(0));
+    }
+}
@@ -0,0 +1,170 @@
+package com.ai.education.platform.llm;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CircuitBreakerTest {
+
+    private static final long SECOND = 1_000_000_000L;
+    private static final Duration OPEN_FOR = Duration.ofSeconds(30);
+
+    private final List<String> transitions = new ArrayList<>();
+
+    @Test
+    void noDecisionBeforeMinCalls() {
+        CircuitBreaker breaker = breaker(10, 5, 2);
+
+        fail(breaker, 4, 0);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+
+        fail(breaker, 1, 0);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+    }
+
+    @Test
+    void opensWhenTheFailureRateReachesTheThreshold() {
+        CircuitBreaker breaker = breaker(10, 5, 2);
+
+        succeed(breaker, 5);
+        fail(breaker, 4, 0);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state()); //4 of 9
+
+        fail(breaker, 1, 0);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state()); //5 of 10
+    }
+
+    @Test
+    void oldOutcomesLeaveTheWindow() {
+        CircuitBreaker breaker = breaker(4, 4, 2);
+
+        fail(breaker, 1, 0);
+        succeed(breaker, 3); //1 of 4
+        succeed(breaker, 1); //the failure slid out, 0 of 4
+        fail(breaker, 1, 0);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state()); //1 of 4
+
+        fail(breaker, 1, 0);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state()); //2 of 4
+    }
+
+    @Test
+    void rejectsWhileOpenThenLetsProbesThrough() {
+        CircuitBreaker breaker = opened(2);
+
+        assertNull(breaker.tryAcquire(10 * SECOND));
+        assertEquals(Duration.ofSeconds(20), breaker.retryAfter(10 * SECOND));
+
+        assertEquals(CircuitBreaker.Permit.PROBE, breaker.tryAcquire(30 * SECOND));
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+    }
+
+    @Test
+    void retryAfterIsAtLeastOneSecond() {
+        CircuitBreaker breaker = opened(2);
+
+        assertEquals(Duration.ofSeconds(1), breaker.retryAfter(29 * SECOND + SECOND / 2));
+    }
+
+    @Test
+    void onlyHalfOpenProbesPassAndAllMustSucceed() {
+        CircuitBreaker breaker = opened(2);
+
+        CircuitBreaker.Permit first = breaker.tryAcquire(30 * SECOND);
+        CircuitBreaker.Permit second = breaker.tryAcquire(30 * SECOND);
+        assertNull(breaker.tryAcquire(30 * SECOND));
+
+        breaker.onSuccess(first);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        breaker.onSuccess(second);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        assertEquals(List.of("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->CLOSED"), transitions);
+    }
+
+    @Test
+    void failedProbeReopensFromTheFailureTime() {
+        CircuitBreaker breaker = opened(2);
+
+        CircuitBreaker.Permit probe = breaker.tryAcquire(30 * SECOND);
+        breaker.onFailure(probe, 35 * SECOND);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertNull(breaker.tryAcquire(64 * SECOND));
+        assertEquals(CircuitBreaker.Permit.PROBE, breaker.tryAcquire(65 * SECOND));
+    }
+
+    @Test
+    void releasedProbeFreesItsSlot() {
+        CircuitBreaker breaker = opened(1);
+
+        CircuitBreaker.Permit probe = breaker.tryAcquire(30 * SECOND);
+        assertNull(breaker.tryAcquire(30 * SECOND));
+
+        breaker.release(probe);
+        assertEquals(CircuitBreaker.Permit.PROBE, breaker.tryAcquire(30 * SECOND));
+    }
+
+    @Test
+    void callFromTheClosedPeriodIsNotAProbe() {
+        CircuitBreaker breaker = breaker(10, 5, 1);
+        CircuitBreaker.Permit slow = breaker.tryAcquire(0);
+        fail(breaker, 5, 0);
+
+        CircuitBreaker.Permit probe = breaker.tryAcquire(30 * SECOND);
+        breaker.onSuccess(slow);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        assertNull(breaker.tryAcquire(30 * SECOND));
+
+        breaker.onSuccess(probe);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    //regression: an Error in a half-open probe kept its permit, the breaker stayed half-open for good
+    @Test
+    void errorInAProbeReturnsItsPermit() {
+        LlmCircuitBreaker breakers = new LlmCircuitBreaker(
+                new ResilienceProperties(null, null, new ResilienceProperties.Breaker(10, 1, 0.5, Duration.ZERO, 1)),
+                new SimpleMeterRegistry());
+        assertThrows(IllegalStateException.class, () -> breakers.execute(LlmFeature.HINT, () -> {
+            throw new IllegalStateException("provider down");
+        }));
+
+        assertThrows(StackOverflowError.class, () -> breakers.execute(LlmFeature.HINT, () -> {
+            throw new StackOverflowError();
+        }));
+
+        assertEquals("ok", breakers.execute(LlmFeature.HINT, () -> "ok"));
+    }
+
+    private CircuitBreaker breaker(int window, int minCalls, int halfOpenProbes) {
+        return new CircuitBreaker(new ResilienceProperties.Breaker(window, minCalls, 0.5, OPEN_FOR, halfOpenProbes),
+                (from, to) -> transitions.add(from + "->" + to));
+    }
+
+    //opened at t = 0
+    private CircuitBreaker opened(int halfOpenProbes) {
+        CircuitBreaker breaker = breaker(10, 5, halfOpenProbes);
+        fail(breaker, 5, 0);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        return breaker;
+    }
+
+    private static void succeed(CircuitBreaker breaker, int calls) {
+        for (int i = 0; i < calls; i++) {
+            breaker.onSuccess(breaker.tryAcquire(0));
+        }
+    }
+
+    private static void fail(CircuitBreaker breaker, int calls, long nowNanos) {
+        for (int i = 0; i < calls; i++) {
+            breaker.onFailure(breaker.tryAcquire(nowNanos), nowNanos);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.ai.education.platform.llm;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LlmRouterTest {
+
+    private final TimedModel model = new TimedModel();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final LlmRouter router = new LlmRouter(
+            ChatClient.create(model),
+            new RoutingProperties(
+                    Map.of("a", new ModelProfile("a", null),
+                            "b", new ModelProfile("b", null),
+                            "c", new ModelProfile("c", null)),
+                    Map.of(LlmFeature.ROADMAP, List.of("a", "b", "c"),
+                            LlmFeature.QUIZ, List.of("a"),
+                            LlmFeature.HINT, List.of("b")),
+                    new RoutingProperties.Hedge(true, Duration.ofMillis(1), 10, 1)),
+            new LlmMetrics(registry),
+            registry);
+
+    @AfterEach
+    void shutdown() {
+        router.shutdown();
+    }
+
+    //p95(b) < p95(a): with delays counted from the first subscription c would start before b
+    @Test
+    void eachHedgeWaitsForThePreviousModelsDelayFromItsOwnStart() {
+        warmUp("a", LlmFeature.QUIZ, 300);
+        warmUp("b", LlmFeature.HINT, 50);
+        model.latencies.putAll(Map.of("a", 2_000L, "b", 2_000L, "c", 0L));
+        model.starts.clear();
+
+        ChatResponse response = router.call(LlmRequest.of(LlmFeature.ROADMAP, "goal")).block(Duration.ofSeconds(5));
+
+        assertEquals("c", response.getResult().getOutput().getText());
+        assertEquals(List.of("a", "b", "c"), model.starts.stream().map(Start::model).toList());
+        long aToB = model.starts.get(1).nanos() - model.starts.get(0).nanos();
+        long bToC = model.starts.get(2).nanos() - model.starts.get(1).nanos();
+        assertTrue(aToB >= Duration.ofMillis(250).toNanos(), "b started " + aToB / 1_000_000 + "ms after a");
+        assertTrue(bToC >= Duration.ofMillis(40).toNanos(), "c started " + bToC / 1_000_000 + "ms after b");
+    }
+
+    @Test
+    void coldModelsAreOnlyFallbacks() {
+        model.latencies.putAll(Map.of("a", 300L, "b", 0L, "c", 0L));
+
+        ChatResponse response = router.call(LlmRequest.of(LlmFeature.ROADMAP, "goal")).block(Duration.ofSeconds(5));
+
+        assertEquals("a", response.getResult().getOutput().getText());
+        assertEquals(List.of("a"), model.starts.stream().map(Start::model).toList());
+    }
+
+    private void warmUp(String name, LlmFeature feature, long millis) {
+        model.latencies.put(name, millis);
+        router.call(LlmRequest.of(feature, "warm up")).block(Duration.ofSeconds(5));
+    }
+
+    private record Start(String model, long nanos) {
+    }
+
+    //answers with its own model name after that model's latency, interrupted when it loses the race
+    private static final class TimedModel implements ChatModel {
+
+        private final Map<String, Long> latencies = new ConcurrentHashMap<>();
+        private final List<Start> starts = new CopyOnWriteArrayList<>();
+
+        @Override
+        public ChatResponse call(Prompt prompt) {
+            String name = prompt.getOptions().getModel();
+            starts.add(new Start(name, System.nanoTime()));
+            try {
+                Thread.sleep(latencies.getOrDefault(name, 0L));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("cancelled", e);
+            }
+            return new ChatResponse(List.of(new Generation(new AssistantMessage(name))));
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.ai.education.platform.llm;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTest {
+
+    private static final int FOLLOWERS = 8;
+    private static final LlmRequest REQUEST = LlmRequest.of(LlmFeature.HINT, "same prompt");
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SingleFlight singleFlight = new SingleFlight(
+            new ResilienceProperties(Duration.ofSeconds(5), Map.of(LlmFeature.HINT, Duration.ofSeconds(5)), null),
+            registry);
+    private final ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor();
+
+    @AfterEach
+    void shutdown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallersShareOneUpstreamCall() throws Exception {
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        LlmCompletion completion = new LlmCompletion("hint", false);
+        Upstream upstream = new Upstream(() -> {
+            upstreamCalls.incrementAndGet();
+            return completion;
+        });
+
+        List<Future<LlmCompletion>> results = startLeaderAndFollowers(upstream);
+        upstream.release.countDown();
+
+        for (Future<LlmCompletion> result : results) {
+            assertSame(completion, result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(FOLLOWERS, coalesced());
+    }
+
+    @Test
+    void followersGetTheLeadersException() throws Exception {
+        IllegalStateException failure = new IllegalStateException("provider down");
+        Upstream upstream = new Upstream(() -> {
+            throw failure;
+        });
+
+        List<Future<LlmCompletion>> results = startLeaderAndFollowers(upstream);
+        upstream.release.countDown();
+
+        for (Future<LlmCompletion> result : results) {
+            ExecutionException ex = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertSame(failure, ex.getCause());
+        }
+    }
+
+    //regression: an Error in the leader used to leave followers waiting for the whole deadline
+    @Test
+    void followersAreReleasedWhenTheLeaderThrowsAnError() throws Exception {
+        Upstream upstream = new Upstream(() -> {
+            throw new StackOverflowError("leader blew up");
+        });
+
+        List<Future<LlmCompletion>> results = startLeaderAndFollowers(upstream);
+        upstream.release.countDown();
+
+        for (Future<LlmCompletion> result : results) {
+            ExecutionException ex = assertThrows(ExecutionException.class, () -> result.get(1, TimeUnit.SECONDS));
+            assertInstanceOf(StackOverflowError.class, ex.getCause());
+        }
+    }
+
+    @Test
+    void nothingIsKeptAfterTheCallFinishes() {
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        Supplier<LlmCompletion> call = () -> new LlmCompletion("hint " + upstreamCalls.incrementAndGet(), false);
+
+        assertEquals("hint 1", singleFlight.execute(REQUEST, call).text());
+        assertEquals("hint 2", singleFlight.execute(REQUEST, call).text());
+        assertEquals(0, coalesced());
+    }
+
+    @Test
+    void followersGiveUpAtTheDeadline() throws Exception {
+        SingleFlight shortDeadline = new SingleFlight(
+                new ResilienceProperties(Duration.ofSeconds(5), Map.of(LlmFeature.HINT, Duration.ofMillis(100)), null),
+                registry);
+        CountDownLatch hang = new CountDownLatch(1);
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        callers.submit(() -> shortDeadline.execute(REQUEST, () -> {
+            leaderStarted.countDown();
+            await(hang);
+            return new LlmCompletion("late", false);
+        }));
+        assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+
+        LlmUnavailableException ex = assertThrows(LlmUnavailableException.class,
+                () -> shortDeadline.execute(REQUEST, () -> new LlmCompletion("not called", false)));
+        assertEquals(LlmFeature.HINT, ex.getFeature());
+        hang.countDown();
+    }
+
+    //leader is inside the upstream call and every follower has joined it before anyone is released
+    private List<Future<LlmCompletion>> startLeaderAndFollowers(Upstream upstream) throws InterruptedException {
+        List<Future<LlmCompletion>> results = new ArrayList<>();
+        results.add(callers.submit(() -> singleFlight.execute(REQUEST, upstream)));
+        assertTrue(upstream.started.await(5, TimeUnit.SECONDS));
+
+        for (int i = 0; i < FOLLOWERS; i++) {
+            results.add(callers.submit(() -> singleFlight.execute(REQUEST, () -> {
+                throw new AssertionError("follower reached upstream");
+            })));
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (coalesced() < FOLLOWERS && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(FOLLOWERS, coalesced());
+        return results;
+    }
+
+    private double coalesced() {
+        return registry.get("llm.singleflight.coalesced").tag("feature", LlmFeature.HINT.tag()).counter().count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    //blocks inside the call until released, so followers arrive while the leader is in flight
+    private static final class Upstream implements Supplier<LlmCompletion> {
+
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final Supplier<LlmCompletion> result;
+
+        Upstream(Supplier<LlmCompletion> result) {
+            this.result = result;
+        }
+
+        @Override
+        public LlmCompletion get() {
+            started.countDown();
+            SingleFlightTest.await(release);
+            return result.get();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.ai.education.platform.llm;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBudgetTest {
+
+    private static final String CUT = "\n[...]\n";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final TokenBudget budget = new TokenBudget(
+            new TokenBudgetProperties(null, null, null, null, null, null, null), registry);
+
+    @Test
+    void nullStaysNull() {
+        assertNull(budget.trim(null, 10));
+    }
+
+    @Test
+    void textWithinTheLimitIsUntouched() {
+        String text = "How do I reverse a linked list in Java?";
+        int tokens = budget.countTokens(text);
+
+        assertEquals(text, budget.trim(text, tokens));
+        assertEquals(0, trimmed());
+    }
+
+    @Test
+    void keepsTheStartAndTheEndAroundTheMarker() {
+        String text = words("start", 100) + " " + words("middle", 100) + " " + words("end", 100);
+
+        String trimmed = budget.trim(text, 30);
+
+        int cut = trimmed.indexOf(CUT);
+        assertTrue(cut > 0, trimmed);
+        String head = trimmed.substring(0, cut);
+        String tail = trimmed.substring(cut + CUT.length());
+        assertTrue(text.startsWith(head), head);
+        assertTrue(text.endsWith(tail), tail);
+        assertFalse(trimmed.contains("middle"), trimmed);
+        assertEquals(20, budget.countTokens(head), head); //2/3 of the budget
+        assertEquals(10, budget.countTokens(tail), tail);
+        assertEquals(1, trimmed());
+    }
+
+    @Test
+    void oneTokenOverTheLimitIsCut() {
+        String text = words("start", 50);
+        int tokens = budget.countTokens(text);
+
+        assertTrue(budget.trim(text, tokens - 1).contains(CUT));
+        assertEquals(1, trimmed());
+    }
+
+    @Test
+    void cuttingInsideACharacterLeavesNoReplacementChar() {
+        String text = "学习".repeat(200) + "🚀".repeat(200);
+
+        String trimmed = budget.trim(text, 11);
+
+        assertTrue(trimmed.contains(CUT), trimmed);
+        assertFalse(trimmed.contains("\uFFFD"), trimmed);
+    }
+
+    private double trimmed() {
+        return registry.get("llm.budget.trimmed").counter().count();
+    }
+
+    private static String words(String word, int count) {
+        return (word + " ").repeat(count).strip();
+    }
+}
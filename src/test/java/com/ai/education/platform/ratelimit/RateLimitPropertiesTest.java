@@ -0,0 +1,41 @@
+package com.ai.education.platform.ratelimit;
+
+import com.ai.education.platform.llm.LlmFeature;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimitPropertiesTest {
+
+    @Test
+    void costAboveCapacityFailsStartup() {
+        IllegalStateException ex = assertThrows(IllegalStateException.class,
+                () -> properties(new RateLimitProperties.Limit(4, 10, 5)));
+
+        assertTrue(ex.getMessage().startsWith("rate-limit.features.roadmap"), ex.getMessage());
+    }
+
+    @Test
+    void nonPositiveValuesFailStartup() {
+        assertThrows(IllegalStateException.class, () -> properties(new RateLimitProperties.Limit(0, 10, 1)));
+        assertThrows(IllegalStateException.class, () -> properties(new RateLimitProperties.Limit(20, 0, 1)));
+        assertThrows(IllegalStateException.class, () -> properties(new RateLimitProperties.Limit(20, 10, 0)));
+        assertThrows(IllegalStateException.class, () -> new RateLimitProperties(
+                true, 0, null, new RateLimitProperties.Limit(20, 10, -1), null));
+    }
+
+    @Test
+    void costEqualToCapacityIsAllowed() {
+        RateLimitProperties.Limit limit = new RateLimitProperties.Limit(5, 10, 5);
+
+        assertEquals(limit, properties(limit).limitFor(LlmFeature.ROADMAP));
+    }
+
+    private static RateLimitProperties properties(RateLimitProperties.Limit roadmap) {
+        return new RateLimitProperties(true, 0, null, null, Map.of(LlmFeature.ROADMAP, roadmap));
+    }
+}
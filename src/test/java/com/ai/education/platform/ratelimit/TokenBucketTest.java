@@ -0,0 +1,69 @@
+package com.ai.education.platform.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTest {
+
+    private static final long INTERVAL = 100_000_000L; //one token per 100ms
+    private static final long CAPACITY = 5;
+
+    @Test
+    void fullBucketAllowsABurstOfCapacity() {
+        TokenBucket bucket = new TokenBucket(0);
+
+        for (int i = 0; i < CAPACITY; i++) {
+            assertEquals(0, bucket.tryConsume(1, 0, INTERVAL, CAPACITY));
+        }
+        assertTrue(bucket.tryConsume(1, 0, INTERVAL, CAPACITY) > 0);
+    }
+
+    @Test
+    void retryAfterIsTheTimeUntilTheNextToken() {
+        TokenBucket bucket = drained();
+
+        assertEquals(INTERVAL, bucket.tryConsume(1, 0, INTERVAL, CAPACITY));
+        assertEquals(INTERVAL - 40_000_000L, bucket.tryConsume(1, 40_000_000L, INTERVAL, CAPACITY));
+        assertEquals(3 * INTERVAL, bucket.tryConsume(3, 0, INTERVAL, CAPACITY));
+    }
+
+    @Test
+    void refillsOneTokenPerInterval() {
+        TokenBucket bucket = drained();
+
+        assertEquals(0, bucket.tryConsume(1, INTERVAL, INTERVAL, CAPACITY));
+        assertTrue(bucket.tryConsume(1, INTERVAL, INTERVAL, CAPACITY) > 0);
+
+        assertEquals(0, bucket.tryConsume(2, 3 * INTERVAL, INTERVAL, CAPACITY));
+        assertTrue(bucket.tryConsume(1, 3 * INTERVAL, INTERVAL, CAPACITY) > 0);
+    }
+
+    @Test
+    void rejectedRequestsTakeNothing() {
+        TokenBucket bucket = drained();
+        for (int i = 0; i < 10; i++) {
+            assertTrue(bucket.tryConsume(1, 0, INTERVAL, CAPACITY) > 0);
+        }
+
+        assertEquals(0, bucket.tryConsume(1, INTERVAL, INTERVAL, CAPACITY));
+    }
+
+    @Test
+    void idleTimeNeverFillsBeyondCapacity() {
+        TokenBucket bucket = drained();
+        long later = 100 * INTERVAL;
+
+        for (int i = 0; i < CAPACITY; i++) {
+            assertEquals(0, bucket.tryConsume(1, later, INTERVAL, CAPACITY));
+        }
+        assertEquals(INTERVAL, bucket.tryConsume(1, later, INTERVAL, CAPACITY));
+    }
+
+    private static TokenBucket drained() {
+        TokenBucket bucket = new TokenBucket(0);
+        assertEquals(0, bucket.tryConsume((int) CAPACITY, 0, INTERVAL, CAPACITY));
+        return bucket;
+    }
+}